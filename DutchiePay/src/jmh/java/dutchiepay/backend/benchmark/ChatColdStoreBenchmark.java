@@ -0,0 +1,161 @@
+package dutchiepay.backend.benchmark;
+
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
+import dutchiepay.backend.domain.chat.dto.PendingChatMessage;
+import dutchiepay.backend.domain.chat.repository.MessageJdbcRepository;
+import dutchiepay.backend.domain.chat.service.MappedChatLogStore;
+import dutchiepay.backend.global.id.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 기록 한 페이지(31개) 조회 비용
+ * - jdbc: QChatRoomRepositoryImpl.findMessagesBefore와 같은 쿼리 (chatroom_id = ? AND message_id <= ? ORDER BY message_id DESC LIMIT ?)
+ * - mapped: MappedChatLogStore.findBefore
+ *
+ * 임의의 채팅방, 임의의 위치에서 이전 페이지를 조회한다.
+ * DB는 H2 인메모리(MySQL 모드)다. H2는 인덱스를 역방향으로 읽지 못하므로 내림차순 인덱스와 정렬 조건을 맞춰
+ * InnoDB의 역방향 인덱스 스캔처럼 페이지 크기만큼만 읽게 했다. (결과는 같은 쿼리)
+ * JPA/QueryDSL 비용은 포함하지 않으므로,
+ * 네트워크 왕복과 엔티티 매핑이 있는 실제 MariaDB 경로보다 jdbc 쪽이 유리한 비교다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatColdStoreBenchmark {
+    private static final int ROOMS = 20;
+    private static final int PAGE_SIZE = 31;
+    private static final String FIND_BEFORE_SQL = """
+            SELECT message_id, content, date, time, sender_id, type, unread_count
+            FROM message
+            WHERE chatroom_id = ? AND message_id <= ?
+            ORDER BY chatroom_id DESC, message_id DESC
+            LIMIT ?
+            """;
+
+    @Param({"jdbc", "mapped"})
+    public String impl;
+
+    @Param({"10000"})
+    public int messagesPerRoom;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private Path baseDir;
+    private MappedChatLogStore mappedStore;
+    private PageReader reader;
+    private long[][] messageIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:cold-store-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE message (
+                    message_id BIGINT PRIMARY KEY, chatroom_id BIGINT NOT NULL, sender_id BIGINT NOT NULL,
+                    type VARCHAR(20), content VARCHAR(1000), unread_count INT, date VARCHAR(20), time VARCHAR(20),
+                    created_at TIMESTAMP, updated_at TIMESTAMP, deleted_at TIMESTAMP
+                )
+                """);
+        jdbcTemplate.execute("CREATE INDEX idx_message_chatroom ON message (chatroom_id DESC, message_id DESC)");
+
+        MessageJdbcRepository messageJdbcRepository = new MessageJdbcRepository(jdbcTemplate);
+        SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(0L, "local");
+
+        baseDir = Files.createTempDirectory("chat-log-benchmark");
+        mappedStore = new MappedChatLogStore(messageJdbcRepository, idGenerator, "local", baseDir.toString(),
+                8 * 1024 * 1024, 200, 60000, 0);
+        mappedStore.init();
+
+        // 채팅방을 번갈아 가며 저장해 실제처럼 Id가 채팅방 사이에 섞이도록 한다.
+        messageIds = new long[ROOMS][messagesPerRoom];
+        for (int i = 0; i < messagesPerRoom; i += 100) {
+            List<PendingChatMessage> batch = new ArrayList<>();
+
+            for (int room = 0; room < ROOMS; room++) {
+                List<MessageResponse> messages = new ArrayList<>();
+
+                for (int j = i; j < Math.min(i + 100, messagesPerRoom); j++) {
+                    long messageId = idGenerator.nextId();
+                    messageIds[room][j] = messageId;
+                    MessageResponse message = MessageResponse.builder()
+                            .messageId(messageId)
+                            .senderId((long) (j % 50))
+                            .type("text")
+                            .content("벤치마크 메시지 " + j + " 같이 사요")
+                            .unreadCount(0)
+                            .date("20240901")
+                            .time("오후 12:00")
+                            .build();
+                    messages.add(message);
+                    batch.add(PendingChatMessage.builder().chatRoomId((long) room).message(message).subscriberIds(List.of()).build());
+                }
+
+                mappedStore.saveMessages(Map.of((long) room, messages));
+            }
+
+            messageJdbcRepository.insertMessages(batch);
+        }
+
+        reader = "mapped".equals(impl) ? mappedStore::findBefore : this::findBeforeJdbc;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        mappedStore.shutdown();
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+        FileSystemUtils.deleteRecursively(baseDir);
+    }
+
+    @Benchmark
+    public List<MessageResponse> findBefore() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int room = random.nextInt(ROOMS);
+        long maxMessageId = messageIds[room][random.nextInt(PAGE_SIZE, messagesPerRoom)];
+
+        return reader.read((long) room, maxMessageId, PAGE_SIZE);
+    }
+
+    private List<MessageResponse> findBeforeJdbc(Long chatRoomId, long maxMessageId, int limit) {
+        return jdbcTemplate.query(FIND_BEFORE_SQL, (rs, rowNum) -> MessageResponse.builder()
+                .messageId(rs.getLong("message_id"))
+                .content(rs.getString("content"))
+                .date(rs.getString("date"))
+                .time(rs.getString("time"))
+                .senderId(rs.getLong("sender_id"))
+                .type(rs.getString("type"))
+                .unreadCount(rs.getInt("unread_count"))
+                .build(), chatRoomId, maxMessageId, limit);
+    }
+
+    private interface PageReader {
+        List<MessageResponse> read(Long chatRoomId, long maxMessageId, int limit);
+    }
+}
@@ -0,0 +1,171 @@
+package dutchiepay.backend.benchmark;
+
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
+import dutchiepay.backend.domain.chat.service.RedisMessageService;
+import dutchiepay.backend.global.converter.ChatMessageRedisSerializer;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis에 저장하는 채팅 메시지 한 건의 직렬화/역직렬화 비용과 크기
+ * - json: GenericJackson2JsonRedisSerializer (변경 전, 타입 정보 포함)
+ * - binary: ChatMessageRedisSerializer 바이너리 형식
+ *
+ * 할당량은 -prof gc로 측정한다. (gc.alloc.rate.norm)
+ *
+ * 벤치마크가 끝날 때 메시지 한 건의 직렬화 크기와 함께 실제 Redis 메모리 사용량을 출력한다.
+ * 내장 Redis에 메시지 10만 건을 RedisMessageService와 같은 키(chat:{chatRoomId}:messages:{yyyyMMdd} ZSET)로 넣고,
+ * INFO의 used_memory 증가량과 키별 MEMORY USAGE 합계를 잰다. ZSET 인코딩(ziplist/listpack, skiplist)에 따라 오버헤드가 달라지므로
+ * 두 가지 분포로 잰다.
+ * - busy: 채팅방-날짜 키 100개 x 1,000건 (항목 수가 zset-max-*-entries(128)를 넘어 skiplist)
+ * - quiet: 채팅방-날짜 키 2,000개 x 50건 (값이 zset-max-*-value(64바이트) 이하일 때만 ziplist/listpack)
+ *
+ * 측정 결과 (내장 Redis, 메시지 10만 건, MEMORY USAGE 합계)
+ * - content 20, busy: json 31.9MB -> binary 15.2MB / quiet: json 33.7MB -> binary 16.9MB
+ * - content 300, busy: json 93.0MB -> binary 68.6MB / quiet: json 94.7MB -> binary 70.3MB
+ * 바이너리 값도 72바이트로 64바이트를 넘어 quiet 분포 역시 skiplist로 저장된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatMessageSerializerBenchmark {
+    @Param({"json", "binary"})
+    public String format;
+
+    // 메시지 본문 길이 (짧은 대화, 긴 공지)
+    @Param({"20", "300"})
+    public int contentLength;
+
+    private static final int REDIS_PORT = 6392;
+    private static final int MEMORY_MESSAGES = 100_000;
+
+    private ChatMessageRedisSerializer serializer;
+    private MessageResponse message;
+    private byte[] serialized;
+    private final List<String> memoryReports = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        serializer = new ChatMessageRedisSerializer(new GenericJackson2JsonRedisSerializer(), "binary".equals(format));
+        message = MessageResponse.builder()
+                .messageId(4_611_686_018_427L)
+                .senderId(12_345L)
+                .type("text")
+                .content("가".repeat(contentLength / 2) + "a".repeat(contentLength - contentLength / 2))
+                .unreadCount(3)
+                .date("20240901")
+                .time("오후 12:34")
+                .build();
+        serialized = serializer.serialize(message);
+        measureRedisMemory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n[%s, content %d] serialized size: %d bytes%n", format, contentLength, serialized.length);
+        memoryReports.forEach(System.out::println);
+    }
+
+    private void measureRedisMemory() throws IOException {
+        RedisServer redisServer = new RedisServer(REDIS_PORT);
+        redisServer.start();
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", REDIS_PORT));
+        connectionFactory.afterPropertiesSet();
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            memoryReports.add(loadAndMeasure(connection, "busy", 100));
+            memoryReports.add(loadAndMeasure(connection, "quiet", 2_000));
+        } finally {
+            connectionFactory.destroy();
+            redisServer.stop();
+        }
+    }
+
+    /**
+     * 메시지 10만 건을 keys개 채팅방-날짜 키에 나눠 넣고 메모리 사용량을 잰다.
+     */
+    @SuppressWarnings("unchecked")
+    private String loadAndMeasure(RedisConnection connection, String layout, int keys) {
+        connection.serverCommands().flushAll();
+        long before = usedMemory(connection);
+        int perKey = MEMORY_MESSAGES / keys;
+        long messageId = 4_611_686_018_427L;
+
+        connection.openPipeline();
+        for (int key = 0; key < keys; key++) {
+            byte[] keyBytes = RedisMessageService.messagesKey((long) key, "20240901").getBytes(StandardCharsets.UTF_8);
+
+            for (int i = 0; i < perKey; i++) {
+                messageId += 128;
+                MessageResponse stored = MessageResponse.builder()
+                        .messageId(messageId)
+                        .senderId(message.getSenderId())
+                        .type(message.getType())
+                        .content(message.getContent())
+                        .unreadCount(message.getUnreadCount())
+                        .date(message.getDate())
+                        .time(message.getTime())
+                        .build();
+                connection.zSetCommands().zAdd(keyBytes, messageId, serializer.serialize(stored));
+            }
+        }
+        connection.closePipeline();
+
+        long after = usedMemory(connection);
+        // MEMORY USAGE는 정수 응답이라 execute()로는 읽을 수 없어 Lettuce 명령을 직접 쓴다.
+        RedisClusterAsyncCommands<byte[], byte[]> commands = (RedisClusterAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+        long keyUsage = 0;
+        for (int key = 0; key < keys; key++) {
+            keyUsage += commands.memoryUsage(RedisMessageService.messagesKey((long) key, "20240901").getBytes(StandardCharsets.UTF_8))
+                    .toCompletableFuture().join();
+        }
+        String encodingName = connection.keyCommands()
+                .encodingOf(RedisMessageService.messagesKey(0L, "20240901").getBytes(StandardCharsets.UTF_8)).raw();
+
+        return String.format("[%s, content %d, %s: %d keys x %d, %s] Redis memory per 100k messages: used_memory +%.2f MB, MEMORY USAGE %.2f MB (%d bytes/message)",
+                format, contentLength, layout, keys, perKey, encodingName,
+                (after - before) / 1024.0 / 1024.0, keyUsage / 1024.0 / 1024.0, keyUsage / MEMORY_MESSAGES);
+    }
+
+    private static long usedMemory(RedisConnection connection) {
+        Properties info = connection.serverCommands().info("memory");
+        return Long.parseLong(info.getProperty("used_memory"));
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(message);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+}
@@ -0,0 +1,17 @@
+package dutchiepay.backend.benchmark;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+/**
+ * 메시지 포맷팅(인자 toString 포함)까지만 하고 출력은 버리는 appender
+ * 로깅 비용 측정에서 콘솔/파일 I/O를 제외하기 위해 사용한다.
+ */
+public class FormattingNullAppender extends AppenderBase<ILoggingEvent> {
+    private volatile int sink;
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        sink += event.getFormattedMessage().length();
+    }
+}
@@ -0,0 +1,141 @@
+package dutchiepay.backend.benchmark;
+
+import dutchiepay.backend.entity.User;
+import dutchiepay.backend.global.jwt.JwtUtil;
+import dutchiepay.backend.global.jwt.redis.RedisService;
+import dutchiepay.backend.global.security.JwtVerificationFilter;
+import dutchiepay.backend.global.security.PrincipalCache;
+import dutchiepay.backend.global.security.UserDetailsImpl;
+import dutchiepay.backend.global.security.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.lang.reflect.Field;
+import java.security.Key;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtVerificationFilter의 요청당 비용
+ * - filter: 현재 필터 (claimsCacheSize 0이면 토큰을 요청마다 한 번 파싱, 그 외에는 캐시된 claims 사용)
+ * - legacyParse: 변경 전처럼 요청마다 서명 검증과 파싱을 네 번 하는 비용 (비교 기준)
+ *
+ * 유저 조회와 블랙리스트 확인은 고정 값을 돌려주도록 바꿔 JWT 처리 비용만 측정한다.
+ *
+ * 측정 결과 (-f 2 -prof gc, 1 CPU 개발 환경이라 시간 오차가 크므로 할당량을 함께 본다.)
+ * - legacyParse: 약 1.5~2.4ms, 549KB/op (파싱마다 parserBuilder().build()가 ServiceLoader를 조회해 한 번에 약 137KB)
+ * - filter, claimsCacheSize 0: 11.4us, 9.5KB/op (파서를 한 번만 만들기 전에는 696us, 142KB/op)
+ * - filter, claimsCacheSize 10000: 3.1us, 4.8KB/op
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+    private static final String ACCESS_KEY = Base64.getEncoder().encodeToString("benchmark-access-key-0123456789abcdef".getBytes());
+    private static final String REFRESH_KEY = Base64.getEncoder().encodeToString("benchmark-refresh-key-0123456789abcde".getBytes());
+
+    @Param({"0", "10000"})
+    public long claimsCacheSize;
+
+    private JwtUtil jwtUtil;
+    private JwtVerificationFilter filter;
+    private String token;
+    private Key accessKey;
+    private final FilterChain chain = (request, response) -> {
+    };
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        jwtUtil = new JwtUtil();
+        set(jwtUtil, "accessSecretKey", ACCESS_KEY);
+        set(jwtUtil, "refreshSecretKey", REFRESH_KEY);
+        set(jwtUtil, "accessTokenExpiration", TimeUnit.MINUTES.toMillis(30));
+        set(jwtUtil, "refreshTokenExpiration", TimeUnit.DAYS.toMillis(14));
+        set(jwtUtil, "claimsCacheMaxSize", claimsCacheSize);
+        jwtUtil.init();
+
+        User user = User.builder()
+                .userId(1L)
+                .email("benchmark@dutchiepay.test")
+                .nickname("benchmark")
+                .build();
+        UserDetailsImpl userDetails = new UserDetailsImpl(user);
+
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(null) {
+            @Override
+            public UserDetails loadUserById(Long userId) {
+                return userDetails;
+            }
+        };
+        RedisService redisService = new RedisService(null, null) {
+            @Override
+            public boolean isTokenBlackListed(String accessToken) {
+                return false;
+            }
+        };
+
+        PrincipalCache principalCache = new PrincipalCache(userDetailsService, new SimpleMeterRegistry(), 10000, 30);
+
+        filter = new JwtVerificationFilter(jwtUtil, principalCache, redisService);
+        token = jwtUtil.createAccessToken(1L);
+        accessKey = (Key) get(jwtUtil, "accessKey");
+    }
+
+    @Benchmark
+    public void filter(Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/chat/chatRoomList");
+        request.addHeader(JwtUtil.AUTHORIZATION_HEADER, JwtUtil.BEARER_PREFIX + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void legacyParse(Blackhole blackhole) {
+        // 변경 전: getUserInfoFromAccessToken을 필터와 getUserDetails에서 두 번 호출하고, 호출마다 타입 확인과 본문 조회로 두 번 파싱했다.
+        blackhole.consume(parse());
+        blackhole.consume(parse());
+        blackhole.consume(parse());
+        blackhole.consume(parse());
+    }
+
+    private Claims parse() {
+        return Jwts.parserBuilder().setSigningKey(accessKey).build().parseClaimsJws(token).getBody();
+    }
+
+    private static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private static Object get(Object target, String name) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+}
@@ -0,0 +1,137 @@
+package dutchiepay.backend.benchmark;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisHash;
+import org.springframework.data.redis.core.RedisKeyValueAdapter;
+import org.springframework.data.redis.core.RedisKeyValueTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.TimeToLive;
+import org.springframework.data.redis.core.index.Indexed;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+import org.springframework.data.redis.repository.support.RedisRepositoryFactory;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.Optional;
+
+/**
+ * RedisTokenStore 도입 전의 @RedisHash 리프레시 토큰/블랙리스트 저장 방식 (비교 기준)
+ * 엔티티와 RedisService의 호출 순서를 변경 전 그대로 옮겼다.
+ */
+public class LegacyTokenFlows implements TokenStoreBenchmark.TokenFlows {
+    private static final long REFRESH_TOKEN_EXPIRATION = 604800000L;
+    private static final long ACCESS_TOKEN_EXPIRATION = 1800000L;
+
+    private final RedisKeyValueAdapter adapter;
+    private final RefreshRepository refreshRepository;
+    private final AccessRepository accessRepository;
+
+    public LegacyTokenFlows(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<byte[], byte[]> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+
+        RedisMappingContext mappingContext = new RedisMappingContext();
+        adapter = new RedisKeyValueAdapter(redisTemplate, mappingContext);
+        adapter.afterPropertiesSet();
+
+        RedisRepositoryFactory factory = new RedisRepositoryFactory(new RedisKeyValueTemplate(adapter, mappingContext));
+        refreshRepository = factory.getRepository(RefreshRepository.class);
+        accessRepository = factory.getRepository(AccessRepository.class);
+    }
+
+    @Override
+    public void login(long userId, String refreshToken) {
+        refreshRepository.save(new RefreshToken(userId, refreshToken, REFRESH_TOKEN_EXPIRATION));
+    }
+
+    @Override
+    public void reissue(String refreshToken, String accessToken) {
+        Long userId = refreshRepository.findByRefresh(refreshToken).orElseThrow().getUserId();
+
+        if (accessRepository.findByAccess(accessToken) == null) {
+            accessRepository.save(new ATBlackList(userId, accessToken, ACCESS_TOKEN_EXPIRATION));
+        }
+    }
+
+    @Override
+    public void logout(long userId, String accessToken) {
+        accessRepository.save(new ATBlackList(userId, accessToken, ACCESS_TOKEN_EXPIRATION));
+
+        String refresh = refreshRepository.findById(userId).orElseThrow().getRefresh();
+        refreshRepository.delete(refreshRepository.findByRefresh(refresh).orElseThrow());
+    }
+
+    @Override
+    public void close() throws Exception {
+        adapter.destroy();
+    }
+
+    @RedisHash(value = "refresh", timeToLive = 604800000)
+    public static class RefreshToken {
+        @Id
+        private final Long userId;
+
+        @Indexed
+        private final String refresh;
+
+        @TimeToLive
+        private final Long expiration;
+
+        public RefreshToken(Long userId, String refresh, Long expiration) {
+            this.userId = userId;
+            this.refresh = refresh;
+            this.expiration = expiration;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getRefresh() {
+            return refresh;
+        }
+
+        public Long getExpiration() {
+            return expiration;
+        }
+    }
+
+    @RedisHash(value = "blackList", timeToLive = 1800000)
+    public static class ATBlackList {
+        @Id
+        private final Long userId;
+
+        @Indexed
+        private final String access;
+
+        @TimeToLive
+        private final Long expiration;
+
+        public ATBlackList(Long userId, String access, Long expiration) {
+            this.userId = userId;
+            this.access = access;
+            this.expiration = expiration;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getAccess() {
+            return access;
+        }
+
+        public Long getExpiration() {
+            return expiration;
+        }
+    }
+
+    public interface RefreshRepository extends CrudRepository<RefreshToken, Long> {
+        Optional<RefreshToken> findByRefresh(String refresh);
+    }
+
+    public interface AccessRepository extends CrudRepository<ATBlackList, Long> {
+        ATBlackList findByAccess(String accessToken);
+    }
+}
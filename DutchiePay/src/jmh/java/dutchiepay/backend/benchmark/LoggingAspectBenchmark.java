@@ -0,0 +1,98 @@
+package dutchiepay.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dutchiepay.backend.domain.benchmark.controller.BenchmarkController;
+import dutchiepay.backend.global.logging.LoggingAspect;
+import dutchiepay.backend.global.logging.RequestLogWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 컨트롤러 호출당 로깅 비용 (요청 스레드 기준)
+ * - none: 로깅 없음
+ * - legacy: 변경 전 LoggingAspect (호출마다 동기로 10줄 이상)
+ * - async: RequestLogWriter 큐에 이벤트만 넣는 LoggingAspect (sample-rate 1.0)
+ * - sampled: async와 같고 sample-rate 0.1
+ *
+ * logback.xml의 FormattingNullAppender가 메시지 포맷팅까지 수행하므로 출력 I/O를 뺀 비용이다.
+ * async는 writer 스레드가 따라가지 못하면 로그를 버리므로, 종료 시 버린 수를 함께 출력한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingAspectBenchmark {
+    private static final Set<String> REDACTED_FIELDS = Set.of("access", "refresh", "password", "newPassword", "code", "email", "phone");
+
+    @Param({"none", "legacy", "async", "sampled"})
+    public String impl;
+
+    @Param({"200"})
+    public int products;
+
+    private BenchmarkController controller;
+    private SimpleMeterRegistry meterRegistry;
+    private RequestLogWriter requestLogWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/buy/list")));
+
+        BenchmarkController target = new BenchmarkController(products);
+        if ("none".equals(impl)) {
+            controller = target;
+            return;
+        }
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+
+        if ("legacy".equals(impl)) {
+            factory.addAspect(new LegacyLoggingAspect());
+        } else {
+            meterRegistry = new SimpleMeterRegistry();
+            requestLogWriter = new RequestLogWriter(new ObjectMapper(), meterRegistry, 10000, 1000, REDACTED_FIELDS);
+            requestLogWriter.start();
+            factory.addAspect(new LoggingAspect(requestLogWriter, new StandardEnvironment(), "sampled".equals(impl) ? 0.1 : 1.0));
+        }
+
+        controller = factory.getProxy();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        RequestContextHolder.resetRequestAttributes();
+
+        if (requestLogWriter != null) {
+            System.out.printf("%n[%s] dropped request logs: %.0f%n", impl, meterRegistry.counter("request.log.dropped").count());
+            requestLogWriter.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Object getBuyList() {
+        return controller.getBuyList("newest", (long) products);
+    }
+}
@@ -0,0 +1,137 @@
+package dutchiepay.backend.benchmark;
+
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
+import dutchiepay.backend.domain.chat.dto.PendingChatMessage;
+import dutchiepay.backend.domain.chat.repository.MessageJdbcRepository;
+import dutchiepay.backend.global.id.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 메시지 배치 저장 처리량 (메시지 1건 기준)
+ * - identity: AUTO_INCREMENT 키. Hibernate IDENTITY 전략처럼 행마다 INSERT 후 생성된 키를 읽는다. (배치 불가)
+ * - snowflake: SnowflakeIdGenerator로 미리 발급한 Id로 MessageJdbcRepository.insertMessages 한 번에 저장한다.
+ *
+ * 두 방식 모두 배치 하나를 한 트랜잭션으로 저장한다.
+ * H2 인메모리(MySQL 모드)라 네트워크 왕복이 없으므로, 실제 MariaDB에서는 행마다 왕복하는 identity 쪽 차이가 더 커진다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(MessageInsertBenchmark.BATCH_SIZE)
+public class MessageInsertBenchmark {
+    static final int BATCH_SIZE = 500;
+
+    private static final String IDENTITY_SQL = """
+            INSERT INTO message_identity (chatroom_id, sender_id, type, content, unread_count, date, time, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, NOW(), NOW())
+            """;
+
+    @Param({"identity", "snowflake"})
+    public String impl;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private MessageJdbcRepository messageJdbcRepository;
+    private SnowflakeIdGenerator idGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:insert-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        messageJdbcRepository = new MessageJdbcRepository(jdbcTemplate);
+        idGenerator = new SnowflakeIdGenerator(0L, "local");
+
+        String columns = """
+                chatroom_id BIGINT NOT NULL, sender_id BIGINT NOT NULL, type VARCHAR(20), content VARCHAR(1000),
+                unread_count INT, date VARCHAR(20), time VARCHAR(20),
+                created_at TIMESTAMP, updated_at TIMESTAMP, deleted_at TIMESTAMP
+                """;
+        jdbcTemplate.execute("CREATE TABLE message_identity (message_id BIGINT AUTO_INCREMENT PRIMARY KEY, " + columns + ")");
+        jdbcTemplate.execute("CREATE TABLE message (message_id BIGINT PRIMARY KEY, " + columns + ")");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public void insertBatch() {
+        List<PendingChatMessage> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Long messageId = "snowflake".equals(impl) ? idGenerator.nextId() : null;
+            batch.add(PendingChatMessage.builder()
+                    .chatRoomId((long) (i % 20))
+                    .subscriberIds(List.of())
+                    .message(MessageResponse.builder()
+                            .messageId(messageId)
+                            .senderId((long) i)
+                            .type("text")
+                            .content("벤치마크 메시지 " + i)
+                            .unreadCount(3)
+                            .date("2024년 09월 01일")
+                            .time("오후 12:00")
+                            .build())
+                    .build());
+        }
+
+        if ("snowflake".equals(impl)) {
+            transactionTemplate.executeWithoutResult(status -> messageJdbcRepository.insertMessages(batch));
+        } else {
+            transactionTemplate.executeWithoutResult(status -> insertWithIdentity(batch));
+        }
+    }
+
+    private void insertWithIdentity(List<PendingChatMessage> batch) {
+        for (PendingChatMessage pending : batch) {
+            MessageResponse message = pending.getMessage();
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(IDENTITY_SQL, Statement.RETURN_GENERATED_KEYS);
+                ps.setLong(1, pending.getChatRoomId());
+                ps.setLong(2, message.getSenderId());
+                ps.setString(3, message.getType());
+                ps.setString(4, message.getContent());
+                ps.setInt(5, message.getUnreadCount());
+                ps.setString(6, message.getDate());
+                ps.setString(7, message.getTime());
+                return ps;
+            }, keyHolder);
+
+            message.setMessageId(keyHolder.getKey().longValue());
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package dutchiepay.backend.benchmark;
+
+import dutchiepay.backend.global.jwt.redis.RedisTokenStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인/재발급/로그아웃 한 번에 필요한 Redis 명령 수와 소요 시간
+ * - legacy: @RedisHash 엔티티와 보조 인덱스 (변경 전)
+ * - store: RedisTokenStore
+ *
+ * 재발급과 로그아웃은 대상 리프레시 토큰이 있어야 하므로 로그인을 포함해 측정한다. (login 결과를 빼서 비교)
+ * 명령 수는 내장 Redis의 INFO commandstats 차이를 호출 수로 나눠 벤치마크가 끝날 때 출력한다.
+ * 블랙리스트 확인은 Bloom filter 없이 매번 Redis를 조회하는 경우다.
+ *
+ * 측정 결과 (-f 2, 내장 Redis, 1 CPU 개발 환경이라 시간 오차가 크다.)
+ * - login: legacy 6회 1,082us -> store 4회 124us
+ * - loginAndReissue: legacy 15회 3,249us -> store 7회 434us (재발급만: 9회 -> 3회)
+ * - loginAndLogout: legacy 24회 5,196us -> store 9회 474us (로그아웃만: 18회 -> 5회)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenStoreBenchmark {
+    private static final int REDIS_PORT = 6391;
+    private static final Duration REFRESH_TTL = Duration.ofDays(7);
+    private static final Duration ACCESS_TTL = Duration.ofMinutes(30);
+    // 실제 JWT와 비슷한 길이의 토큰을 만든다.
+    private static final String TOKEN_PADDING = "x".repeat(180);
+
+    @Param({"legacy", "store"})
+    public String impl;
+
+    private RedisServer redisServer;
+    private LettuceConnectionFactory connectionFactory;
+    private TokenFlows flows;
+    private long userId;
+    private long invocations;
+    private long commandsBefore;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        redisServer = new RedisServer(REDIS_PORT);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", REDIS_PORT));
+        connectionFactory.afterPropertiesSet();
+
+        flows = "legacy".equals(impl)
+                ? new LegacyTokenFlows(connectionFactory)
+                : new StoreTokenFlows(new RedisTokenStore(new StringRedisTemplate(connectionFactory)));
+        commandsBefore = totalCommands();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        long commands = totalCommands() - commandsBefore;
+        System.out.printf("%n[%s] Redis commands per invocation: %.2f (%d invocations)%n",
+                impl, (double) commands / invocations, invocations);
+
+        flows.close();
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Benchmark
+    public void login() {
+        long id = next();
+        flows.login(id, refreshToken(id));
+    }
+
+    @Benchmark
+    public void loginAndReissue() {
+        long id = next();
+        flows.login(id, refreshToken(id));
+        flows.reissue(refreshToken(id), accessToken(id));
+    }
+
+    @Benchmark
+    public void loginAndLogout() {
+        long id = next();
+        flows.login(id, refreshToken(id));
+        flows.logout(id, accessToken(id));
+    }
+
+    private long next() {
+        invocations++;
+        return ++userId;
+    }
+
+    private static String refreshToken(long userId) {
+        return "refresh." + TOKEN_PADDING + userId;
+    }
+
+    private static String accessToken(long userId) {
+        return "access." + TOKEN_PADDING + userId;
+    }
+
+    private long totalCommands() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            Properties stats = connection.serverCommands().info("commandstats");
+            long total = 0;
+
+            for (String name : stats.stringPropertyNames()) {
+                if (!name.startsWith("cmdstat_")) {
+                    continue;
+                }
+
+                // calls=10,usec=...
+                String value = stats.getProperty(name);
+                total += Long.parseLong(value.substring("calls=".length(), value.indexOf(',')));
+            }
+            return total;
+        }
+    }
+
+    interface TokenFlows extends AutoCloseable {
+        void login(long userId, String refreshToken);
+
+        void reissue(String refreshToken, String accessToken);
+
+        void logout(long userId, String accessToken);
+    }
+
+    /**
+     * RedisService의 호출 순서 (Bloom filter 제외)
+     */
+    private static class StoreTokenFlows implements TokenFlows {
+        private final RedisTokenStore redisTokenStore;
+
+        private StoreTokenFlows(RedisTokenStore redisTokenStore) {
+            this.redisTokenStore = redisTokenStore;
+        }
+
+        @Override
+        public void login(long userId, String refreshToken) {
+            redisTokenStore.saveRefreshToken(userId, refreshToken, REFRESH_TTL);
+        }
+
+        @Override
+        public void reissue(String refreshToken, String accessToken) {
+            if (redisTokenStore.findUserIdByRefreshToken(refreshToken) == null) {
+                throw new IllegalStateException("refresh token not found");
+            }
+
+            if (!redisTokenStore.isBlacklisted(accessToken)) {
+                redisTokenStore.addToBlacklist(accessToken, ACCESS_TTL);
+            }
+        }
+
+        @Override
+        public void logout(long userId, String accessToken) {
+            redisTokenStore.addToBlacklist(accessToken, ACCESS_TTL);
+            redisTokenStore.revokeRefreshToken(userId);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package dutchiepay.backend.domain.benchmark.controller;
+
+import dutchiepay.backend.domain.commerce.dto.GetBuyListResponseDto;
+import dutchiepay.backend.domain.commerce.dto.GetBuyListResponseDto.ProductDto;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LoggingAspect 포인트컷(domain.*.controller.*Controller)에 걸리도록 만든 벤치마크용 컨트롤러
+ * 상품 목록 조회처럼 큰 DTO 목록을 응답한다.
+ */
+public class BenchmarkController {
+    private final GetBuyListResponseDto response;
+
+    public BenchmarkController(int products) {
+        List<ProductDto> list = new ArrayList<>(products);
+
+        for (int i = 0; i < products; i++) {
+            list.add(ProductDto.builder()
+                    .buyId((long) i)
+                    .productName("벤치마크 상품 " + i)
+                    .productImg("https://dutchiepay.test/images/" + i + ".png")
+                    .productPrice(10000 + i)
+                    .discountPrice(9000 + i)
+                    .discountPercent(10)
+                    .skeleton(100)
+                    .nowCount(i % 100)
+                    .expireDate(7)
+                    .isLiked(i % 2 == 0)
+                    .build());
+        }
+
+        response = GetBuyListResponseDto.from(list, (long) products);
+    }
+
+    public ResponseEntity<?> getBuyList(String filter, Long limit) {
+        return ResponseEntity.ok().body(response);
+    }
+}
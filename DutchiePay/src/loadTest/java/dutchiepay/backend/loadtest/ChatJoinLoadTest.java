@@ -0,0 +1,223 @@
+package dutchiepay.backend.loadtest;
+
+import dutchiepay.backend.DutchiePayApplication;
+import dutchiepay.backend.domain.chat.exception.ChatErrorCode;
+import dutchiepay.backend.domain.chat.exception.ChatException;
+import dutchiepay.backend.domain.chat.repository.ChatRoomRepository;
+import dutchiepay.backend.domain.chat.repository.UserChatroomRepository;
+import dutchiepay.backend.domain.chat.service.UserChatroomService;
+import dutchiepay.backend.domain.user.repository.UserRepository;
+import dutchiepay.backend.entity.ChatRoom;
+import dutchiepay.backend.entity.User;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 채팅방 동시 참여 부하 테스트
+ * 내장 Redis와 H2(MySQL 모드)로 애플리케이션을 띄우고, 한 채팅방에 정원보다 많은 유저가 동시에 참여한다.
+ * 라운드마다 새 채팅방을 만들어 UserChatroomService.joinChatRoom을 스레드마다 호출하고 다음을 확인한다.
+ * - 참여에 성공한 유저 수가 정원과 같다.
+ * - 실패는 모두 FULL_CHAT이다.
+ * - DB의 now_part_inc와 참여 기록 수가 성공 수와 같다.
+ *
+ * leaked 라운드에서는 커밋 전에 종료된 노드가 남긴 예약처럼 Redis 예약 값을 미리 늘려 두고,
+ * 거절된 유저가 잠시 뒤 다시 참여할 때 DB 인원과 비교해 남은 자리를 되찾는지 확인한다.
+ * 하나라도 어긋나면 종료 코드 1로 끝난다.
+ *
+ * 설정 (시스템 프로퍼티)
+ * - loadtest.join.capacity: 채팅방 정원 (기본 100)
+ * - loadtest.join.users: 동시에 참여하는 유저 수 (기본 500)
+ * - loadtest.join.threads: 참여 요청 스레드 수 (기본 200)
+ * - loadtest.join.rounds: 정상 라운드 수 (기본 3)
+ * - loadtest.join.leaked: leaked 라운드에서 미리 늘려 둘 예약 수 (기본 10)
+ * - loadtest.redis-port: 내장 Redis 포트 (기본 6390)
+ */
+public class ChatJoinLoadTest {
+    private static final long RECONCILE_WAIT_MILLIS = 6_000;
+
+    private final UserRepository userRepository;
+    private final ChatRoomRepository chatRoomRepository;
+    private final UserChatroomRepository userChatroomRepository;
+    private final UserChatroomService userChatroomService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicInteger postIds = new AtomicInteger();
+
+    private ChatJoinLoadTest(ConfigurableApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.chatRoomRepository = context.getBean(ChatRoomRepository.class);
+        this.userChatroomRepository = context.getBean(UserChatroomRepository.class);
+        this.userChatroomService = context.getBean(UserChatroomService.class);
+        this.stringRedisTemplate = context.getBean(StringRedisTemplate.class);
+        this.transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int capacity = Integer.getInteger("loadtest.join.capacity", 100);
+        int users = Integer.getInteger("loadtest.join.users", 500);
+        int threads = Integer.getInteger("loadtest.join.threads", 200);
+        int rounds = Integer.getInteger("loadtest.join.rounds", 3);
+        int leaked = Integer.getInteger("loadtest.join.leaked", 10);
+        int redisPort = Integer.getInteger("loadtest.redis-port", 6390);
+
+        RedisServer redisServer = new RedisServer(redisPort);
+        redisServer.start();
+
+        boolean passed = true;
+        SpringApplication application = new SpringApplication(DutchiePayApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        try (ConfigurableApplicationContext context = application.run("--server.port=0")) {
+            ChatJoinLoadTest test = new ChatJoinLoadTest(context);
+            List<User> joiners = test.createUsers(users);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+            try {
+                for (int round = 1; round <= rounds; round++) {
+                    passed &= test.runRound("round " + round, joiners, capacity, 0, executor);
+                }
+                passed &= test.runRound("leaked " + leaked, joiners, capacity, leaked, executor);
+            } finally {
+                executor.shutdownNow();
+            }
+        } finally {
+            stopQuietly(redisServer);
+        }
+
+        System.out.println(passed ? "join load test passed" : "join load test FAILED");
+        System.exit(passed ? 0 : 1);
+    }
+
+    private List<User> createUsers(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                    .email("join" + i + "@dutchiepay.test")
+                    .nickname("join" + i)
+                    .location("서울")
+                    .state(0)
+                    .build());
+        }
+        return userRepository.saveAll(users);
+    }
+
+    /**
+     * 새 채팅방에 모든 유저가 동시에 참여하고 결과를 검증한다.
+     * @param leaked 참여 전에 Redis 예약 값에 더해 둘 되돌리지 못한 예약 수
+     */
+    private boolean runRound(String name, List<User> users, int capacity, int leaked, ExecutorService executor)
+            throws Exception {
+        ChatRoom chatRoom = chatRoomRepository.save(ChatRoom.builder()
+                .chatRoomName("join-" + name)
+                .type("group")
+                .postId((long) postIds.incrementAndGet())
+                .maxPartInc(capacity)
+                .nowPartInc(0)
+                .build());
+        Long chatRoomId = chatRoom.getChatroomId();
+        String capacityKey = "chat:" + chatRoomId + ":capacity";
+
+        if (leaked > 0) {
+            stringRedisTemplate.opsForHash().put(capacityKey, "now", String.valueOf(leaked));
+            stringRedisTemplate.opsForHash().put(capacityKey, "max", String.valueOf(capacity));
+            stringRedisTemplate.expire(capacityKey, 10, TimeUnit.MINUTES);
+        }
+
+        Wave wave = join(name, users, chatRoomId, executor);
+        int joined = wave.joined();
+        int full = wave.rejected().size();
+        int unexpected = wave.unexpected();
+        long elapsedMillis = wave.elapsedMillis();
+
+        if (leaked > 0) {
+            // 인원 초과 시점의 DB 인원이 RECONCILE_INTERVAL(5초) 이상 유지된 뒤에 거절된 유저가 다시 참여한다.
+            Thread.sleep(RECONCILE_WAIT_MILLIS);
+            Wave retry = join(name, wave.rejected(), chatRoomId, executor);
+            joined += retry.joined();
+            full = retry.rejected().size();
+            unexpected += retry.unexpected();
+            elapsedMillis += retry.elapsedMillis();
+        }
+
+        Integer nowPartInc = chatRoomRepository.findNowPartInc(chatRoomId);
+        int members = userChatroomRepository.findMemberIds(chatRoomId).size();
+        Object reserved = stringRedisTemplate.opsForHash().get(capacityKey, "now");
+
+        int expected = Math.min(capacity, users.size());
+        boolean passed = joined == expected
+                && unexpected == 0
+                && nowPartInc != null && nowPartInc == joined
+                && members == joined;
+
+        System.out.printf("[%s] %s: %d joins in %d ms, joined=%d (expected %d), full=%d, unexpected=%d, "
+                        + "now_part_inc=%s, members=%d, redis now=%s%n",
+                name, passed ? "ok" : "MISMATCH", users.size(), elapsedMillis, joined, expected,
+                full, unexpected, nowPartInc, members, reserved);
+
+        return passed;
+    }
+
+    /**
+     * 유저들이 동시에 채팅방에 참여한다.
+     */
+    private Wave join(String name, List<User> users, Long chatRoomId, ExecutorService executor) throws Exception {
+        AtomicInteger joined = new AtomicInteger();
+        AtomicInteger unexpected = new AtomicInteger();
+        List<User> rejected = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(users.size());
+
+        for (User user : users) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> userChatroomService.joinChatRoom(
+                            user, chatRoomRepository.findById(chatRoomId).orElseThrow(), "member"));
+                    joined.incrementAndGet();
+                } catch (ChatException e) {
+                    if (e.getChatErrorCode() == ChatErrorCode.FULL_CHAT) {
+                        rejected.add(user);
+                    } else {
+                        unexpected.incrementAndGet();
+                    }
+                } catch (RuntimeException e) {
+                    unexpected.incrementAndGet();
+                    System.err.printf("[%s] unexpected failure: %s%n", name, e);
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+
+        return new Wave(joined.get(), rejected, unexpected.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private record Wave(int joined, List<User> rejected, int unexpected, long elapsedMillis) {
+    }
+
+    private static void stopQuietly(RedisServer redisServer) {
+        try {
+            redisServer.stop();
+        } catch (IOException ignored) {
+        }
+    }
+}
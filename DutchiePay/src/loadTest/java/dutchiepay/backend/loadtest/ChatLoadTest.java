@@ -0,0 +1,296 @@
+package dutchiepay.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 부하 테스트 클라이언트
+ * LoadTestServer가 남긴 매니페스트대로 유저마다 STOMP 세션을 열어 /sub/chat/{id}를 구독하고,
+ * 정해진 속도로 /pub/chat/{id}에 메시지를 보내 같은 채팅방 구독자 모두에게 도착하기까지의 지연(fan-out latency)을 잰다.
+ * 클라이언트가 모두 한 JVM에 있으므로 보낸 시각(System.nanoTime)을 메시지 내용에 담아 받은 시각과 비교한다.
+ *
+ * 결과는 콘솔과 loadtest.output(기본 build/loadtest/results.jsonl)에 한 줄씩 남기며,
+ * 커밋 간 비교를 위해 git revision과 실행 조건을 함께 기록한다.
+ *
+ * 측정 결과 (1 CPU 개발 환경에서 서버와 클라이언트를 함께 실행, 유저 500명 / 채팅방 25개 uniform, 준비 10초, 측정 60초)
+ * - 클라이언트 200, 초당 20건 (수신 160건/s): p50 17.4ms, p99 113.8ms
+ * - 클라이언트 500, 초당 50건 (수신 1,001건/s): p50 11.3ms, p99 119.6ms
+ * - 클라이언트 500, 초당 100건 (수신 2,003건/s): p50 32.2ms, p99 5.24s (처리량은 유지하지만 큐가 쌓여 꼬리 지연이 커진다.)
+ *
+ * 설정 (시스템 프로퍼티)
+ * - loadtest.url: 서버 주소 (기본 http://localhost:8080)
+ * - loadtest.manifest: 매니페스트 경로 (기본 build/loadtest/manifest.csv)
+ * - loadtest.clients: 연결할 클라이언트 수, 0이면 매니페스트 전체 (기본 0)
+ * - loadtest.rate: 초당 전송 메시지 수 (기본 200)
+ * - loadtest.warmup-seconds: 집계에서 제외할 준비 시간 (기본 10)
+ * - loadtest.duration-seconds: 측정 시간 (기본 60)
+ * - loadtest.seed: 발신자 선택에 사용하는 난수 시드 (기본 42)
+ * - loadtest.output: 결과 파일 경로
+ */
+public class ChatLoadTest {
+    private static final String CONTENT_PREFIX = "lt:";
+    private static final long MAX_BACKLOG_MILLIS = 100;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy년 MM월 dd일");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("a h:m").withLocale(Locale.KOREA);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final ConcurrentHistogram latency = new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(60), 3);
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private volatile long measureFrom = Long.MAX_VALUE;
+
+    public static void main(String[] args) throws Exception {
+        new ChatLoadTest().run();
+    }
+
+    private void run() throws Exception {
+        String url = System.getProperty("loadtest.url", "http://localhost:8080");
+        Path manifestPath = Paths.get(System.getProperty("loadtest.manifest", "build/loadtest/manifest.csv"));
+        int clients = Integer.getInteger("loadtest.clients", 0);
+        int rate = Integer.getInteger("loadtest.rate", 200);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+        long seed = Long.getLong("loadtest.seed", 42L);
+        Path output = Paths.get(System.getProperty("loadtest.output", "build/loadtest/results.jsonl"));
+
+        List<String[]> manifest = new ArrayList<>();
+        for (String line : Files.readAllLines(manifestPath)) {
+            if (!line.isBlank()) {
+                manifest.add(line.split(",", 3));
+            }
+        }
+        if (clients > 0 && clients < manifest.size()) {
+            manifest = manifest.subList(0, clients);
+        }
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        stompClient.setInboundMessageSizeLimit(64 * 1024);
+
+        List<Client> connected = connect(stompClient, url + "/chat", manifest);
+        System.out.printf("connected %d/%d clients%n", connected.size(), manifest.size());
+
+        // 구독 직후 전송되는 채팅방 정보, 커서 프레임이 지나가도록 잠시 기다린다.
+        Thread.sleep(2000);
+
+        ScheduledExecutorService publisher = Executors.newSingleThreadScheduledExecutor();
+        Random random = new Random(seed);
+        long publishFrom = System.nanoTime();
+        long[] published = {0};
+
+        // 경과 시간 기준으로 보내야 할 만큼 보낸다. 밀린 전송은 MAX_BACKLOG_MILLIS만큼만 따라잡아,
+        // 클라이언트나 서버가 포화되면 몰아서 보내는 대신 sentPerSecond가 rate보다 낮게 기록된다.
+        publisher.scheduleAtFixedRate(() -> {
+            long due = (System.nanoTime() - publishFrom) * rate / TimeUnit.SECONDS.toNanos(1);
+            published[0] = Math.max(published[0], due - rate * MAX_BACKLOG_MILLIS / 1000);
+            while (published[0] < due) {
+                published[0]++;
+                publish(connected.get(random.nextInt(connected.size())));
+            }
+        }, 0, 1, TimeUnit.MILLISECONDS);
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        latency.reset();
+        sent.set(0);
+        received.set(0);
+        measureFrom = System.nanoTime();
+        double allocatedBefore = allocatedBytes(url);
+
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        long measuredNanos = System.nanoTime() - measureFrom;
+        double allocatedAfter = allocatedBytes(url);
+        Histogram snapshot = latency.copy();
+        long sentCount = sent.get();
+        long receivedCount = received.get();
+
+        publisher.shutdownNow();
+        for (Client client : connected) {
+            client.session.disconnect();
+        }
+        stompClient.stop();
+
+        report(output, snapshot, sentCount, receivedCount, measuredNanos,
+                allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore,
+                connected.size(), rate, warmupSeconds, durationSeconds, seed);
+    }
+
+    private List<Client> connect(WebSocketStompClient stompClient, String endpoint, List<String[]> manifest) {
+        List<Client> connected = new ArrayList<>(manifest.size());
+
+        for (String[] entry : manifest) {
+            long userId = Long.parseLong(entry[0]);
+            long chatRoomId = Long.parseLong(entry[1]);
+
+            StompHeaders connectHeaders = new StompHeaders();
+            connectHeaders.add("Authorization", "Bearer " + entry[2]);
+
+            try {
+                StompSession session = stompClient
+                        .connectAsync(endpoint, new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {})
+                        .get(10, TimeUnit.SECONDS);
+                session.subscribe("/sub/chat/" + chatRoomId, new LatencyHandler());
+                connected.add(new Client(userId, chatRoomId, session));
+            } catch (Exception e) {
+                System.err.printf("connect failed (userId: %d): %s%n", userId, e.getMessage());
+            }
+        }
+
+        return connected;
+    }
+
+    private void publish(Client client) {
+        long now = System.nanoTime();
+
+        Map<String, Object> message = Map.of(
+                "type", "text",
+                "senderId", client.userId,
+                "content", CONTENT_PREFIX + now,
+                "date", LocalDate.now().format(DATE_FORMATTER),
+                "time", LocalTime.now().format(TIME_FORMATTER),
+                "clientMessageId", UUID.randomUUID().toString());
+
+        try {
+            client.session.send("/pub/chat/" + client.chatRoomId, message);
+            sent.incrementAndGet();
+        } catch (RuntimeException e) {
+            System.err.printf("send failed (userId: %d): %s%n", client.userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 부하 테스트 메시지만 골라 지연을 기록한다. 채팅방 정보, 커서, 시스템 메시지 프레임은 무시한다.
+     */
+    private class LatencyHandler implements StompFrameHandler {
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return JsonNode.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            JsonNode content = ((JsonNode) payload).get("content");
+
+            if (content == null || !content.asText().startsWith(CONTENT_PREFIX)) {
+                return;
+            }
+
+            long sentAt = Long.parseLong(content.asText().substring(CONTENT_PREFIX.length()));
+            if (sentAt < measureFrom) {
+                return;
+            }
+
+            latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentAt), latency.getHighestTrackableValue()));
+            received.incrementAndGet();
+        }
+    }
+
+    /**
+     * 서버의 누적 할당량(jvm.gc.memory.allocated)을 조회한다. 조회할 수 없으면 -1
+     */
+    private static double allocatedBytes(String url) {
+        try {
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create(url + "/actuator/metrics/jvm.gc.memory.allocated")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            if (response.statusCode() != 200) {
+                return -1;
+            }
+
+            return OBJECT_MAPPER.readTree(response.body()).get("measurements").get(0).get("value").asDouble();
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private static void report(Path output, Histogram histogram, long sentCount, long receivedCount, long measuredNanos,
+                               double allocated, int clients, int rate, int warmupSeconds, int durationSeconds, long seed) throws IOException {
+        double seconds = measuredNanos / 1e9;
+
+        ObjectNode result = OBJECT_MAPPER.createObjectNode();
+        result.put("revision", revision());
+        result.put("timestamp", Instant.now().toString());
+        result.put("clients", clients);
+        result.put("rate", rate);
+        result.put("warmupSeconds", warmupSeconds);
+        result.put("durationSeconds", durationSeconds);
+        result.put("seed", seed);
+        result.put("sentPerSecond", sentCount / seconds);
+        result.put("receivedPerSecond", receivedCount / seconds);
+
+        ObjectNode latencyMicros = result.putObject("latencyMicros");
+        latencyMicros.put("p50", histogram.getValueAtPercentile(50));
+        latencyMicros.put("p90", histogram.getValueAtPercentile(90));
+        latencyMicros.put("p99", histogram.getValueAtPercentile(99));
+        latencyMicros.put("p999", histogram.getValueAtPercentile(99.9));
+        latencyMicros.put("max", histogram.getMaxValue());
+
+        result.put("serverAllocatedBytesPerSecond", allocated < 0 ? -1 : allocated / seconds);
+
+        String line = OBJECT_MAPPER.writeValueAsString(result);
+        System.out.println(line);
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.writeString(output, line + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static String revision() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").start();
+            String revision = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return process.waitFor() == 0 && !revision.isEmpty() ? revision : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    private record Client(long userId, long chatRoomId, StompSession session) {
+    }
+}
@@ -0,0 +1,153 @@
+package dutchiepay.backend.loadtest;
+
+import dutchiepay.backend.DutchiePayApplication;
+import dutchiepay.backend.domain.chat.repository.ChatRoomRepository;
+import dutchiepay.backend.domain.chat.repository.UserChatroomRepository;
+import dutchiepay.backend.domain.user.repository.UserRepository;
+import dutchiepay.backend.entity.ChatRoom;
+import dutchiepay.backend.entity.User;
+import dutchiepay.backend.entity.UserChatRoom;
+import dutchiepay.backend.global.jwt.JwtUtil;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import redis.embedded.RedisServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 부하 테스트용 서버
+ * 내장 Redis와 H2(MySQL 모드)로 애플리케이션을 띄우고, 유저와 채팅방을 만든 뒤
+ * 클라이언트(ChatLoadTest)가 사용할 매니페스트(userId,chatRoomId,accessToken)를 파일로 남긴다.
+ *
+ * 설정 (시스템 프로퍼티)
+ * - loadtest.users: 유저 수 (기본 2000)
+ * - loadtest.rooms: 채팅방 수 (기본 100)
+ * - loadtest.distribution: 유저를 채팅방에 배정하는 분포, uniform | zipf (기본 uniform)
+ * - loadtest.zipf-exponent: zipf 분포 지수 (기본 1.0)
+ * - loadtest.seed: 배정에 사용하는 난수 시드 (기본 42)
+ * - loadtest.redis-port: 내장 Redis 포트 (기본 6390)
+ * - loadtest.manifest: 매니페스트 경로 (기본 build/loadtest/manifest.csv)
+ */
+public class LoadTestServer {
+
+    public static void main(String[] args) throws IOException {
+        int users = Integer.getInteger("loadtest.users", 2000);
+        int rooms = Integer.getInteger("loadtest.rooms", 100);
+        String distribution = System.getProperty("loadtest.distribution", "uniform");
+        double zipfExponent = Double.parseDouble(System.getProperty("loadtest.zipf-exponent", "1.0"));
+        long seed = Long.getLong("loadtest.seed", 42L);
+        int redisPort = Integer.getInteger("loadtest.redis-port", 6390);
+        Path manifest = Paths.get(System.getProperty("loadtest.manifest", "build/loadtest/manifest.csv"));
+
+        RedisServer redisServer = new RedisServer(redisPort);
+        redisServer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                redisServer.stop();
+            } catch (IOException ignored) {
+            }
+        }));
+
+        SpringApplication application = new SpringApplication(DutchiePayApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        ConfigurableApplicationContext context = application.run(args);
+
+        int[] assignments = assign(users, rooms, distribution, zipfExponent, new Random(seed));
+        seed(context, manifest, assignments, rooms);
+
+        System.out.printf("load test server ready: %d users, %d rooms (%s), manifest=%s%n",
+                users, rooms, distribution, manifest.toAbsolutePath());
+    }
+
+    /**
+     * 유저별로 참여할 채팅방 번호(0부터)를 정한다.
+     */
+    static int[] assign(int users, int rooms, String distribution, double exponent, Random random) {
+        int[] assignments = new int[users];
+
+        if ("zipf".equals(distribution)) {
+            double[] cumulative = new double[rooms];
+            double sum = 0;
+            for (int i = 0; i < rooms; i++) {
+                sum += 1.0 / Math.pow(i + 1, exponent);
+                cumulative[i] = sum;
+            }
+
+            for (int i = 0; i < users; i++) {
+                double target = random.nextDouble() * sum;
+                int index = Arrays.binarySearch(cumulative, target);
+                assignments[i] = index >= 0 ? index : Math.min(-index - 1, rooms - 1);
+            }
+        } else {
+            for (int i = 0; i < users; i++) {
+                assignments[i] = i % rooms;
+            }
+        }
+
+        return assignments;
+    }
+
+    private static void seed(ConfigurableApplicationContext context, Path manifest, int[] assignments, int rooms) throws IOException {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ChatRoomRepository chatRoomRepository = context.getBean(ChatRoomRepository.class);
+        UserChatroomRepository userChatroomRepository = context.getBean(UserChatroomRepository.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+
+        int[] members = new int[rooms];
+        for (int room : assignments) {
+            members[room]++;
+        }
+
+        List<ChatRoom> chatRooms = new ArrayList<>(rooms);
+        for (int i = 0; i < rooms; i++) {
+            chatRooms.add(ChatRoom.builder()
+                    .chatRoomName("loadtest-" + i)
+                    .type("group")
+                    .postId((long) i + 1)
+                    .maxPartInc(Math.max(members[i], 1))
+                    .nowPartInc(members[i])
+                    .build());
+        }
+        chatRooms = chatRoomRepository.saveAll(chatRooms);
+
+        List<User> users = new ArrayList<>(assignments.length);
+        for (int i = 0; i < assignments.length; i++) {
+            users.add(User.builder()
+                    .email("loadtest" + i + "@dutchiepay.test")
+                    .nickname("lt" + i)
+                    .location("서울")
+                    .state(0)
+                    .build());
+        }
+        users = userRepository.saveAll(users);
+
+        List<UserChatRoom> userChatRooms = new ArrayList<>(assignments.length);
+        for (int i = 0; i < assignments.length; i++) {
+            userChatRooms.add(UserChatRoom.builder()
+                    .user(users.get(i))
+                    .chatroom(chatRooms.get(assignments[i]))
+                    .role("member")
+                    .banned(false)
+                    .lastMessageId(0L)
+                    .build());
+        }
+        userChatroomRepository.saveAll(userChatRooms);
+
+        Files.createDirectories(manifest.toAbsolutePath().getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(manifest)) {
+            for (int i = 0; i < assignments.length; i++) {
+                Long userId = users.get(i).getUserId();
+                writer.write(userId + "," + chatRooms.get(assignments[i]).getChatroomId() + "," + jwtUtil.createAccessToken(userId));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package dutchiepay.backend.domain.chat.controller;
 
+import dutchiepay.backend.domain.chat.dto.ChatAckResponse;
 import dutchiepay.backend.domain.chat.dto.ChatMessage;
 import dutchiepay.backend.domain.chat.dto.JoinChatRoomRequestDto;
 import dutchiepay.backend.domain.chat.dto.KickUserRequestDto;
@@ -11,10 +12,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
+
 @Slf4j
 @RestController
 @RequestMapping("/chat")
@@ -22,10 +26,13 @@ import org.springframework.web.bind.annotation.*;
 public class ChatController {
     private final ChatRoomService chatroomService;
 
+    /**
+     * 채팅 메시지를 전송하고, 전송한 세션에만 ack를 보낸다. (구독: /user/sub/ack)
+     */
     @MessageMapping("/chat/{chatRoomId}")
-    public ChatMessage chat(@DestinationVariable String chatRoomId, ChatMessage message) {
-        chatroomService.sendToChatRoomUser(chatRoomId, message);
-        return message;
+    @SendToUser(destinations = "/sub/ack", broadcast = false)
+    public ChatAckResponse chat(@DestinationVariable String chatRoomId, ChatMessage message, Principal principal) {
+        return chatroomService.sendToChatRoomUser(chatRoomId, principal == null ? null : principal.getName(), message);
     }
 
     @Operation(summary = "채팅방 입장", description = "postId에 연결된 채팅방 입장")
@@ -61,6 +68,13 @@ public class ChatController {
         return ResponseEntity.ok().build();
     }
 
+    @Operation(summary = "접속 중인 채팅 사용자 조회")
+    @GetMapping("/online")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getOnlineUsers(@RequestParam Long chatRoomId) {
+        return ResponseEntity.ok(chatroomService.getOnlineUsers(chatRoomId));
+    }
+
     @Operation(summary = "채팅 사용자 목록 조회")
     @GetMapping("/users")
     @PreAuthorize("isAuthenticated()")
@@ -76,4 +90,16 @@ public class ChatController {
                                                  @RequestParam(value = "limit") Long limit) {
         return ResponseEntity.ok(chatroomService.getChatRoomMessages(chatRoomId, cursor, limit));
     }
+
+    @Operation(summary = "채팅방 메시지 검색")
+    @GetMapping("/message/search")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> searchChatRoomMessages(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                    @RequestParam(value = "chatRoomId") Long chatRoomId,
+                                                    @RequestParam(value = "query") String query,
+                                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                                    @RequestParam(value = "limit", defaultValue = "20") Integer limit) {
+        return ResponseEntity.ok(chatroomService.searchMessages(userDetails.getUser(), chatRoomId, query, cursor,
+                Math.min(Math.max(limit, 1), 100)));
+    }
 }
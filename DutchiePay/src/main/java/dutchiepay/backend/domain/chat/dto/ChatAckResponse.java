@@ -0,0 +1,43 @@
+package dutchiepay.backend.domain.chat.dto;
+
+import lombok.*;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ChatAckResponse {
+    private String type;
+    private String clientMessageId;
+    // 중복 전송이고 원본 메시지가 아직 처리 중이라면 null
+    private Long messageId;
+    private Boolean duplicate;
+    // type이 "error"일 때 거부 사유 (RATE_LIMITED: 채팅방 전송 한도 초과, 저장, 전파되지 않음)
+    private String reason;
+
+    public static ChatAckResponse of(String clientMessageId, Long messageId) {
+        return ChatAckResponse.builder()
+                .type("ack")
+                .clientMessageId(clientMessageId)
+                .messageId(messageId)
+                .duplicate(false)
+                .build();
+    }
+
+    public static ChatAckResponse duplicate(String clientMessageId, Long messageId) {
+        return ChatAckResponse.builder()
+                .type("ack")
+                .clientMessageId(clientMessageId)
+                .messageId(messageId)
+                .duplicate(true)
+                .build();
+    }
+
+    public static ChatAckResponse rateLimited(String clientMessageId) {
+        return ChatAckResponse.builder()
+                .type("error")
+                .clientMessageId(clientMessageId)
+                .reason("RATE_LIMITED")
+                .build();
+    }
+}
@@ -9,4 +9,6 @@ public class ChatMessage {
     private String content;
     private String date;
     private String time;
+    // 재전송 시에도 유지되는 클라이언트 발급 Id, 중복 전송 판별에 사용한다.
+    private String clientMessageId;
 }
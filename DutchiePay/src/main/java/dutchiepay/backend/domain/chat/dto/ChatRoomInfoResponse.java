@@ -30,6 +30,15 @@ public class ChatRoomInfoResponse {
                     .isSendActivated(isSendActivated)
                     .build();
         }
+
+        public static ChatRoomInfo from(ChatRoomSnapshot chatRoom, Boolean isSendActivated) {
+            return ChatRoomInfo.builder()
+                    .chatRoomId(chatRoom.getChatRoomId())
+                    .chatRoomName(chatRoom.getChatRoomName())
+                    .chatRoomImg(chatRoom.getChatRoomImg())
+                    .isSendActivated(isSendActivated)
+                    .build();
+        }
     }
 
     public static ChatRoomInfoResponse from(Long userId, ChatRoom chatRoom, Boolean isSendActivated) {
@@ -39,4 +48,12 @@ public class ChatRoomInfoResponse {
                 .data(ChatRoomInfo.from(chatRoom, isSendActivated))
                 .build();
     }
+
+    public static ChatRoomInfoResponse from(Long userId, ChatRoomSnapshot chatRoom, Boolean isSendActivated) {
+        return ChatRoomInfoResponse.builder()
+                .type("info")
+                .userId(userId)
+                .data(ChatRoomInfo.from(chatRoom, isSendActivated))
+                .build();
+    }
 }
@@ -0,0 +1,31 @@
+package dutchiepay.backend.domain.chat.dto;
+
+import dutchiepay.backend.entity.ChatRoom;
+import lombok.*;
+
+/**
+ * 캐시에 보관하는 채팅방 정보. 영속성 컨텍스트와 분리된 불변 객체다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ChatRoomSnapshot {
+    private Long chatRoomId;
+    private String chatRoomName;
+    private String chatRoomImg;
+    private String type;
+    private Integer maxPartInc;
+    private Integer nowPartInc;
+
+    public static ChatRoomSnapshot from(ChatRoom chatRoom) {
+        return ChatRoomSnapshot.builder()
+                .chatRoomId(chatRoom.getChatroomId())
+                .chatRoomName(chatRoom.getChatRoomName())
+                .chatRoomImg(chatRoom.getChatRoomImg())
+                .type(chatRoom.getType())
+                .maxPartInc(chatRoom.getMaxPartInc())
+                .nowPartInc(chatRoom.getNowPartInc())
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package dutchiepay.backend.domain.chat.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class GetOnlineUsersResponseDto {
+    private Long chatRoomId;
+    // 채팅방을 보고 있는(구독 중인) 유저
+    private List<Long> activeUserIds;
+    // 채팅방 멤버 중 접속 중인 유저
+    private List<Long> onlineUserIds;
+}
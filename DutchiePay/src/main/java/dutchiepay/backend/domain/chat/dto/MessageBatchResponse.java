@@ -0,0 +1,24 @@
+package dutchiepay.backend.domain.chat.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 여러 메시지를 한 번에 전파하는 프레임. 클라이언트는 messages를 순서대로 처리한다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MessageBatchResponse {
+    private String type;
+    private List<MessageResponse> messages;
+
+    public static MessageBatchResponse of(List<MessageResponse> messages) {
+        return MessageBatchResponse.builder()
+                .type("batch")
+                .messages(messages)
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package dutchiepay.backend.domain.chat.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PendingChatMessage {
+    private Long chatRoomId;
+    private MessageResponse message;
+    private List<Long> subscriberIds;
+}
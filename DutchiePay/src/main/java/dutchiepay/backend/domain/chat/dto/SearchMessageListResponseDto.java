@@ -0,0 +1,40 @@
+package dutchiepay.backend.domain.chat.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SearchMessageListResponseDto {
+    private List<SearchedMessageDto> messages;
+    private String cursor;
+
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    public static class SearchedMessageDto {
+        private Long messageId;
+        private Long senderId;
+        private String type;
+        private String content;
+        private String date;
+        private String time;
+        private List<HighlightDto> highlights;
+    }
+
+    /**
+     * content에서 검색어와 일치하는 구간 [start, end)
+     */
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    public static class HighlightDto {
+        private Integer start;
+        private Integer end;
+    }
+}
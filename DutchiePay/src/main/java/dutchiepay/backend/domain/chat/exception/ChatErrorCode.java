@@ -19,12 +19,20 @@ public enum ChatErrorCode implements StatusCode {
     MANAGER_CANNOT_LEAVE(HttpStatus.BAD_REQUEST, "방장은 채팅방을 나갈 수 없습니다."),
     ALREADY_JOINED(HttpStatus.BAD_REQUEST, "이미 채팅방에 참여되어있습니다."),
     EMPTY_MESSAGE(HttpStatus.BAD_REQUEST, "더 이상 불러올 메시지가 없습니다."),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "유효하지 않은 커서입니다."),
+    INVALID_SEARCH_QUERY(HttpStatus.BAD_REQUEST, "검색어는 공백을 제외하고 2글자 이상 입력해주세요."),
 
     /**
      * 403 Forbidden
      */
     USER_BANNED(HttpStatus.FORBIDDEN, "사용자가 채팅방에서 차단되었습니다."),
-    NOT_MANAGER(HttpStatus.FORBIDDEN, "방장 권한이 없습니다.");
+    NOT_MANAGER(HttpStatus.FORBIDDEN, "방장 권한이 없습니다."),
+    NOT_CHAT_MEMBER(HttpStatus.FORBIDDEN, "채팅방에 참여하지 않은 사용자입니다."),
+
+    /**
+     * 503 Service Unavailable
+     */
+    CHAT_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "채팅 서버가 혼잡합니다. 잠시 후 다시 시도해주세요.");
 
     private final HttpStatus httpStatus;
     private final String message;
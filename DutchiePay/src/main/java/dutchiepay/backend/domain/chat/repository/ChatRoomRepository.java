@@ -2,7 +2,26 @@ package dutchiepay.backend.domain.chat.repository;
 
 import dutchiepay.backend.entity.ChatRoom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long>, QChatRoomRepository {
     ChatRoom findByPostIdAndType(Long postId, String type);
+
+    @Modifying
+    @Query("UPDATE ChatRoom c SET c.lastMessageId = :messageId, c.lastMessageType = :type, c.lastMessageContent = :content, " +
+            "c.lastMessageDate = :date, c.lastMessageTime = :time " +
+            "WHERE c.chatroomId = :chatRoomId AND (c.lastMessageId IS NULL OR c.lastMessageId < :messageId)")
+    void updateLastMessage(Long chatRoomId, Long messageId, String type, String content, String date, String time);
+
+    @Query("SELECT c.nowPartInc FROM ChatRoom c WHERE c.chatroomId = :chatRoomId")
+    Integer findNowPartInc(Long chatRoomId);
+
+    @Modifying
+    @Query("UPDATE ChatRoom c SET c.nowPartInc = c.nowPartInc + 1 WHERE c.chatroomId = :chatRoomId AND c.nowPartInc < c.maxPartInc")
+    int increaseNowPartInc(Long chatRoomId);
+
+    @Modifying
+    @Query("UPDATE ChatRoom c SET c.nowPartInc = c.nowPartInc - 1 WHERE c.chatroomId = :chatRoomId AND c.nowPartInc > 0")
+    int decreaseNowPartInc(Long chatRoomId);
 }
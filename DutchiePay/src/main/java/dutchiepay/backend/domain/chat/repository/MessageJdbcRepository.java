@@ -1,12 +1,19 @@
 package dutchiepay.backend.domain.chat.repository;
 
 import dutchiepay.backend.domain.chat.dto.MessageResponse;
+import dutchiepay.backend.domain.chat.dto.PendingChatMessage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Repository
 @RequiredArgsConstructor
@@ -48,4 +55,198 @@ public class MessageJdbcRepository {
             ps.setString(8, message.getTime());
         });
     }
+
+    /**
+     * write-behind 큐에서 모인 메시지, 일괄 강퇴 메시지 등을 한 번의 배치로 저장한다.
+     * 재시도 시 중복 저장되지 않도록 이미 존재하는 messageId는 무시한다.
+     */
+    public void insertMessages(List<PendingChatMessage> pendingMessages) {
+        String sql = """
+            INSERT INTO message (
+                message_id, chatroom_id, sender_id, type, content, unread_count,
+                date, time, created_at, updated_at, deleted_at
+            )
+            VALUES (
+                ?, ?, ?, ?, ?, ?,
+                ?, ?, NOW(), NOW(), NULL
+            )
+            ON DUPLICATE KEY UPDATE
+                message_id = message_id
+        """;
+
+        jdbcTemplate.batchUpdate(sql, pendingMessages, pendingMessages.size(), (ps, pending) -> {
+            MessageResponse message = pending.getMessage();
+            ps.setLong(1, message.getMessageId());
+            ps.setLong(2, pending.getChatRoomId());
+            ps.setLong(3, message.getSenderId());
+            ps.setString(4, message.getType());
+            ps.setString(5, message.getContent());
+            ps.setInt(6, message.getUnreadCount());
+            ps.setString(7, message.getDate());
+            ps.setString(8, message.getTime());
+        });
+    }
+
+    /**
+     * messageIds 중 이미 저장된 messageId를 조회한다.
+     * 재시도한 배치에서 이전 시도에 저장된 메시지를 구분할 때 사용한다.
+     */
+    public Set<Long> findExistingMessageIds(Collection<Long> messageIds) {
+        if (messageIds.isEmpty()) {
+            return Set.of();
+        }
+
+        String sql = "SELECT message_id FROM message WHERE message_id IN ("
+                + String.join(",", Collections.nCopies(messageIds.size(), "?")) + ")";
+
+        return new HashSet<>(jdbcTemplate.queryForList(sql, Long.class, messageIds.toArray()));
+    }
+
+    /**
+     * 채팅방별 마지막 메시지를 갱신하고 모든 멤버의 안 읽은 메시지 수를 새로 저장된 메시지 수만큼 증가시킨다.
+     * 마지막 메시지 갱신은 멱등하지만 안 읽은 메시지 수 증가는 그렇지 않으므로,
+     * 같은 트랜잭션에서 저장 전에 조회한 storedIds(이전 시도에서 이미 커밋된 메시지)는 세지 않는다.
+     * 구독자의 안 읽은 메시지 수는 이후 updateLastMessageIds에서 다시 계산한다.
+     * @param messagesByRoom chatRoomId -> 메시지 목록
+     * @param storedIds 이번 저장 전에 이미 DB에 있던 messageId
+     */
+    public void updateChatRoomSummaries(Map<Long, List<MessageResponse>> messagesByRoom, Set<Long> storedIds) {
+        String summarySql = """
+            UPDATE chatroom
+            SET last_message_id = ?, last_message_type = ?, last_message_content = ?,
+                last_message_date = ?, last_message_time = ?
+            WHERE chatroom_id = ? AND (last_message_id IS NULL OR last_message_id < ?)
+        """;
+        String unreadSql = """
+            UPDATE user_chatroom
+            SET unread_count = unread_count + ?
+            WHERE chatroom_id = ?
+        """;
+
+        List<Object[]> summaryParams = new ArrayList<>();
+        List<Object[]> unreadParams = new ArrayList<>();
+
+        messagesByRoom.forEach((chatRoomId, messages) -> {
+            MessageResponse last = messages.get(0);
+            for (MessageResponse message : messages) {
+                if (message.getMessageId() > last.getMessageId()) {
+                    last = message;
+                }
+            }
+
+            summaryParams.add(new Object[]{last.getMessageId(), last.getType(), last.getContent(),
+                    last.getDate(), last.getTime(), chatRoomId, last.getMessageId()});
+
+            int added = 0;
+            for (MessageResponse message : messages) {
+                if (!storedIds.contains(message.getMessageId())) {
+                    added++;
+                }
+            }
+            if (added > 0) {
+                unreadParams.add(new Object[]{added, chatRoomId});
+            }
+        });
+
+        if (!summaryParams.isEmpty()) {
+            jdbcTemplate.batchUpdate(summarySql, summaryParams);
+        }
+        if (!unreadParams.isEmpty()) {
+            jdbcTemplate.batchUpdate(unreadSql, unreadParams);
+        }
+    }
+
+    /**
+     * 채팅방 구독자들의 마지막 확인 메시지 Id와 안 읽은 메시지 수를 배치로 갱신한다.
+     * 안 읽은 메시지 수는 같은 배치에서 마지막으로 확인한 메시지 이후의 메시지 수가 된다.
+     * @param lastMessageIds chatRoomId -> (userId -> messageId)
+     * @param messagesByRoom chatRoomId -> 메시지 목록
+     */
+    public void updateLastMessageIds(Map<Long, Map<Long, Long>> lastMessageIds, Map<Long, List<MessageResponse>> messagesByRoom) {
+        String sql = """
+            UPDATE user_chatroom
+            SET last_message_id = ?, unread_count = ?
+            WHERE chatroom_id = ? AND user_id = ?
+        """;
+
+        List<Object[]> params = new ArrayList<>();
+        lastMessageIds.forEach((chatRoomId, users) -> {
+            List<MessageResponse> messages = messagesByRoom.getOrDefault(chatRoomId, List.of());
+
+            users.forEach((userId, messageId) -> {
+                int unread = 0;
+                for (MessageResponse message : messages) {
+                    if (message.getMessageId() > messageId) {
+                        unread++;
+                    }
+                }
+                params.add(new Object[]{messageId, unread, chatRoomId, userId});
+            });
+        });
+
+        if (!params.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, params);
+        }
+    }
+
+    /**
+     * 모든 채팅방에서 messageId 이후의 메시지를 Id 순으로 limit개 조회한다.
+     */
+    public List<PendingChatMessage> findMessagesAfter(long messageId, int limit) {
+        String sql = """
+            SELECT message_id, chatroom_id, sender_id, type, content, unread_count, date, time
+            FROM message
+            WHERE message_id > ?
+            ORDER BY message_id
+            LIMIT ?
+        """;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> PendingChatMessage.builder()
+                .chatRoomId(rs.getLong("chatroom_id"))
+                .message(MessageResponse.builder()
+                        .messageId(rs.getLong("message_id"))
+                        .senderId(rs.getLong("sender_id"))
+                        .type(rs.getString("type"))
+                        .content(rs.getString("content"))
+                        .unreadCount(rs.getInt("unread_count"))
+                        .date(rs.getString("date"))
+                        .time(rs.getString("time"))
+                        .build())
+                .subscriberIds(List.of())
+                .build(), messageId, limit);
+    }
+
+    /**
+     * 채팅방의 fromMessageId 이상, toMessageId 미만 messageId를 Id 순으로 limit개 조회한다.
+     */
+    public List<Long> findMessageIds(Long chatRoomId, long fromMessageId, long toMessageId, int limit) {
+        String sql = """
+            SELECT message_id
+            FROM message
+            WHERE chatroom_id = ? AND message_id >= ? AND message_id < ?
+            ORDER BY message_id
+            LIMIT ?
+        """;
+
+        return jdbcTemplate.queryForList(sql, Long.class, chatRoomId, fromMessageId, toMessageId, limit);
+    }
+
+    /**
+     * 채팅방의 메시지 중 messageIds에 해당하는 메시지를 삭제한다.
+     * @return 삭제된 메시지 수
+     */
+    public int deleteMessages(Long chatRoomId, Collection<Long> messageIds) {
+        if (messageIds.isEmpty()) {
+            return 0;
+        }
+
+        String sql = "DELETE FROM message WHERE chatroom_id = ? AND message_id IN ("
+                + String.join(",", Collections.nCopies(messageIds.size(), "?")) + ")";
+
+        List<Object> params = new ArrayList<>(messageIds.size() + 1);
+        params.add(chatRoomId);
+        params.addAll(messageIds);
+
+        return jdbcTemplate.update(sql, params.toArray());
+    }
 }
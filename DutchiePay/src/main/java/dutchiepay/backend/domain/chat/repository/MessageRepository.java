@@ -2,11 +2,13 @@ package dutchiepay.backend.domain.chat.repository;
 
 import dutchiepay.backend.entity.ChatRoom;
 import dutchiepay.backend.entity.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface MessageRepository extends JpaRepository<Message, Long>, QMessageRepository {
@@ -17,4 +19,13 @@ public interface MessageRepository extends JpaRepository<Message, Long>, QMessag
     void discountUnreadMessageCount(Long lastMessageId, Long chatRoomId);
 
     List<Message> findAllByChatroom(ChatRoom chatRoom);
+
+    /**
+     * 검색 색인용으로 messageId 이후의 메시지 Id와 내용을 오래된 순으로 조회한다.
+     */
+    @Query("SELECT m.messageId, m.content FROM Message m WHERE m.chatroom.chatroomId = :chatRoomId AND m.messageId > :messageId AND m.type NOT IN :excludedTypes ORDER BY m.messageId ASC")
+    List<Object[]> findContentsAfter(Long chatRoomId, Long messageId, Collection<String> excludedTypes, Pageable pageable);
+
+    @Query("SELECT m FROM Message m WHERE m.chatroom.chatroomId = :chatRoomId AND m.messageId IN :messageIds")
+    List<Message> findAllByChatRoomIdAndMessageIds(Long chatRoomId, Collection<Long> messageIds);
 }
@@ -1,9 +1,9 @@
 package dutchiepay.backend.domain.chat.repository;
 
-import dutchiepay.backend.domain.chat.dto.GetMessageListResponseDto;
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
 
 import java.util.List;
 
 public interface QChatRoomRepository {
-    GetMessageListResponseDto findChatRoomMessages(Long chatRoomId, String cursorDate, Long cursorMessageId, Long limit);
+    List<MessageResponse> findMessagesBefore(Long chatRoomId, Long maxMessageId, int limit);
 }
@@ -2,7 +2,6 @@ package dutchiepay.backend.domain.chat.repository;
 
 import com.querydsl.core.Tuple;
 import com.querydsl.jpa.impl.JPAQueryFactory;
-import dutchiepay.backend.domain.chat.dto.GetMessageListResponseDto;
 import dutchiepay.backend.domain.chat.dto.MessageResponse;
 import dutchiepay.backend.domain.chat.exception.ChatErrorCode;
 import dutchiepay.backend.domain.chat.exception.ChatException;
@@ -15,7 +14,6 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 @Repository
@@ -26,64 +24,42 @@ public class QChatRoomRepositoryImpl implements QChatRoomRepository {
 
     QMessage message = QMessage.message;
 
+    /**
+     * maxMessageId 이하의 메시지를 최신순으로 limit개 조회한다.
+     */
     @Override
-    public GetMessageListResponseDto findChatRoomMessages(Long chatRoomId, String cursorDate, Long cursorMessageId, Long limit) {
-        cursorMessageId = cursorMessageId == null ? Long.MAX_VALUE : cursorMessageId;
-
+    public List<MessageResponse> findMessagesBefore(Long chatRoomId, Long maxMessageId, int limit) {
         List<Tuple> tuple = jpaQueryFactory
                 .select(message.messageId,
                         message.content,
                         message.date,
                         message.time,
                         message.senderId,
-                        message.type)
+                        message.type,
+                        message.unreadCount)
                 .from(message)
-                .where(message.chatroom.chatroomId.eq(chatRoomId))
-                .where(message.date.loe(cursorDate).and(message.messageId.loe(cursorMessageId)))
+                .where(message.chatroom.chatroomId.eq(chatRoomId)
+                        .and(message.messageId.loe(maxMessageId)))
                 .orderBy(message.messageId.desc())
-                .limit(limit + 1)
+                .limit(limit)
                 .fetch();
 
         List<MessageResponse> result = new ArrayList<>();
 
-        if (tuple.isEmpty()) {
-            return GetMessageListResponseDto.builder()
-                    .messages(result)
-                    .cursor(null)
-                    .build();
-        }
-
-
-        int count = 0;
         for (Tuple t : tuple) {
-            if (count >= limit) {
-                break;
-            }
-
-            String date = t.get(message.date);
-            String formatDate = date.replace("년 ", "-")
-                    .replace("월 ", "-")
-                    .replace("일", "");
-
             MessageResponse dto = MessageResponse.builder()
                     .messageId(t.get(message.messageId))
                     .content(t.get(message.content))
-                    .date(formatDate)
+                    .date(t.get(message.date))
                     .time(t.get(message.time))
                     .senderId(t.get(message.senderId))
                     .type(t.get(message.type))
+                    .unreadCount(t.get(message.unreadCount))
                     .build();
 
             result.add(dto);
-            count++;
         }
 
-        Collections.reverse(result);
-
-        String nextCursor = tuple.size() > limit ? tuple.get(limit.intValue()).get(message.date) + tuple.get(limit.intValue()).get(message.messageId) : null;
-        return GetMessageListResponseDto.builder()
-                .messages(result)
-                .cursor(nextCursor)
-                .build();
+        return result;
     }
 }
@@ -6,17 +6,18 @@ import dutchiepay.backend.entity.User;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 public interface QUserChatRoomRepository {
     @Transactional
     void updateLastMessageLatestMessageId(long userId, Long chatRoomId);
 
     @Transactional
-    void updateLastMessageToUser(Long userId, Long chatRoomId);
+    Long updateLastMessageToUser(Long userId, Long chatRoomId);
 
     List<GetChatRoomListResponseDto> getChatRoomList(User user);
 
     List<GetChatRoomUsersResponseDto> getChatRoomUsers(Long chatRoomId);
 
-    Boolean findByUserBanned(Long userId, Long chatRoomId);
+    Map<Long, Long> findReadWatermarks(Long chatRoomId);
 }
@@ -1,7 +1,6 @@
 package dutchiepay.backend.domain.chat.repository;
 
 import com.querydsl.core.Tuple;
-import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import dutchiepay.backend.domain.ChronoUtil;
 import dutchiepay.backend.domain.chat.dto.GetChatRoomListResponseDto;
@@ -15,7 +14,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 @RequiredArgsConstructor
@@ -28,55 +29,41 @@ public class QUserChatRoomRepositoryImpl implements QUserChatRoomRepository {
     QMessage message = QMessage.message;
     QChatRoom chatRoom = QChatRoom.chatRoom;
 
+    /**
+     * 채팅방 목록을 조회한다.
+     * 인원 수, 마지막 메시지, 안 읽은 메시지 수는 메시지 저장 시 갱신되는 요약 컬럼에서 가져온다.
+     */
     @Override
     public List<GetChatRoomListResponseDto> getChatRoomList(User user) {
         List<Tuple> queryResult = jpaQueryFactory
                 .select(chatRoom.chatroomId,
                         chatRoom.chatRoomName,
                         chatRoom.chatRoomImg,
-                        JPAExpressions
-                                .select(userChatRoom.user.count())
-                                .from(userChatRoom)
-                                .where(userChatRoom.chatroom.chatroomId.eq(chatRoom.chatroomId)),
-                        JPAExpressions
-                                .select(message.count())
-                                .from(message)
-                                .where(message.chatroom.chatroomId.eq(chatRoom.chatroomId)
-                                        .and(message.messageId.gt(
-                                                JPAExpressions
-                                                        .select(userChatRoom.lastMessageId)
-                                                        .from(userChatRoom)
-                                                        .where(userChatRoom.chatroom.chatroomId.eq(chatRoom.chatroomId)
-                                                                .and(userChatRoom.user.eq(user)))
-                                        ))),
-                        message.content,
-                        message.date,
-                        message.time,
-                        message.type,
+                        chatRoom.nowPartInc,
+                        userChatRoom.unreadCount,
+                        chatRoom.lastMessageContent,
+                        chatRoom.lastMessageDate,
+                        chatRoom.lastMessageTime,
+                        chatRoom.lastMessageType,
                         chatRoom.type)
-                .from(chatRoom)
-                .join(userChatRoom).on(userChatRoom.chatroom.eq(chatRoom)
-                        .and(userChatRoom.user.eq(user)))
-                .leftJoin(message).on(message.chatroom.eq(chatRoom)
-                        .and(message.messageId.eq(
-                                JPAExpressions
-                                        .select(message.messageId.max())
-                                        .from(message)
-                                        .where(message.chatroom.eq(chatRoom))
-                        )))
+                .from(userChatRoom)
+                .join(userChatRoom.chatroom, chatRoom)
+                .where(userChatRoom.user.eq(user))
                 .fetch();
 
         List<GetChatRoomListResponseDto> result = new ArrayList<>();
 
         for (Tuple tuple : queryResult) {
+            Integer unreadCount = tuple.get(userChatRoom.unreadCount);
+
             GetChatRoomListResponseDto dto = GetChatRoomListResponseDto.builder()
                     .chatRoomId(tuple.get(chatRoom.chatroomId))
                     .chatName(tuple.get(chatRoom.chatRoomName))
                     .chatImg(tuple.get(chatRoom.chatRoomImg))
-                    .chatUser(tuple.get(3, Long.class).intValue())
-                    .unreadCount(tuple.get(4, Long.class).intValue())
-                    .lastMsg("img".equals(tuple.get(message.type)) ? "이미지를 전송했습니다." : tuple.get(message.content))
-                    .lastChatTime(ChronoUtil.formatChatTime(tuple.get(message.date), tuple.get(message.time)))
+                    .chatUser(tuple.get(chatRoom.nowPartInc))
+                    .unreadCount(unreadCount == null ? 0 : unreadCount)
+                    .lastMsg("img".equals(tuple.get(chatRoom.lastMessageType)) ? "이미지를 전송했습니다." : tuple.get(chatRoom.lastMessageContent))
+                    .lastChatTime(ChronoUtil.formatChatTime(tuple.get(chatRoom.lastMessageDate), tuple.get(chatRoom.lastMessageTime)))
                     .type(tuple.get(chatRoom.type))
                     .build();
 
@@ -114,16 +101,6 @@ public class QUserChatRoomRepositoryImpl implements QUserChatRoomRepository {
         return result;
     }
 
-    @Override
-    public Boolean findByUserBanned(Long userId, Long chatRoomId) {
-        return jpaQueryFactory
-                .select(userChatRoom.banned)
-                .from(userChatRoom)
-                .where(userChatRoom.user.userId.eq(userId)
-                        .and(userChatRoom.chatroom.chatroomId.eq(chatRoomId)))
-                .fetchOne();
-    }
-
     @Override
     public void updateLastMessageLatestMessageId(long userId, Long chatRoomId) {
         Long latestMessageId = jpaQueryFactory
@@ -143,7 +120,7 @@ public class QUserChatRoomRepositoryImpl implements QUserChatRoomRepository {
     }
 
     @Override
-    public void updateLastMessageToUser(Long userId, Long chatRoomId) {
+    public Long updateLastMessageToUser(Long userId, Long chatRoomId) {
         Long latestMessageId = jpaQueryFactory
                 .select(message.messageId)
                 .from(message)
@@ -156,9 +133,31 @@ public class QUserChatRoomRepositoryImpl implements QUserChatRoomRepository {
             jpaQueryFactory
                     .update(userChatRoom)
                     .set(userChatRoom.lastMessageId, latestMessageId)
+                    .set(userChatRoom.unreadCount, 0)
                     .where(userChatRoom.user.userId.eq(userId)
                             .and(userChatRoom.chatroom.chatroomId.eq(chatRoomId)))
                     .execute();
         }
+
+        return latestMessageId;
+    }
+
+    @Override
+    public Map<Long, Long> findReadWatermarks(Long chatRoomId) {
+        List<Tuple> tuple = jpaQueryFactory
+                .select(userChatRoom.user.userId,
+                        userChatRoom.lastMessageId)
+                .from(userChatRoom)
+                .where(userChatRoom.chatroom.chatroomId.eq(chatRoomId)
+                        .and(userChatRoom.banned.eq(false)))
+                .fetch();
+
+        Map<Long, Long> result = new HashMap<>();
+
+        for (Tuple t : tuple) {
+            result.put(t.get(userChatRoom.user.userId), t.get(userChatRoom.lastMessageId));
+        }
+
+        return result;
     }
 }
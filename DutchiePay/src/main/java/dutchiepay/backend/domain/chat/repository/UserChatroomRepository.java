@@ -7,18 +7,40 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserChatroomRepository extends JpaRepository<UserChatRoom, Long>, QUserChatRoomRepository {
 
     @Modifying
-    @Query("UPDATE UserChatRoom ucr SET ucr.lastMessageId = :messageId WHERE ucr.user.userId IN :userIds AND ucr.chatroom.chatroomId = :chatRoomId")
+    @Query("UPDATE UserChatRoom ucr SET ucr.lastMessageId = :messageId, ucr.unreadCount = 0 WHERE ucr.user.userId IN :userIds AND ucr.chatroom.chatroomId = :chatRoomId")
     void updateLastMessageToAllSubscribers(List<Long> userIds, long chatRoomId, long messageId);
 
+    @Modifying
+    @Query("UPDATE UserChatRoom ucr SET ucr.unreadCount = ucr.unreadCount + 1 WHERE ucr.chatroom.chatroomId = :chatRoomId")
+    void increaseUnreadCount(Long chatRoomId);
+
+    @Modifying
+    @Query("UPDATE UserChatRoom ucr SET ucr.unreadCount = ucr.unreadCount + 1 WHERE ucr.chatroom.chatroomId = :chatRoomId AND ucr.user.userId NOT IN :userIds")
+    void increaseUnreadCountExcept(Long chatRoomId, List<Long> userIds);
+
     @Query("SELECT ucr.lastMessageId FROM UserChatRoom ucr WHERE ucr.user.userId = :userId AND ucr.chatroom.chatroomId = :chatRoomId")
     Long findLastMessageId(long userId, Long chatRoomId);
 
+    @Query("SELECT ucr.user.userId FROM UserChatRoom ucr WHERE ucr.chatroom.chatroomId = :chatRoomId AND ucr.banned = false")
+    List<Long> findMemberIds(Long chatRoomId);
+
+    @Query("SELECT ucr.user.userId FROM UserChatRoom ucr WHERE ucr.chatroom.chatroomId = :chatRoomId AND ucr.banned = true")
+    List<Long> findBannedUserIds(Long chatRoomId);
+
+    @Query("SELECT ucr FROM UserChatRoom ucr JOIN FETCH ucr.user WHERE ucr.chatroom.chatroomId = :chatRoomId AND ucr.user.userId IN :userIds")
+    List<UserChatRoom> findAllByChatRoomIdAndUserIds(Long chatRoomId, Collection<Long> userIds);
+
+    @Modifying
+    @Query("UPDATE UserChatRoom ucr SET ucr.banned = true WHERE ucr.chatroom.chatroomId = :chatRoomId AND ucr.user.userId IN :userIds")
+    void banUsers(Long chatRoomId, Collection<Long> userIds);
+
     List<UserChatRoom> findAllByUser(User user);
 
     @Query("SELECT ucr FROM UserChatRoom ucr WHERE ucr.user.userId = :userId")
@@ -0,0 +1,24 @@
+package dutchiepay.backend.domain.chat.service;
+
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 전체 채팅 기록을 보관하는 저장소 (DB, 메모리 맵 로그 등)
+ * ChatHotStore와 마찬가지로 @Order 순서대로 조회되며, 앞 저장소에서 채우지 못한 메시지는 다음 저장소에서 이어서 가져온다.
+ */
+public interface ChatColdStore {
+
+    /**
+     * 메시지를 기록한다.
+     * @param messages chatRoomId -> 메시지 목록
+     */
+    void saveMessages(Map<Long, List<MessageResponse>> messages);
+
+    /**
+     * maxMessageId 이하의 메시지를 최신순으로 최대 limit개 조회한다.
+     */
+    List<MessageResponse> findBefore(Long chatRoomId, long maxMessageId, int limit);
+}
@@ -0,0 +1,157 @@
+package dutchiepay.backend.domain.chat.service;
+
+import dutchiepay.backend.domain.chat.dto.GetMessageListResponseDto;
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
+import dutchiepay.backend.domain.chat.exception.ChatErrorCode;
+import dutchiepay.backend.domain.chat.exception.ChatException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 최근 메시지 저장소(ChatHotTier)와 전체 기록 저장소(ChatColdStore)를 하나의 커서로 이어서 조회하는 채팅 기록 리더
+ * 커서는 다음 페이지에서 가장 먼저 반환할 메시지 Id를 담은 불투명 문자열이다.
+ * 최근 메시지 저장소에서 먼저 조회하고, 부족한 만큼만 전체 기록 저장소에서 이어서 가져온다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatHistoryReader {
+    private static final String CURSOR_VERSION = "v1:";
+    private static final int LEGACY_DATE_LENGTH = 8;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final List<ChatColdStore> chatColdStores;
+    private final ChatHotTier chatHotTier;
+
+    /**
+     * 커서 이전의 메시지를 limit개 조회한다.
+     * @param chatRoomId 채팅방 Id
+     * @param cursor 이전 응답의 커서, 최신 메시지부터 조회할 경우 null
+     * @param limit 조회할 메시지 수
+     * @return 오래된 순으로 정렬된 메시지 목록과 다음 커서 (더 이상 메시지가 없다면 null)
+     * @throws ChatException 커서 형식이 올바르지 않을 경우
+     */
+    public GetMessageListResponseDto read(Long chatRoomId, String cursor, Long limit) {
+        long maxMessageId = decodeCursor(chatRoomId, cursor);
+        int fetchSize = limit.intValue() + 1;
+
+        List<MessageResponse> messages = chatHotTier.findBefore(chatRoomId, maxMessageId, fetchSize);
+
+        // 최근 메시지 저장소에서 채우지 못한 만큼 전체 기록 저장소에서 이어서 가져온다.
+        for (ChatColdStore store : chatColdStores) {
+            if (messages.size() >= fetchSize) {
+                break;
+            }
+
+            long coldMaxMessageId = messages.isEmpty()
+                    ? maxMessageId
+                    : messages.get(messages.size() - 1).getMessageId() - 1;
+
+            messages.addAll(store.findBefore(chatRoomId, coldMaxMessageId, fetchSize - messages.size()));
+        }
+
+        String nextCursor = null;
+        if (messages.size() > limit) {
+            nextCursor = encodeCursor(messages.get(limit.intValue()).getMessageId());
+            messages = messages.subList(0, limit.intValue());
+        }
+
+        List<MessageResponse> result = new ArrayList<>(messages.size());
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            MessageResponse message = messages.get(i);
+            message.setDate(formatDate(message.getDate()));
+            result.add(message);
+        }
+
+        return GetMessageListResponseDto.builder()
+                .messages(result)
+                .cursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * 커서를 조회 상한 메시지 Id로 변환한다.
+     * 이전 형식(yyyyMMdd + messageId)의 커서도 처리한다.
+     */
+    private long decodeCursor(Long chatRoomId, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+
+        try {
+            if (cursor.chars().allMatch(Character::isDigit) && cursor.length() > LEGACY_DATE_LENGTH) {
+                return decodeLegacyCursor(chatRoomId, cursor);
+            }
+
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+            if (!decoded.startsWith(CURSOR_VERSION)) {
+                throw new ChatException(ChatErrorCode.INVALID_CURSOR);
+            }
+
+            return Long.parseLong(decoded.substring(CURSOR_VERSION.length()));
+        } catch (IllegalArgumentException e) {
+            throw new ChatException(ChatErrorCode.INVALID_CURSOR);
+        }
+    }
+
+    /**
+     * 이전 형식 커서의 messageId가 0이라면 해당 날짜까지의 메시지를 의미하므로
+     * 다음 날짜 키의 첫 메시지 직전 Id를 상한으로 사용한다.
+     */
+    private long decodeLegacyCursor(Long chatRoomId, String cursor) {
+        long messageId = Long.parseLong(cursor.substring(LEGACY_DATE_LENGTH));
+
+        if (messageId != 0) {
+            return messageId;
+        }
+
+        long date = Long.parseLong(cursor.substring(0, LEGACY_DATE_LENGTH));
+        Set<String> nextDays = stringRedisTemplate.opsForZSet()
+                .rangeByScore(RedisMessageService.daysKey(chatRoomId), date + 1, Double.MAX_VALUE, 0, 1);
+
+        if (nextDays == null || nextDays.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+
+        Set<ZSetOperations.TypedTuple<Object>> first = redisTemplate.opsForZSet()
+                .rangeWithScores(RedisMessageService.messagesKey(chatRoomId, nextDays.iterator().next()), 0, 0);
+
+        if (first == null || first.isEmpty() || first.iterator().next().getScore() == null) {
+            return Long.MAX_VALUE;
+        }
+
+        return first.iterator().next().getScore().longValue() - 1;
+    }
+
+    private static String encodeCursor(Long messageId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_VERSION + messageId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 저장된 날짜(yyyyMMdd 또는 yyyy년 MM월 dd일)를 yyyy-MM-dd로 변환한다.
+     */
+    private static String formatDate(String date) {
+        if (date == null) {
+            return null;
+        }
+
+        String digits = date.replaceAll("[^0-9]", "");
+
+        if (digits.length() != LEGACY_DATE_LENGTH) {
+            return date;
+        }
+
+        return digits.substring(0, 4) + "-" + digits.substring(4, 6) + "-" + digits.substring(6, 8);
+    }
+}
@@ -0,0 +1,26 @@
+package dutchiepay.backend.domain.chat.service;
+
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 최근 채팅 메시지를 보관하는 저장소 (Redis, 프로세스 내 off-heap 등)
+ * 구현체는 @Order 순서대로 조회되며, 앞 저장소에서 채우지 못한 메시지는 다음 저장소에서 이어서 가져온다.
+ * 따라서 각 구현체는 보관 중인 가장 오래된 메시지 이후의 메시지를 빠짐없이 가지고 있어야 한다.
+ */
+public interface ChatHotStore {
+
+    /**
+     * 메시지를 저장한다.
+     * @param messages chatRoomId -> 메시지 목록
+     */
+    void saveMessages(Map<Long, List<MessageResponse>> messages);
+
+    /**
+     * maxMessageId 이하의 메시지를 최신순으로 최대 limit개 조회한다.
+     * 보관 중인 메시지가 부족하면 limit보다 적게 반환할 수 있다.
+     */
+    List<MessageResponse> findBefore(Long chatRoomId, long maxMessageId, int limit);
+}
@@ -0,0 +1,81 @@
+package dutchiepay.backend.domain.chat.service;
+
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
+import dutchiepay.backend.entity.Message;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 설정된 ChatHotStore들을 하나의 저장소처럼 사용하도록 묶는다.
+ * 저장은 모든 저장소에 하고, 조회는 앞 저장소부터 부족한 만큼 다음 저장소로 넘어간다.
+ * 메시지 저장 경로가 모두 거치는 곳이므로 ChatColdStore 기록도 함께 한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatHotTier {
+    private final List<ChatHotStore> chatHotStores;
+    private final List<ChatColdStore> chatColdStores;
+    private final ChatMessageSyncService chatMessageSyncService;
+
+    public void saveMessage(String chatRoomId, Message message) {
+        saveMessages(Map.of(Long.parseLong(chatRoomId), List.of(MessageResponse.of(message))));
+    }
+
+    /**
+     * 전체 기록 저장소에 먼저 기록한다. 최근 메시지 저장소(Redis) 저장이 실패해 재시도되더라도
+     * 전체 기록에는 빠짐이 없도록 하기 위함이다. (중복 기록은 조회 시 제거된다.)
+     *
+     * 호출하는 쪽은 DB에 먼저 저장한다. 같은 트랜잭션이 커밋되지 않으면 DB에는 없고 저장소에만 남으므로
+     * 그 메시지만 DB 동기화 대상으로 등록한다. (트랜잭션 밖에서 호출하면 이미 커밋된 것으로 본다.)
+     */
+    public void saveMessages(Map<Long, List<MessageResponse>> messages) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        chatMessageSyncService.markUnsynced(messages);
+                    }
+                }
+            });
+        }
+
+        for (ChatColdStore store : chatColdStores) {
+            store.saveMessages(messages);
+        }
+        for (ChatHotStore store : chatHotStores) {
+            store.saveMessages(messages);
+        }
+    }
+
+    /**
+     * maxMessageId 이하의 메시지를 최신순으로 최대 limit개 조회한다.
+     */
+    public List<MessageResponse> findBefore(Long chatRoomId, long maxMessageId, int limit) {
+        List<MessageResponse> result = new ArrayList<>(limit);
+        long upper = maxMessageId;
+
+        for (ChatHotStore store : chatHotStores) {
+            int remaining = limit - result.size();
+
+            if (remaining <= 0) {
+                break;
+            }
+
+            List<MessageResponse> messages = store.findBefore(chatRoomId, upper, remaining);
+
+            if (!messages.isEmpty()) {
+                result.addAll(messages);
+                upper = messages.get(messages.size() - 1).getMessageId() - 1;
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,157 @@
+package dutchiepay.backend.domain.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * 클라이언트 메시지 Id(clientMessageId)로 채팅방별 중복 전송을 걸러낸다.
+ * 다른 유저가 같은 Id를 보내도 충돌하지 않도록 키에 보낸 유저(STOMP Principal)를 포함한다. (chat:{chatRoomId}:dedup:{principal}:{clientMessageId})
+ * 최근 window 동안 처리한 Id를 로컬 캐시(크기, 시간 제한)에 두고, 로컬에 없으면 Redis(SET NX)로 다른 노드에서 처리했는지 확인한다.
+ * 재연결 후 다른 노드로 재전송된 메시지도 Redis를 통해 걸러지며, Redis 장애 시에는 로컬 캐시만으로 판별한다.
+ * 처리 중(IN_PROGRESS) 표시는 짧은 TTL로 두고 complete()에서 window로 늘리므로,
+ * 처리 도중 노드가 종료되어도 재전송이 window 동안 막히지 않는다.
+ */
+@Slf4j
+@Service
+public class ChatMessageDeduplicator {
+    // 원본 메시지를 처리 중이라 아직 메시지 Id가 없는 상태
+    public static final long IN_PROGRESS = 0L;
+    private static final String KEY_PREFIX = "chat:";
+    private static final String DEDUP_INFIX = ":dedup:";
+    private static final int MAX_CLIENT_MESSAGE_ID_LENGTH = 64;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration window;
+    private final Duration inProgressTtl;
+    private final Cache<String, Long> recent;
+
+    public ChatMessageDeduplicator(StringRedisTemplate stringRedisTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${chat.dedup.window-seconds:300}") long windowSeconds,
+                                   @Value("${chat.dedup.in-progress-seconds:10}") long inProgressSeconds,
+                                   @Value("${chat.dedup.max-size:100000}") long maxSize) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.window = Duration.ofSeconds(windowSeconds);
+        this.inProgressTtl = Duration.ofSeconds(inProgressSeconds);
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Long>() {
+                    @Override
+                    public long expireAfterCreate(String key, Long messageId, long currentTime) {
+                        return ttl(messageId).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Long messageId, long currentTime, long currentDuration) {
+                        return ttl(messageId).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Long messageId, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, recent, "chat.dedup");
+    }
+
+    /**
+     * 중복 판별 대상인지 확인한다. 보낸 유저를 알 수 없거나, Id가 없거나 너무 긴 메시지는 중복 검사 없이 처리한다.
+     */
+    public boolean supports(String principal, String clientMessageId) {
+        return principal != null
+                && clientMessageId != null && !clientMessageId.isBlank()
+                && clientMessageId.length() <= MAX_CLIENT_MESSAGE_ID_LENGTH;
+    }
+
+    /**
+     * clientMessageId를 선점한다.
+     * 트랜잭션 안이라면 롤백 시 선점을 해제해 클라이언트의 재전송이 다시 처리되도록 한다.
+     * @return 처음 전송된 메시지라면 null, 중복이라면 원본 메시지 Id (처리 중이라면 IN_PROGRESS)
+     */
+    public Long claim(Long chatRoomId, String principal, String clientMessageId) {
+        String key = key(chatRoomId, principal, clientMessageId);
+
+        Long existing = recent.asMap().putIfAbsent(key, IN_PROGRESS);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            Boolean claimed = stringRedisTemplate.opsForValue().setIfAbsent(key, String.valueOf(IN_PROGRESS), inProgressTtl);
+
+            if (Boolean.FALSE.equals(claimed)) {
+                String value = stringRedisTemplate.opsForValue().get(key);
+                Long messageId = value != null ? Long.valueOf(value) : IN_PROGRESS;
+
+                recent.put(key, messageId);
+                return messageId;
+            }
+        } catch (RuntimeException e) {
+            log.warn("중복 전송 확인 Redis 조회 실패, 로컬 캐시로만 판별합니다. (chatRoomId: {}): {}", chatRoomId, e.getMessage());
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(chatRoomId, principal, clientMessageId);
+                    }
+                }
+            });
+        }
+
+        return null;
+    }
+
+    /**
+     * 선점한 clientMessageId에 발급된 메시지 Id를 기록해, 이후 중복 전송에 원본 메시지 Id로 응답한다.
+     * 기록은 window 동안 유지된다.
+     */
+    public void complete(Long chatRoomId, String principal, String clientMessageId, Long messageId) {
+        String key = key(chatRoomId, principal, clientMessageId);
+        recent.put(key, messageId);
+
+        try {
+            stringRedisTemplate.opsForValue().set(key, String.valueOf(messageId), window);
+        } catch (RuntimeException e) {
+            log.warn("중복 전송 기록 Redis 저장 실패 (chatRoomId: {}): {}", chatRoomId, e.getMessage());
+        }
+    }
+
+    /**
+     * 처리에 실패한 메시지의 선점을 해제한다.
+     */
+    public void release(Long chatRoomId, String principal, String clientMessageId) {
+        String key = key(chatRoomId, principal, clientMessageId);
+        recent.invalidate(key);
+
+        try {
+            stringRedisTemplate.delete(key);
+        } catch (RuntimeException e) {
+            log.warn("중복 전송 선점 해제 실패 (chatRoomId: {}): {}", chatRoomId, e.getMessage());
+        }
+    }
+
+    private Duration ttl(Long messageId) {
+        return messageId == IN_PROGRESS ? inProgressTtl : window;
+    }
+
+    private static String key(Long chatRoomId, String principal, String clientMessageId) {
+        return KEY_PREFIX + chatRoomId + DEDUP_INFIX + principal + ":" + clientMessageId;
+    }
+}
@@ -0,0 +1,213 @@
+package dutchiepay.backend.domain.chat.service;
+
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
+import dutchiepay.backend.domain.chat.dto.SearchMessageListResponseDto;
+import dutchiepay.backend.domain.chat.dto.SearchMessageListResponseDto.HighlightDto;
+import dutchiepay.backend.domain.chat.dto.SearchMessageListResponseDto.SearchedMessageDto;
+import dutchiepay.backend.domain.chat.exception.ChatErrorCode;
+import dutchiepay.backend.domain.chat.exception.ChatException;
+import dutchiepay.backend.domain.chat.repository.MessageRepository;
+import dutchiepay.backend.entity.Message;
+import dutchiepay.backend.global.id.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 채팅방 메시지 검색
+ * 역색인(ChatSearchIndex)으로 후보를 좁힌 뒤 DB의 원문에서 검색어 일치 여부와 하이라이트 위치를 확인한다.
+ * bigram은 순서를 보지 않으므로 원문 확인을 통과한 메시지만 결과에 포함한다.
+ * DB에서 삭제된(로그로 옮겨진) 메시지는 전체 기록 저장소(ChatColdStore)에서 원문을 찾는다.
+ */
+@Service
+public class ChatMessageSearchService {
+    private static final int MIN_QUERY_LENGTH = 2;
+
+    private final ChatSearchIndex chatSearchIndex;
+    private final MessageRepository messageRepository;
+    private final List<ChatColdStore> chatColdStores;
+    private final int catchUpBatchSize;
+    private final long catchUpLagMillis;
+
+    public ChatMessageSearchService(ChatSearchIndex chatSearchIndex,
+                                    MessageRepository messageRepository,
+                                    List<ChatColdStore> chatColdStores,
+                                    @Value("${chat.search.catch-up-batch-size:1000}") int catchUpBatchSize,
+                                    @Value("${chat.search.catch-up-lag-ms:10000}") long catchUpLagMillis) {
+        this.chatSearchIndex = chatSearchIndex;
+        this.messageRepository = messageRepository;
+        this.chatColdStores = chatColdStores;
+        this.catchUpBatchSize = catchUpBatchSize;
+        this.catchUpLagMillis = catchUpLagMillis;
+    }
+
+    /**
+     * 전송된 메시지를 색인에 추가한다.
+     */
+    public void index(Long chatRoomId, Long messageId, String type, String content) {
+        if (ChatSearchIndex.isSearchable(type)) {
+            chatSearchIndex.add(chatRoomId, messageId, content);
+        }
+    }
+
+    /**
+     * 채팅방 메시지를 최신순으로 검색한다.
+     * @param chatRoomId 채팅방 Id
+     * @param query 검색어
+     * @param cursor 이전 페이지의 마지막 messageId (첫 페이지는 null)
+     * @param limit 페이지 크기
+     * @throws ChatException 검색어가 너무 짧을 경우
+     * @throws ChatException 커서가 유효하지 않을 경우
+     */
+    public SearchMessageListResponseDto search(Long chatRoomId, String query, String cursor, int limit) {
+        String normalizedQuery = ChatMessageTokenizer.normalizeQuery(query);
+        Set<String> terms = ChatMessageTokenizer.tokenize(normalizedQuery);
+
+        if (normalizedQuery.replace(" ", "").length() < MIN_QUERY_LENGTH || terms.isEmpty()) {
+            throw new ChatException(ChatErrorCode.INVALID_SEARCH_QUERY);
+        }
+
+        long before = parseCursor(cursor);
+
+        catchUp(chatRoomId);
+        long[] candidates = chatSearchIndex.search(chatRoomId, terms);
+
+        // 커서보다 작은 후보의 끝 위치부터 역순으로 확인한다.
+        int end = candidates.length;
+        while (end > 0 && candidates[end - 1] >= before) {
+            end--;
+        }
+
+        List<SearchedMessageDto> messages = new ArrayList<>();
+        int batchSize = Math.max(limit * 2, 20);
+
+        while (end > 0 && messages.size() < limit) {
+            int start = Math.max(0, end - batchSize);
+            List<Long> ids = new ArrayList<>(end - start);
+            for (int i = end - 1; i >= start; i--) {
+                ids.add(candidates[i]);
+            }
+
+            Map<Long, MessageResponse> found = new HashMap<>();
+            for (Message message : messageRepository.findAllByChatRoomIdAndMessageIds(chatRoomId, ids)) {
+                found.put(message.getMessageId(), MessageResponse.of(message));
+            }
+
+            for (Long id : ids) {
+                end--;
+                MessageResponse message = found.containsKey(id) ? found.get(id) : findInColdStores(chatRoomId, id);
+                if (message == null) {
+                    continue;
+                }
+
+                List<HighlightDto> highlights = highlight(message.getContent(), normalizedQuery);
+                if (highlights.isEmpty()) {
+                    continue;
+                }
+
+                messages.add(toDto(message, highlights));
+                if (messages.size() == limit) {
+                    break;
+                }
+            }
+        }
+
+        String nextCursor = end > 0 && !messages.isEmpty()
+                ? String.valueOf(messages.get(messages.size() - 1).getMessageId())
+                : null;
+
+        return SearchMessageListResponseDto.builder()
+                .messages(messages)
+                .cursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * DB에 저장됐지만 색인되지 않은 메시지를 색인한다.
+     * 다른 노드에서 보낸 메시지나 write-behind로 늦게 저장된 메시지가 이전 Id로 들어올 수 있어,
+     * 마지막 색인 위치보다 catch-up-lag만큼 앞에서부터 다시 읽는다. (이미 색인된 메시지는 무시된다.)
+     */
+    private void catchUp(Long chatRoomId) {
+        long from = SnowflakeIdGenerator.rewind(chatSearchIndex.getIndexedUpTo(chatRoomId), catchUpLagMillis);
+
+        while (true) {
+            List<Object[]> rows = messageRepository.findContentsAfter(chatRoomId, from, ChatSearchIndex.EXCLUDED_TYPES,
+                    PageRequest.of(0, catchUpBatchSize));
+
+            for (Object[] row : rows) {
+                chatSearchIndex.add(chatRoomId, (Long) row[0], (String) row[1]);
+            }
+
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            from = (Long) rows.get(rows.size() - 1)[0];
+            chatSearchIndex.markIndexedUpTo(chatRoomId, from);
+
+            if (rows.size() < catchUpBatchSize) {
+                return;
+            }
+        }
+    }
+
+    private static List<HighlightDto> highlight(String content, String normalizedQuery) {
+        List<HighlightDto> highlights = new ArrayList<>();
+        // 연속 공백을 합치면 위치가 원문과 달라지므로 원문 위치로 되돌린다.
+        int[] offsets = new int[content.length()];
+        String normalized = ChatMessageTokenizer.normalize(content, offsets);
+        int index = normalized.indexOf(normalizedQuery);
+
+        while (index >= 0) {
+            highlights.add(HighlightDto.builder()
+                    .start(offsets[index])
+                    .end(offsets[index + normalizedQuery.length() - 1] + 1)
+                    .build());
+            index = normalized.indexOf(normalizedQuery, index + normalizedQuery.length());
+        }
+
+        return highlights;
+    }
+
+    private MessageResponse findInColdStores(Long chatRoomId, Long messageId) {
+        for (ChatColdStore store : chatColdStores) {
+            List<MessageResponse> messages = store.findBefore(chatRoomId, messageId, 1);
+
+            if (!messages.isEmpty() && messageId.equals(messages.get(0).getMessageId())) {
+                return messages.get(0);
+            }
+        }
+
+        return null;
+    }
+
+    private static SearchedMessageDto toDto(MessageResponse message, List<HighlightDto> highlights) {
+        return SearchedMessageDto.builder()
+                .messageId(message.getMessageId())
+                .senderId(message.getSenderId())
+                .type(message.getType())
+                .content(message.getContent())
+                .date(message.getDate())
+                .time(message.getTime())
+                .highlights(highlights)
+                .build();
+    }
+
+    private static long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new ChatException(ChatErrorCode.INVALID_CURSOR);
+        }
+    }
+}
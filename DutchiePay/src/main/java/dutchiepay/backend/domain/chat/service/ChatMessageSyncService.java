@@ -0,0 +1,278 @@
+package dutchiepay.backend.domain.chat.service;
+
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
+import dutchiepay.backend.domain.chat.repository.MessageJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static dutchiepay.backend.domain.chat.service.RedisMessageService.ROOMS_KEY;
+import static dutchiepay.backend.domain.chat.service.RedisMessageService.SYNC_PENDING_KEY;
+import static dutchiepay.backend.domain.chat.service.RedisMessageService.daysKey;
+import static dutchiepay.backend.domain.chat.service.RedisMessageService.messagesKey;
+import static dutchiepay.backend.domain.chat.service.RedisMessageService.unsyncedKey;
+
+/**
+ * Redis에 캐시됐지만 DB에 저장되지 않은 채팅 메시지를 DB에 동기화하고, 보관 기간이 지난 메시지를 정리한다.
+ * 모든 전송 경로가 DB에 먼저 저장하므로, DB 저장이 커밋되지 않은 메시지만 markUnsynced로 등록돼 동기화된다.
+ * 저장 시 갱신되는 색인(chat:rooms, chat:{chatRoomId}:days)과 동기화 대상 목록(chat:sync:pending, chat:{chatRoomId}:unsynced)만 사용하며
+ * KEYS/SCAN 패턴 조회를 하지 않는다.
+ *
+ * 동기화 대상은 메시지 Id 단위로 기록한다. 채팅방별 마지막 동기화 위치(체크포인트)를 쓰면 Id를 먼저 발급받고 늦게 커밋한 메시지가
+ * 이미 지나간 위치보다 작은 Id를 가져 영영 건너뛰어지기 때문이다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatMessageSyncService {
+    private static final String LEGACY_MESSAGES_PATTERN = "chat:*:messages:*";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MessageJdbcRepository messageJdbcRepository;
+
+    @Value("${chat.sync.rooms-per-run:100}")
+    private int roomsPerRun;
+
+    @Value("${chat.sync.batch-size:500}")
+    private int batchSize;
+
+    @Value("${chat.sync.retention-days:6}")
+    private int retentionDays;
+
+    /**
+     * DB에 저장되지 않은 메시지를 동기화 대상으로 등록한다.
+     * @param messages chatRoomId -> 메시지 목록
+     */
+    public void markUnsynced(Map<Long, List<MessageResponse>> messages) {
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                messages.forEach((chatRoomId, list) -> {
+                    if (list.isEmpty()) {
+                        return;
+                    }
+
+                    byte[][] members = new byte[list.size()][];
+                    for (int i = 0; i < list.size(); i++) {
+                        MessageResponse mr = list.get(i);
+                        members[i] = toBytes(mr.getDate().replaceAll("[^0-9]", "") + ":" + mr.getMessageId());
+                    }
+
+                    connection.setCommands().sAdd(toBytes(unsyncedKey(chatRoomId)), members);
+                    connection.setCommands().sAdd(toBytes(SYNC_PENDING_KEY), toBytes(String.valueOf(chatRoomId)));
+                });
+                return null;
+            });
+        } catch (RuntimeException e) {
+            for (Map.Entry<Long, List<MessageResponse>> entry : messages.entrySet()) {
+                for (MessageResponse mr : entry.getValue()) {
+                    log.error("DB 동기화 대상 등록 실패 (chatRoomId: {}, messageId: {})", entry.getKey(), mr.getMessageId());
+                }
+            }
+        }
+    }
+
+    /**
+     * 동기화 대기 중인 채팅방을 최대 roomsPerRun개 꺼내 DB에 저장되지 않은 메시지를 저장한다.
+     * SPOP으로 꺼내므로 여러 노드가 동시에 실행해도 같은 채팅방을 중복 처리하지 않는다.
+     */
+    public void syncPendingRooms() {
+        List<String> chatRoomIds = stringRedisTemplate.opsForSet().pop(SYNC_PENDING_KEY, roomsPerRun);
+
+        if (chatRoomIds == null || chatRoomIds.isEmpty()) {
+            return;
+        }
+
+        int synced = 0;
+
+        for (String chatRoomId : chatRoomIds) {
+            try {
+                int count = syncRoom(Long.valueOf(chatRoomId));
+                synced += count;
+
+                // 배치 크기만큼 저장했다면 남은 메시지가 있을 수 있으므로 다음 실행에서 이어서 처리한다.
+                if (count >= batchSize) {
+                    stringRedisTemplate.opsForSet().add(SYNC_PENDING_KEY, chatRoomId);
+                }
+            } catch (RuntimeException e) {
+                log.error("채팅 메시지 동기화 실패 (chatRoomId: {})", chatRoomId, e);
+                stringRedisTemplate.opsForSet().add(SYNC_PENDING_KEY, chatRoomId);
+            }
+        }
+
+        log.debug("채팅 메시지 동기화 완료 (채팅방: {}, 메시지: {})", chatRoomIds.size(), synced);
+    }
+
+    /**
+     * 보관 기간이 지난 날짜의 메시지 키를 삭제한다.
+     * 삭제 전 남은 메시지를 먼저 동기화한다.
+     */
+    public void cleanupOldMessages() {
+        long cutoff = Long.parseLong(LocalDate.now().minusDays(retentionDays).format(DateTimeFormatter.BASIC_ISO_DATE));
+        ScanOptions options = ScanOptions.scanOptions().count(500).build();
+        int cleaned = 0;
+
+        try (Cursor<String> cursor = stringRedisTemplate.opsForSet().scan(ROOMS_KEY, options)) {
+            while (cursor.hasNext()) {
+                cleaned += cleanupRoom(Long.valueOf(cursor.next()), cutoff);
+            }
+        }
+
+        log.info("Redis 메시지 정리 완료 (삭제한 키: {})", cleaned);
+    }
+
+    /**
+     * 색인이 도입되기 전에 저장된 메시지 키를 한 번만 색인에 등록한다.
+     * 색인이 이미 있으면 아무것도 하지 않으며, KEYS 대신 SCAN을 사용한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrapIndex() {
+        ScanOptions options = ScanOptions.scanOptions().match(LEGACY_MESSAGES_PATTERN).count(1000).build();
+        int indexed = 0;
+
+        try {
+            if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(ROOMS_KEY))) {
+                return;
+            }
+
+            try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    String[] parts = cursor.next().split(":");
+                    String chatRoomId = parts[1];
+                    String date = parts[3];
+
+                    stringRedisTemplate.opsForZSet().add(daysKey(Long.valueOf(chatRoomId)), date, Long.parseLong(date));
+                    stringRedisTemplate.opsForSet().add(ROOMS_KEY, chatRoomId);
+                    markLegacyUnsynced(Long.valueOf(chatRoomId), date);
+                    indexed++;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("채팅 메시지 색인 생성 실패", e);
+            return;
+        }
+
+        if (indexed > 0) {
+            log.info("채팅 메시지 색인 생성 완료 (키: {})", indexed);
+        }
+    }
+
+    /**
+     * 색인 도입 전의 메시지는 DB 저장 여부를 알 수 없으므로 모두 동기화 대상으로 등록한다.
+     */
+    private void markLegacyUnsynced(Long chatRoomId, String date) {
+        Set<Tuple> tuples = stringRedisTemplate.execute((RedisCallback<Set<Tuple>>) connection ->
+                connection.zSetCommands().zRangeWithScores(toBytes(messagesKey(chatRoomId, date)), 0, -1));
+
+        if (tuples == null || tuples.isEmpty()) {
+            return;
+        }
+
+        String[] members = tuples.stream()
+                .map(tuple -> date + ":" + tuple.getScore().longValue())
+                .toArray(String[]::new);
+        stringRedisTemplate.opsForSet().add(unsyncedKey(chatRoomId), members);
+        stringRedisTemplate.opsForSet().add(SYNC_PENDING_KEY, String.valueOf(chatRoomId));
+    }
+
+    /**
+     * 채팅방의 동기화 대상 메시지를 최대 batchSize개 꺼내 DB에 저장한다.
+     * 저장에 실패하면 꺼낸 대상을 다시 등록한다.
+     * @return 꺼낸 동기화 대상 수
+     */
+    @SuppressWarnings("unchecked")
+    private int syncRoom(Long chatRoomId) {
+        String unsyncedKey = unsyncedKey(chatRoomId);
+        List<String> members = stringRedisTemplate.opsForSet().pop(unsyncedKey, batchSize);
+
+        if (members == null || members.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String member : members) {
+                    int separator = member.indexOf(':');
+                    long messageId = Long.parseLong(member.substring(separator + 1));
+                    connection.zSetCommands().zRangeByScore(toBytes(messagesKey(chatRoomId, member.substring(0, separator))),
+                            messageId, messageId);
+                }
+                return null;
+            });
+
+            List<MessageResponse> messages = new ArrayList<>(members.size());
+            for (Object result : results) {
+                if (result instanceof Set<?> set) {
+                    for (Object obj : set) {
+                        messages.add((MessageResponse) obj);
+                    }
+                }
+            }
+
+            // 보관 기간이 지나 Redis에서 지워진 메시지는 더 이상 저장할 수 없다.
+            if (messages.size() < members.size()) {
+                log.warn("동기화 대상 메시지 {}건이 Redis에 없음 (chatRoomId: {})", members.size() - messages.size(), chatRoomId);
+            }
+
+            if (!messages.isEmpty()) {
+                messageJdbcRepository.syncMessage(messages, chatRoomId);
+            }
+        } catch (RuntimeException e) {
+            stringRedisTemplate.opsForSet().add(unsyncedKey, members.toArray(String[]::new));
+            throw e;
+        }
+
+        return members.size();
+    }
+
+    private int cleanupRoom(Long chatRoomId, long cutoff) {
+        String daysKey = daysKey(chatRoomId);
+        Set<String> oldDays = stringRedisTemplate.opsForZSet().rangeByScore(daysKey, 0, cutoff - 1);
+
+        if (oldDays == null || oldDays.isEmpty()) {
+            return 0;
+        }
+
+        // 삭제 전에 남은 메시지를 모두 동기화한다.
+        int synced;
+        do {
+            synced = syncRoom(chatRoomId);
+        } while (synced >= batchSize);
+
+        List<String> keys = new ArrayList<>();
+        for (String day : oldDays) {
+            keys.add(messagesKey(chatRoomId, day));
+        }
+
+        redisTemplate.delete(keys);
+        stringRedisTemplate.opsForZSet().remove(daysKey, oldDays.toArray());
+
+        Long remain = stringRedisTemplate.opsForZSet().zCard(daysKey);
+        if (remain == null || remain == 0) {
+            stringRedisTemplate.opsForSet().remove(ROOMS_KEY, String.valueOf(chatRoomId));
+        }
+
+        return keys.size();
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
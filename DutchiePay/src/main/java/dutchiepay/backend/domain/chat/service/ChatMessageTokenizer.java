@@ -0,0 +1,102 @@
+package dutchiepay.backend.domain.chat.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 채팅 메시지 검색용 토크나이저
+ * 글자/숫자가 아닌 문자로 단어를 나누고, 단어마다 2글자 n-gram(bigram)을 만든다.
+ * 한글은 형태소 분석 없이도 음절 bigram으로 부분 일치 검색이 가능하며, 1글자 단어는 색인하지 않는다.
+ */
+public final class ChatMessageTokenizer {
+    private static final int GRAM = 2;
+
+    private ChatMessageTokenizer() {
+    }
+
+    /**
+     * 색인/검색에 사용할 bigram 목록 (중복 제거)
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+
+        if (text == null) {
+            return terms;
+        }
+
+        for (String word : words(text)) {
+            int[] codePoints = word.codePoints().toArray();
+
+            for (int i = 0; i + GRAM <= codePoints.length; i++) {
+                terms.add(new String(codePoints, i, GRAM));
+            }
+        }
+
+        return terms;
+    }
+
+    /**
+     * 비교에 사용할 형태로 바꾼다. (소문자, 연속 공백은 하나로)
+     */
+    public static String normalize(String text) {
+        return normalize(text, null);
+    }
+
+    /**
+     * 비교에 사용할 형태로 바꾸고, 바뀐 문자열의 각 문자가 원문의 몇 번째 문자였는지 offsets에 기록한다.
+     * 하이라이트 위치를 원문 기준으로 되돌릴 때 사용한다. (offsets는 원문 길이 이상이어야 한다.)
+     */
+    public static String normalize(String text, int[] offsets) {
+        StringBuilder sb = new StringBuilder(text.length());
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                if (!sb.isEmpty() && sb.charAt(sb.length() - 1) == ' ') {
+                    continue;
+                }
+                c = ' ';
+            } else {
+                c = Character.toLowerCase(c);
+            }
+
+            if (offsets != null) {
+                offsets[sb.length()] = i;
+            }
+            sb.append(c);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * 검색어를 정규화하고 앞뒤 공백을 정리한다.
+     */
+    public static String normalizeQuery(String query) {
+        return normalize(query.trim());
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+
+        text.toLowerCase(Locale.ROOT).codePoints().forEach(codePoint -> {
+            if (Character.isLetterOrDigit(codePoint)) {
+                word.appendCodePoint(codePoint);
+            } else if (!word.isEmpty()) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        });
+
+        if (!word.isEmpty()) {
+            words.add(word.toString());
+        }
+
+        return words;
+    }
+}
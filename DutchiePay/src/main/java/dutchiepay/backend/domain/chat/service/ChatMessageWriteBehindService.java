@@ -0,0 +1,352 @@
+package dutchiepay.backend.domain.chat.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
+import dutchiepay.backend.domain.chat.dto.PendingChatMessage;
+import dutchiepay.backend.domain.chat.exception.ChatErrorCode;
+import dutchiepay.backend.domain.chat.exception.ChatException;
+import dutchiepay.backend.domain.chat.repository.MessageJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 채팅 메시지 write-behind 파이프라인
+ * 메시지는 Id를 발급받아 즉시 전파되고, DB/Redis 저장은 bounded 큐에 모아 배치(group commit)로 처리한다.
+ * 큐가 가득 차면 offer-timeout 동안 전송 스레드를 대기시키고, 그래도 자리가 없으면 전송을 거절한다.
+ *
+ * 이미 전파/ack된 메시지이므로 DB 저장 실패 시 배치를 버리지 않는다.
+ * - 실행 중에는 backoff를 늘려가며 성공할 때까지 재시도한다. (그동안 큐가 차면 새 전송이 거절된다.)
+ * - 종료 중에도 저장하지 못한 배치는 dead-letter 파일로 남기고, 다음 시작 시 먼저 저장한다.
+ */
+@Slf4j
+@Service
+public class ChatMessageWriteBehindService {
+    private static final int MAX_RETRY = 3;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+    private static final String DEAD_LETTER_SUFFIX = ".json";
+
+    private final MessageJdbcRepository messageJdbcRepository;
+    private final ChatHotTier chatHotTier;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<PendingChatMessage> queue;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxDelayMillis;
+    private final long offerTimeoutMillis;
+    private final long initialBackoffMillis;
+    private final Path deadLetterDir;
+    private final AtomicLong deadLetterSeq = new AtomicLong();
+
+    private final Timer commitTimer;
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+    private final Counter deadLetterCounter;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public ChatMessageWriteBehindService(MessageJdbcRepository messageJdbcRepository,
+                                         ChatHotTier chatHotTier,
+                                         TransactionTemplate transactionTemplate,
+                                         ObjectMapper objectMapper,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${chat.persistence.write-behind.enabled:false}") boolean enabled,
+                                         @Value("${chat.persistence.write-behind.capacity:10000}") int capacity,
+                                         @Value("${chat.persistence.write-behind.batch-size:500}") int batchSize,
+                                         @Value("${chat.persistence.write-behind.max-delay-ms:50}") long maxDelayMillis,
+                                         @Value("${chat.persistence.write-behind.offer-timeout-ms:200}") long offerTimeoutMillis,
+                                         @Value("${chat.persistence.write-behind.initial-backoff-ms:100}") long initialBackoffMillis,
+                                         @Value("${chat.persistence.write-behind.dead-letter-dir:./chat-dead-letter}") String deadLetterDir) {
+        this.messageJdbcRepository = messageJdbcRepository;
+        this.chatHotTier = chatHotTier;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxDelayMillis = maxDelayMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.deadLetterDir = Paths.get(deadLetterDir);
+
+        Gauge.builder("chat.persistence.queue.depth", queue, BlockingQueue::size)
+                .description("write-behind 큐에 대기 중인 메시지 수")
+                .register(meterRegistry);
+        this.commitTimer = Timer.builder("chat.persistence.commit.latency")
+                .description("write-behind 배치 저장 소요 시간")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("chat.persistence.rejected")
+                .description("큐가 가득 차 거절된 메시지 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("chat.persistence.failed")
+                .description("저장에 실패해 재시도한 메시지 수 (시도마다 증가)")
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("chat.persistence.dead.letter")
+                .description("종료 시 저장하지 못해 dead-letter 파일로 남긴 메시지 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        replayDeadLetters();
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "chat-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("채팅 메시지 write-behind 활성화 (batchSize: {}, maxDelay: {}ms)", batchSize, maxDelayMillis);
+    }
+
+    /**
+     * 종료 시 큐에 남은 메시지를 모두 저장한다.
+     * 저장하지 못한 배치는 dead-letter 파일로 남긴다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+
+        List<PendingChatMessage> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            commit(batch);
+            batch.clear();
+        }
+        log.info("채팅 메시지 write-behind 종료");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 메시지를 저장 큐에 넣는다.
+     * @throws ChatException 큐가 가득 차 대기 시간 내에 넣지 못한 경우
+     */
+    public void enqueue(Long chatRoomId, MessageResponse message, List<Long> subscriberIds) {
+        PendingChatMessage pending = PendingChatMessage.builder()
+                .chatRoomId(chatRoomId)
+                .message(message)
+                .subscriberIds(subscriberIds)
+                .build();
+
+        try {
+            if (queue.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        rejectedCounter.increment();
+        throw new ChatException(ChatErrorCode.CHAT_OVERLOADED);
+    }
+
+    private void flushLoop() {
+        List<PendingChatMessage> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            try {
+                PendingChatMessage first = queue.poll(maxDelayMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingChatMessage> batch) {
+        Timer.Sample sample = Timer.start();
+
+        Map<Long, List<MessageResponse>> messagesByRoom = new LinkedHashMap<>();
+        Map<Long, Map<Long, Long>> lastMessageIds = new HashMap<>();
+        group(batch, messagesByRoom, lastMessageIds);
+
+        // DB 저장과 Redis 저장은 따로 재시도한다.
+        boolean persisted = persistWithBackoff(batch, messagesByRoom, lastMessageIds);
+
+        if (persisted) {
+            runWithRetry("Redis", batch.size(), () -> chatHotTier.saveMessages(messagesByRoom));
+        } else {
+            writeDeadLetter(batch);
+        }
+
+        sample.stop(commitTimer);
+    }
+
+    private static void group(List<PendingChatMessage> batch,
+                              Map<Long, List<MessageResponse>> messagesByRoom,
+                              Map<Long, Map<Long, Long>> lastMessageIds) {
+        for (PendingChatMessage pending : batch) {
+            messagesByRoom.computeIfAbsent(pending.getChatRoomId(), k -> new ArrayList<>())
+                    .add(pending.getMessage());
+
+            Map<Long, Long> users = lastMessageIds.computeIfAbsent(pending.getChatRoomId(), k -> new HashMap<>());
+            for (Long userId : pending.getSubscriberIds()) {
+                users.merge(userId, pending.getMessage().getMessageId(), Math::max);
+            }
+        }
+    }
+
+    /**
+     * DB에 저장될 때까지 backoff를 늘려가며 재시도한다.
+     * 종료 중(running = false)이면 MAX_RETRY회까지만 시도하고 실패를 반환한다.
+     *
+     * 커밋 결과를 알 수 없는 실패(커밋 후 연결 끊김 등) 뒤의 재시도나 dead-letter 재저장에서
+     * 안 읽은 메시지 수가 두 번 증가하지 않도록, 저장 전에 이미 저장된 메시지를 조회해 증가에서 뺀다.
+     */
+    private boolean persistWithBackoff(List<PendingChatMessage> batch,
+                                       Map<Long, List<MessageResponse>> messagesByRoom,
+                                       Map<Long, Map<Long, Long>> lastMessageIds) {
+        long backoff = initialBackoffMillis;
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Set<Long> storedIds = messageJdbcRepository.findExistingMessageIds(
+                            batch.stream().map(pending -> pending.getMessage().getMessageId()).toList());
+                    messageJdbcRepository.insertMessages(batch);
+                    messageJdbcRepository.updateChatRoomSummaries(messagesByRoom, storedIds);
+                    messageJdbcRepository.updateLastMessageIds(lastMessageIds, messagesByRoom);
+                });
+                return true;
+            } catch (Exception e) {
+                failedCounter.increment(batch.size());
+                log.error("채팅 메시지 배치 저장 실패 (DB, {}회, {}건, {}ms 후 재시도): {}", attempt, batch.size(), backoff, e.getMessage());
+            }
+
+            if (!running && attempt >= MAX_RETRY) {
+                return false;
+            }
+
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    private boolean runWithRetry(String target, int size, Runnable task) {
+        for (int attempt = 1; attempt <= MAX_RETRY; attempt++) {
+            try {
+                task.run();
+                return true;
+            } catch (Exception e) {
+                log.error("채팅 메시지 배치 저장 실패 ({}, {}/{}회, {}건): {}", target, attempt, MAX_RETRY, size, e.getMessage());
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 저장하지 못한 배치를 파일로 남긴다. (임시 파일에 쓴 뒤 이름을 바꿔 반쯤 쓰인 파일이 남지 않게 한다.)
+     * 파일에도 쓰지 못하면 메시지 내용을 로그로 남긴다.
+     */
+    private void writeDeadLetter(List<PendingChatMessage> batch) {
+        String name = System.currentTimeMillis() + "-" + deadLetterSeq.incrementAndGet();
+
+        try {
+            Files.createDirectories(deadLetterDir);
+            Path tmp = deadLetterDir.resolve(name + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), batch);
+            Files.move(tmp, deadLetterDir.resolve(name + DEAD_LETTER_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            deadLetterCounter.increment(batch.size());
+            log.warn("저장하지 못한 채팅 메시지 {}건을 dead-letter 파일로 남김 ({})", batch.size(), name);
+        } catch (IOException e) {
+            log.error("채팅 메시지 dead-letter 기록 실패 ({}건): {}", batch.size(), e.getMessage());
+            for (PendingChatMessage pending : batch) {
+                log.error("유실된 채팅 메시지 (chatRoomId: {}, messageId: {}, senderId: {}, content: {})",
+                        pending.getChatRoomId(), pending.getMessage().getMessageId(),
+                        pending.getMessage().getSenderId(), pending.getMessage().getContent());
+            }
+        }
+    }
+
+    /**
+     * 이전 실행에서 남긴 dead-letter 파일을 만들어진 순서대로 저장하고 지운다.
+     * 이번에도 저장하지 못한 파일은 그대로 두고 다음 시작 때 다시 시도한다.
+     */
+    private void replayDeadLetters() {
+        if (!Files.isDirectory(deadLetterDir)) {
+            return;
+        }
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(deadLetterDir)) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(DEAD_LETTER_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            log.error("채팅 메시지 dead-letter 목록 조회 실패: {}", e.getMessage());
+            return;
+        }
+
+        for (Path file : files) {
+            try {
+                List<PendingChatMessage> batch = objectMapper.readValue(file.toFile(), new TypeReference<>() {
+                });
+                Map<Long, List<MessageResponse>> messagesByRoom = new LinkedHashMap<>();
+                Map<Long, Map<Long, Long>> lastMessageIds = new HashMap<>();
+                group(batch, messagesByRoom, lastMessageIds);
+
+                if (!persistWithBackoff(batch, messagesByRoom, lastMessageIds)) {
+                    log.error("채팅 메시지 dead-letter 재저장 실패, 다음 시작 때 다시 시도 ({})", file.getFileName());
+                    return;
+                }
+                runWithRetry("Redis", batch.size(), () -> chatHotTier.saveMessages(messagesByRoom));
+                Files.delete(file);
+                log.info("채팅 메시지 dead-letter 재저장 완료 ({}, {}건)", file.getFileName(), batch.size());
+            } catch (IOException e) {
+                log.error("채팅 메시지 dead-letter 처리 실패 ({}): {}", file.getFileName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package dutchiepay.backend.domain.chat.service;
+
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
+import dutchiepay.backend.domain.chat.repository.UserChatroomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅방 멤버별 마지막으로 읽은 메시지 Id(읽음 워터마크)를 관리한다.
+ * Redis Hash(chat:{chatRoomId}:watermarks, userId -> lastReadMessageId)에 저장하며,
+ * 메시지의 안 읽은 인원 수는 저장된 메시지를 수정하지 않고 조회 시점에 워터마크로 계산한다.
+ * Hash가 없으면 User_Chatroom.last_message_id로 다시 만든다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatReadWatermarkService {
+    private static final String CHAT_KEY_PREFIX = "chat:";
+    private static final String WATERMARKS_SUFFIX = ":watermarks";
+    // Redis에 보관하는 메시지(7일)보다 길게 유지한다.
+    private static final Duration WATERMARKS_TTL = Duration.ofDays(8);
+
+    // Hash가 있을 때만 워터마크를 앞으로 이동시킨다. 없으면 다음 조회 시 DB에서 다시 만든다.
+    private static final RedisScript<Long> MARK_READ_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "local messageId = tonumber(ARGV[2]) " +
+            "for i = 3, #ARGV do " +
+            "  local current = redis.call('HGET', KEYS[1], ARGV[i]) " +
+            "  if not current or tonumber(current) < messageId then " +
+            "    redis.call('HSET', KEYS[1], ARGV[i], ARGV[2]) " +
+            "  end " +
+            "end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final UserChatroomRepository userChatroomRepository;
+
+    /**
+     * 유저들의 워터마크를 messageId까지 이동시킨다. 이미 더 뒤의 메시지를 읽은 유저는 그대로 둔다.
+     * @param chatRoomId 채팅방 Id
+     * @param userIds 유저 Id 목록
+     * @param messageId 읽은 메시지 Id
+     */
+    public void markRead(Long chatRoomId, Collection<Long> userIds, Long messageId) {
+        if (userIds.isEmpty() || messageId == null) {
+            return;
+        }
+
+        List<String> args = new ArrayList<>(userIds.size() + 2);
+        args.add(String.valueOf(WATERMARKS_TTL.toSeconds()));
+        args.add(String.valueOf(messageId));
+        for (Long userId : userIds) {
+            args.add(String.valueOf(userId));
+        }
+
+        stringRedisTemplate.execute(MARK_READ_SCRIPT, Collections.singletonList(watermarksKey(chatRoomId)), args.toArray());
+    }
+
+    public void markRead(Long chatRoomId, Long userId, Long messageId) {
+        markRead(chatRoomId, Collections.singletonList(userId), messageId);
+    }
+
+    /**
+     * 채팅방을 나가거나 강퇴된 유저를 안 읽은 인원 집계에서 제외한다.
+     */
+    public void remove(Long chatRoomId, Long userId) {
+        stringRedisTemplate.opsForHash().delete(watermarksKey(chatRoomId), String.valueOf(userId));
+    }
+
+    public void remove(Long chatRoomId, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        Object[] fields = new Object[userIds.size()];
+        int i = 0;
+        for (Long userId : userIds) {
+            fields[i++] = String.valueOf(userId);
+        }
+
+        stringRedisTemplate.opsForHash().delete(watermarksKey(chatRoomId), fields);
+    }
+
+    /**
+     * 메시지 목록의 안 읽은 인원 수를 워터마크 기준으로 채운다.
+     * 저장 당시의 안 읽은 인원 수보다 커지지 않도록 한다. (이후 입장한 유저는 집계하지 않는다.)
+     * @param chatRoomId 채팅방 Id
+     * @param messages 메시지 목록
+     */
+    public void applyUnreadCounts(Long chatRoomId, List<MessageResponse> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return;
+        }
+
+        long[] watermarks = getWatermarks(chatRoomId);
+
+        for (MessageResponse message : messages) {
+            Integer stored = message.getUnreadCount();
+
+            if (stored == null || stored <= 0) {
+                continue;
+            }
+
+            message.setUnreadCount(Math.min(stored, countUnread(watermarks, message.getMessageId())));
+        }
+    }
+
+    /**
+     * 채팅방 멤버들의 워터마크를 오름차순으로 반환한다.
+     */
+    private long[] getWatermarks(Long chatRoomId) {
+        String key = watermarksKey(chatRoomId);
+        List<Object> values = stringRedisTemplate.opsForHash().values(key);
+
+        if (values.isEmpty()) {
+            return rebuild(chatRoomId, key);
+        }
+
+        long[] watermarks = new long[values.size()];
+        for (int i = 0; i < watermarks.length; i++) {
+            watermarks[i] = Long.parseLong((String) values.get(i));
+        }
+        Arrays.sort(watermarks);
+
+        return watermarks;
+    }
+
+    private long[] rebuild(Long chatRoomId, String key) {
+        Map<Long, Long> lastMessageIds = userChatroomRepository.findReadWatermarks(chatRoomId);
+
+        if (lastMessageIds.isEmpty()) {
+            return new long[0];
+        }
+
+        Map<String, String> hash = new HashMap<>();
+        long[] watermarks = new long[lastMessageIds.size()];
+        int i = 0;
+
+        for (Map.Entry<Long, Long> entry : lastMessageIds.entrySet()) {
+            long lastMessageId = entry.getValue() == null ? 0L : entry.getValue();
+            hash.put(String.valueOf(entry.getKey()), String.valueOf(lastMessageId));
+            watermarks[i++] = lastMessageId;
+        }
+
+        stringRedisTemplate.opsForHash().putAll(key, hash);
+        stringRedisTemplate.expire(key, WATERMARKS_TTL);
+        Arrays.sort(watermarks);
+
+        return watermarks;
+    }
+
+    /**
+     * 워터마크가 messageId보다 작은(= 아직 읽지 않은) 멤버 수를 이진 탐색으로 구한다.
+     */
+    private static int countUnread(long[] watermarks, long messageId) {
+        int low = 0;
+        int high = watermarks.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (watermarks[mid] < messageId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private static String watermarksKey(Long chatRoomId) {
+        return CHAT_KEY_PREFIX + chatRoomId + WATERMARKS_SUFFIX;
+    }
+}
@@ -0,0 +1,125 @@
+package dutchiepay.backend.domain.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dutchiepay.backend.domain.chat.dto.ChatRoomSnapshot;
+import dutchiepay.backend.domain.chat.exception.ChatErrorCode;
+import dutchiepay.backend.domain.chat.exception.ChatException;
+import dutchiepay.backend.domain.chat.repository.ChatRoomRepository;
+import dutchiepay.backend.domain.chat.repository.UserChatroomRepository;
+import dutchiepay.backend.global.websocket.broker.ChatBroadcaster;
+import dutchiepay.backend.global.websocket.broker.ChatRoomInvalidatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 메시지 전송, 구독마다 조회하는 채팅방 정보와 멤버/차단 유저 목록의 로컬 캐시
+ * 크기와 TTL로 제한하며, 참여/나가기/강퇴 시 UserChatroomService에서 명시적으로 무효화한다.
+ * 다른 노드의 캐시는 ChatBroadcaster의 릴레이 채널로 무효화를 요청하며,
+ * 발행이 유실된 경우에도 TTL이 지나면 다시 적재된다.
+ */
+@Service
+public class ChatRoomCache {
+    private final ChatRoomRepository chatRoomRepository;
+    private final UserChatroomRepository userChatroomRepository;
+    private final ChatBroadcaster chatBroadcaster;
+    private final Cache<Long, ChatRoomSnapshot> chatRooms;
+    private final Cache<Long, Set<Long>> bannedUsers;
+    private final Cache<Long, List<Long>> members;
+
+    public ChatRoomCache(ChatRoomRepository chatRoomRepository,
+                         UserChatroomRepository userChatroomRepository,
+                         ChatBroadcaster chatBroadcaster,
+                         MeterRegistry meterRegistry,
+                         @Value("${chat.cache.room.max-size:10000}") long maxSize,
+                         @Value("${chat.cache.room.ttl-seconds:60}") long ttlSeconds) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.userChatroomRepository = userChatroomRepository;
+        this.chatBroadcaster = chatBroadcaster;
+        this.chatRooms = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.bannedUsers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.members = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, chatRooms, "chat.room");
+        CaffeineCacheMetrics.monitor(meterRegistry, bannedUsers, "chat.room.banned");
+        CaffeineCacheMetrics.monitor(meterRegistry, members, "chat.room.members");
+    }
+
+    /**
+     * 채팅방 정보를 조회한다.
+     * @throws ChatException 채팅방이 존재하지 않을 경우
+     */
+    public ChatRoomSnapshot getChatRoom(Long chatRoomId) {
+        return chatRooms.get(chatRoomId, id -> chatRoomRepository.findById(id)
+                .map(ChatRoomSnapshot::from)
+                .orElseThrow(() -> new ChatException(ChatErrorCode.INVALID_CHAT)));
+    }
+
+    public boolean isBanned(Long chatRoomId, Long userId) {
+        return bannedUsers.get(chatRoomId, id -> Set.copyOf(userChatroomRepository.findBannedUserIds(id)))
+                .contains(userId);
+    }
+
+    /**
+     * 차단되지 않은 채팅방 멤버 Id 목록
+     */
+    public List<Long> getMemberIds(Long chatRoomId) {
+        return members.get(chatRoomId, id -> List.copyOf(userChatroomRepository.findMemberIds(id)));
+    }
+
+    /**
+     * 채팅방 캐시를 무효화한다.
+     * 커밋 전에 다른 요청이 이전 값을 다시 적재할 수 있으므로, 트랜잭션 안이라면 커밋 후에 한 번 더 무효화한다.
+     * 다른 노드에는 변경이 반영된 뒤(트랜잭션 종료 후)에 무효화를 요청한다.
+     */
+    public void invalidate(Long chatRoomId) {
+        evict(chatRoomId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(chatRoomId);
+                    chatBroadcaster.publishInvalidation(chatRoomId);
+                }
+            });
+        } else {
+            chatBroadcaster.publishInvalidation(chatRoomId);
+        }
+    }
+
+    /**
+     * 다른 노드에서 요청한 무효화
+     */
+    @EventListener
+    public void onInvalidated(ChatRoomInvalidatedEvent event) {
+        evict(event.chatRoomId());
+    }
+
+    private void evict(Long chatRoomId) {
+        chatRooms.invalidate(chatRoomId);
+        bannedUsers.invalidate(chatRoomId);
+        members.invalidate(chatRoomId);
+    }
+}
@@ -0,0 +1,187 @@
+package dutchiepay.backend.domain.chat.service;
+
+import dutchiepay.backend.domain.chat.exception.ChatErrorCode;
+import dutchiepay.backend.domain.chat.exception.ChatException;
+import dutchiepay.backend.domain.chat.repository.ChatRoomRepository;
+import dutchiepay.backend.entity.ChatRoom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * 채팅방 인원 예약
+ * 참여 가능 여부는 Redis Hash(chat:{chatRoomId}:capacity, now/max)를 Lua 스크립트로 원자적으로 증가시켜 판단하므로
+ * 동시에 참여해도 행 잠금 없이 정확히 maxPartInc명까지만 통과한다.
+ * DB의 now_part_inc는 조건부 UPDATE로 증가시켜, Redis 값이 어긋나더라도 최대 인원을 넘지 않도록 한 번 더 막는다.
+ * Hash가 없으면 DB 값으로 다시 만든다.
+ * 예약 후 커밋 전에 노드가 종료되면 되돌리지 못한 자리가 남으므로, 예약이 인원 초과로 실패하면 DB 인원과 비교하고
+ * DB 인원이 최대 인원보다 적은 상태가 RECONCILE_INTERVAL 이상 유지되면 Redis 값을 DB 값으로 낮추고 한 번 더 예약한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatRoomCapacityService {
+    private static final String CHAT_KEY_PREFIX = "chat:";
+    private static final String CAPACITY_SUFFIX = ":capacity";
+    private static final String RECONCILE_SUFFIX = ":capacity:reconcile";
+    // 인원 초과가 아니어도 TTL이 지나면 DB 값으로 다시 맞춰진다.
+    private static final Duration CAPACITY_TTL = Duration.ofMinutes(10);
+    // 커밋 전인 예약은 이 시간 안에 DB에 반영되므로, 이보다 오래 어긋나 있으면 되돌리지 못한 예약으로 본다.
+    private static final Duration RECONCILE_INTERVAL = Duration.ofSeconds(5);
+
+    private static final long MISSING = -1L;
+    private static final long FULL = 0L;
+
+    // 1: 예약 성공, 0: 인원 초과, -1: Hash 없음
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>(
+            "local counts = redis.call('HMGET', KEYS[1], 'now', 'max') " +
+            "if not counts[1] or not counts[2] then return -1 end " +
+            "if tonumber(counts[1]) >= tonumber(counts[2]) then return 0 end " +
+            "redis.call('HINCRBY', KEYS[1], 'now', 1) " +
+            "return 1", Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "local now = redis.call('HGET', KEYS[1], 'now') " +
+            "if not now or tonumber(now) <= 0 then return 0 end " +
+            "redis.call('HINCRBY', KEYS[1], 'now', -1) " +
+            "return 1", Long.class);
+
+    // 다른 요청이 먼저 만들었다면 그대로 둔다.
+    private static final RedisScript<Long> SEED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "redis.call('HSET', KEYS[1], 'now', ARGV[1], 'max', ARGV[2]) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "return 1", Long.class);
+
+    // 예약 값이 DB 인원보다 클 때만 DB 인원으로 낮춘다. 1: 낮춤, 0: 그대로
+    private static final RedisScript<Long> RECONCILE_SCRIPT = new DefaultRedisScript<>(
+            "local now = redis.call('HGET', KEYS[1], 'now') " +
+            "if not now or tonumber(now) <= tonumber(ARGV[1]) then return 0 end " +
+            "redis.call('HSET', KEYS[1], 'now', ARGV[1]) " +
+            "return 1", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ChatRoomRepository chatRoomRepository;
+
+    /**
+     * 채팅방 인원 한 자리를 예약하고 now_part_inc를 증가시킨다.
+     * 트랜잭션이 롤백되면 예약을 되돌린다.
+     * @param chatRoom 채팅방
+     * @throws ChatException 채팅방이 가득 찼을 경우
+     */
+    public void reserve(ChatRoom chatRoom) {
+        Long chatRoomId = chatRoom.getChatroomId();
+        String key = capacityKey(chatRoomId);
+
+        Long result = stringRedisTemplate.execute(RESERVE_SCRIPT, Collections.singletonList(key));
+
+        if (result != null && result == MISSING) {
+            Integer nowPartInc = chatRoomRepository.findNowPartInc(chatRoomId);
+            stringRedisTemplate.execute(SEED_SCRIPT, Collections.singletonList(key),
+                    String.valueOf(nowPartInc == null ? 0 : nowPartInc),
+                    String.valueOf(chatRoom.getMaxPartInc()),
+                    String.valueOf(CAPACITY_TTL.toSeconds()));
+            result = stringRedisTemplate.execute(RESERVE_SCRIPT, Collections.singletonList(key));
+        }
+
+        if (result != null && result == FULL && reconcile(chatRoom, key)) {
+            result = stringRedisTemplate.execute(RESERVE_SCRIPT, Collections.singletonList(key));
+        }
+
+        if (result == null || result == FULL) {
+            throw new ChatException(ChatErrorCode.FULL_CHAT);
+        }
+
+        if (chatRoomRepository.increaseNowPartInc(chatRoomId) == 0) {
+            log.warn("채팅방 인원 예약 값이 DB와 다릅니다. (chatRoomId: {})", chatRoomId);
+            stringRedisTemplate.delete(key);
+            throw new ChatException(ChatErrorCode.FULL_CHAT);
+        }
+
+        afterCompletion(chatRoomId, false);
+    }
+
+    /**
+     * 채팅방 인원 한 자리를 반납하고 now_part_inc를 감소시킨다.
+     * 반납한 자리는 트랜잭션이 커밋된 후에 다른 유저가 예약할 수 있다.
+     */
+    public void release(Long chatRoomId) {
+        chatRoomRepository.decreaseNowPartInc(chatRoomId);
+        afterCompletion(chatRoomId, true);
+    }
+
+    private void afterCompletion(Long chatRoomId, boolean onCommit) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (onCommit) {
+                releaseReservation(chatRoomId);
+            }
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if ((status == STATUS_COMMITTED) == onCommit) {
+                    releaseReservation(chatRoomId);
+                }
+            }
+        });
+    }
+
+    /**
+     * 되돌리지 못한 예약이 남아 있는지 DB 인원과 비교해 Redis 값을 낮춘다.
+     * 커밋 전인 예약과 구분할 수 있도록, 인원 초과 시점의 DB 인원을 기록해 두고
+     * 같은 값이 RECONCILE_INTERVAL 이상 유지된 경우에만 낮춘다.
+     * @return Redis 값을 낮췄으면 true
+     */
+    private boolean reconcile(ChatRoom chatRoom, String key) {
+        Long chatRoomId = chatRoom.getChatroomId();
+        Integer nowPartInc = chatRoomRepository.findNowPartInc(chatRoomId);
+        if (nowPartInc == null || nowPartInc >= chatRoom.getMaxPartInc()) {
+            return false;
+        }
+
+        String reconcileKey = CHAT_KEY_PREFIX + chatRoomId + RECONCILE_SUFFIX;
+        long now = System.currentTimeMillis();
+        String observed = stringRedisTemplate.opsForValue().get(reconcileKey);
+        String[] parts = observed == null ? null : observed.split(":");
+
+        if (parts == null || parts.length != 2 || !parts[0].equals(String.valueOf(nowPartInc))) {
+            stringRedisTemplate.opsForValue().set(reconcileKey, nowPartInc + ":" + now, CAPACITY_TTL);
+            return false;
+        }
+
+        if (now - Long.parseLong(parts[1]) < RECONCILE_INTERVAL.toMillis()) {
+            return false;
+        }
+
+        // 여러 요청이 동시에 도달해도 기록을 지운 요청만 낮춘다.
+        if (!Boolean.TRUE.equals(stringRedisTemplate.delete(reconcileKey))) {
+            return false;
+        }
+
+        Long result = stringRedisTemplate.execute(RECONCILE_SCRIPT, Collections.singletonList(key), String.valueOf(nowPartInc));
+        if (result != null && result == 1L) {
+            log.warn("채팅방 인원 예약 값을 DB 인원({})으로 낮췄습니다. (chatRoomId: {})", nowPartInc, chatRoomId);
+            return true;
+        }
+
+        return false;
+    }
+
+    private void releaseReservation(Long chatRoomId) {
+        stringRedisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(capacityKey(chatRoomId)));
+    }
+
+    private String capacityKey(Long chatRoomId) {
+        return CHAT_KEY_PREFIX + chatRoomId + CAPACITY_SUFFIX;
+    }
+}
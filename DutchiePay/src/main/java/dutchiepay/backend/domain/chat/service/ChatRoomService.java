@@ -7,37 +7,44 @@ import dutchiepay.backend.domain.chat.repository.ChatRoomRepository;
 import dutchiepay.backend.domain.chat.repository.MessageRepository;
 import dutchiepay.backend.domain.community.service.MartService;
 import dutchiepay.backend.domain.community.service.PurchaseService;
+import dutchiepay.backend.domain.notice.service.ChatNoticeService;
 import dutchiepay.backend.entity.*;
+import dutchiepay.backend.global.id.SnowflakeIdGenerator;
+import dutchiepay.backend.global.websocket.broker.ChatBroadcaster;
+import dutchiepay.backend.global.websocket.presence.PresenceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.messaging.simp.user.SimpSession;
-import org.springframework.messaging.simp.user.SimpSubscription;
-import org.springframework.messaging.simp.user.SimpUser;
-import org.springframework.messaging.simp.user.SimpUserRegistry;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ChatRoomService {
-    private final SimpUserRegistry simpUserRegistry;
-    private final SimpMessagingTemplate simpMessagingTemplate;
+    private final ChatBroadcaster chatBroadcaster;
     private final ChatRoomRepository chatRoomRepository;
     private final MessageRepository messageRepository;
     private final UserChatroomService userChatroomService;
     private final MartService martService;
     private final PurchaseService purchaseService;
-    private final RedisMessageService redisMessageService;
-
-    private static final String CHAT_ROOM_PREFIX = "/sub/chat/";
+    private final ChatHotTier chatHotTier;
+    private final ChatHistoryReader chatHistoryReader;
+    private final ChatMessageWriteBehindService chatMessageWriteBehindService;
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
+    private final ChatReadWatermarkService chatReadWatermarkService;
+    private final ChatRoomSummaryService chatRoomSummaryService;
+    private final ChatRoomCache chatRoomCache;
+    private final PresenceService presenceService;
+    private final ChatNoticeService chatNoticeService;
+    private final ChatMessageDeduplicator chatMessageDeduplicator;
+    private final ChatMessageSearchService chatMessageSearchService;
 
     /**
      * 게시글에 연결된 채팅방에 참여한다.
@@ -90,9 +97,8 @@ public class ChatRoomService {
             throw new ChatException(ChatErrorCode.FULL_CHAT);
         }
 
-        Boolean isBanned = userChatroomService.isBanned(user.getUserId(), chatRoom.getChatroomId());
         // 블랙리스트 여부 확인
-        if (isBanned != null && isBanned) {
+        if (userChatroomService.isBanned(user.getUserId(), chatRoom.getChatroomId())) {
             throw new ChatException(ChatErrorCode.USER_BANNED);
         }
 
@@ -118,7 +124,6 @@ public class ChatRoomService {
         }
 
         userChatroomService.leaveChatRoom(ucr);
-        ucr.getChatroom().leave();
     }
 
     /**
@@ -177,42 +182,113 @@ public class ChatRoomService {
      * @throws ChatException 채팅방이 존재하지 않을 경우
      */
     public void sendChatRoomInfo(String userId, Long chatRoomId) {
-        ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
-                .orElseThrow(() -> new ChatException(ChatErrorCode.INVALID_CHAT));
+        ChatRoomSnapshot chatRoom = chatRoomCache.getChatRoom(chatRoomId);
 
         boolean isBanned = userChatroomService.isBanned(Long.valueOf(userId), chatRoomId);
         ChatRoomInfoResponse chatRoomInfo = ChatRoomInfoResponse.from(Long.valueOf(userId), chatRoom, !isBanned);
 
-        simpMessagingTemplate.convertAndSend(CHAT_ROOM_PREFIX + chatRoomId, chatRoomInfo);
+        chatBroadcaster.broadcast(chatRoomId, chatRoomInfo);
     }
 
     /**
      * 채팅방에 메시지를 전송한다.
+     * 같은 유저가 보낸 clientMessageId가 최근에 처리한 Id와 같다면 저장, 전파하지 않고 원본 메시지 Id로 응답한다.
      * @param chatRoomId 채팅방 Id
+     * @param principal 보낸 유저의 STOMP Principal 이름 (유저 Id)
      * @param message 메시지 객체
+     * @return 전송자에게 보낼 ack
      * @throws ChatException 채팅방이 존재하지 않을 경우
      */
     @Transactional
-    public void sendToChatRoomUser(String chatRoomId, ChatMessage message) {
-        ChatRoom chatRoom = chatRoomRepository.findById(Long.parseLong(chatRoomId))
-                .orElseThrow(() -> new ChatException(ChatErrorCode.INVALID_CHAT));
+    public ChatAckResponse sendToChatRoomUser(String chatRoomId, String principal, ChatMessage message) {
+        ChatRoomSnapshot chatRoom = chatRoomCache.getChatRoom(Long.parseLong(chatRoomId));
+        String clientMessageId = message.getClientMessageId();
+        boolean deduplicate = chatMessageDeduplicator.supports(principal, clientMessageId);
+
+        if (deduplicate) {
+            Long originalId = chatMessageDeduplicator.claim(chatRoom.getChatRoomId(), principal, clientMessageId);
+
+            if (originalId != null) {
+                return ChatAckResponse.duplicate(clientMessageId,
+                        originalId == ChatMessageDeduplicator.IN_PROGRESS ? null : originalId);
+            }
+        }
+
+        List<Long> subscriberIds = presenceService.getOnlineUserIds(chatRoom.getChatRoomId());
+        String date = LocalDate.parse(message.getDate(), DateTimeFormatter.ofPattern("yyyy년 MM월 dd일")).format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        int unreadCount = chatRoom.getNowPartInc() - subscriberIds.size();
+
+        // write-behind 모드에서는 Id만 발급해 즉시 전파하고, 저장은 배치로 처리한다.
+        if (chatMessageWriteBehindService.isEnabled()) {
+            MessageResponse response = MessageResponse.builder()
+                    .messageId(snowflakeIdGenerator.nextId())
+                    .senderId(message.getSenderId())
+                    .type(message.getType())
+                    .content(message.getContent())
+                    .unreadCount(unreadCount)
+                    .date(date)
+                    .time(message.getTime())
+                    .build();
+
+            chatMessageWriteBehindService.enqueue(chatRoom.getChatRoomId(), response, subscriberIds);
+            chatReadWatermarkService.markRead(chatRoom.getChatRoomId(), subscriberIds, response.getMessageId());
+            chatBroadcaster.broadcast(chatRoom.getChatRoomId(), response);
+            chatMessageSearchService.index(chatRoom.getChatRoomId(), response.getMessageId(), response.getType(), response.getContent());
+            enqueueOfflineNotices(chatRoom, message, subscriberIds);
+            return acknowledge(chatRoom.getChatRoomId(), principal, clientMessageId, deduplicate, response.getMessageId());
+        }
 
         Message newMessage = Message.builder()
-                .chatroom(chatRoom)
+                .chatroom(chatRoomRepository.getReferenceById(chatRoom.getChatRoomId()))
                 .type(message.getType())
                 .senderId(message.getSenderId())
                 .content(message.getContent())
-                .date(LocalDate.parse(message.getDate(), DateTimeFormatter.ofPattern("yyyy년 MM월 dd일")).format(DateTimeFormatter.ofPattern("yyyyMMdd")))
+                .date(date)
                 .time(message.getTime())
-                .unreadCount(chatRoom.getNowPartInc() - getSubscribedUserCount(chatRoomId))
+                .unreadCount(unreadCount)
                 .build();
 
         messageRepository.save(newMessage);
 
-        redisMessageService.saveMessage(chatRoomId, newMessage);
-        updateLastMessageToAllSubscribers(chatRoomId, newMessage.getMessageId());
+        chatHotTier.saveMessage(chatRoomId, newMessage);
+        updateLastMessageToAllSubscribers(chatRoom.getChatRoomId(), subscriberIds, newMessage.getMessageId());
+        chatRoomSummaryService.messageSaved(newMessage, subscriberIds);
+        chatReadWatermarkService.markRead(chatRoom.getChatRoomId(), subscriberIds, newMessage.getMessageId());
+
+        chatBroadcaster.broadcast(chatRoom.getChatRoomId(), MessageResponse.of(newMessage));
+        chatMessageSearchService.index(chatRoom.getChatRoomId(), newMessage.getMessageId(), newMessage.getType(), newMessage.getContent());
+        enqueueOfflineNotices(chatRoom, message, subscriberIds);
+        return acknowledge(chatRoom.getChatRoomId(), principal, clientMessageId, deduplicate, newMessage.getMessageId());
+    }
+
+    private ChatAckResponse acknowledge(Long chatRoomId, String principal, String clientMessageId, boolean deduplicate, Long messageId) {
+        if (deduplicate) {
+            chatMessageDeduplicator.complete(chatRoomId, principal, clientMessageId, messageId);
+        }
+
+        return ChatAckResponse.of(clientMessageId, messageId);
+    }
+
+    /**
+     * 채팅방을 구독하고 있지 않은 멤버에게 보낼 채팅 알림을 대기열에 추가한다.
+     * 알림은 ChatNoticeService에서 채팅방 단위로 합쳐 저장, 전송된다.
+     */
+    private void enqueueOfflineNotices(ChatRoomSnapshot chatRoom, ChatMessage message, List<Long> subscriberIds) {
+        Set<Long> subscribers = new HashSet<>(subscriberIds);
+        List<Long> offlineUserIds = new ArrayList<>();
 
-        simpMessagingTemplate.convertAndSend(CHAT_ROOM_PREFIX + chatRoomId, MessageResponse.of(newMessage));
+        for (Long memberId : chatRoomCache.getMemberIds(chatRoom.getChatRoomId())) {
+            if (!subscribers.contains(memberId)) {
+                offlineUserIds.add(memberId);
+            }
+        }
+
+        if (offlineUserIds.isEmpty()) {
+            return;
+        }
+
+        chatNoticeService.enqueue(chatRoom.getChatRoomId(), chatRoom.getChatRoomName(), message.getSenderId(),
+                message.getType(), message.getContent(), offlineUserIds);
     }
 
     /**
@@ -224,24 +300,15 @@ public class ChatRoomService {
         return userChatroomService.getChatRoomList(user);
     }
 
-    private int getSubscribedUserCount(String chatRoomId) {
-        String destination = CHAT_ROOM_PREFIX + chatRoomId;
-        int count = 0;
-
-        for (SimpUser user : simpUserRegistry.getUsers()) {
-            for (SimpSession session : user.getSessions()) {
-                for (SimpSubscription subscription : session.getSubscriptions()) {
-                    if (destination.equals(subscription.getDestination())) {
-                        count++;
-                        break;
-                    }
-                }
-            }
-        }
-
-        return count;
-    }
-
+    /**
+     * 채팅방에서 유저들을 강퇴한다.
+     * 대상 조회, 강퇴 처리, 강퇴 메시지 저장을 각각 한 번의 쿼리로 처리하고 메시지는 하나의 프레임으로 전파한다.
+     * @param user 방장
+     * @param dto 채팅방 Id 및 강퇴할 유저 Id 목록
+     * @throws ChatException 방장이 아닌 경우
+     * @throws ChatException 채팅방에 속하지 않은 유저가 포함된 경우
+     */
+    @Transactional
     public void kickUser(User user, KickUserRequestDto dto) {
         UserChatRoom ucr = userChatroomService.findByUserAndChatRoomId(user, dto.getChatRoomId());
 
@@ -249,71 +316,65 @@ public class ChatRoomService {
             throw new ChatException(ChatErrorCode.NOT_MANAGER);
         }
 
-        for (Long userId : dto.getUserId()) {
-            UserChatRoom target = userChatroomService.findByUserUserIdAndChatRoomId(userId, dto.getChatRoomId());
-            userChatroomService.kickedChatRoom(target);
-        }
+        userChatroomService.kickedChatRoom(dto.getChatRoomId(), dto.getUserId());
+    }
+
+    /**
+     * 채팅방을 보고 있는 유저와, 멤버 중 접속 중인 유저를 조회한다. (모든 노드 기준)
+     */
+    public GetOnlineUsersResponseDto getOnlineUsers(Long chatRoomId) {
+        return GetOnlineUsersResponseDto.builder()
+                .chatRoomId(chatRoomId)
+                .activeUserIds(presenceService.getOnlineUserIds(chatRoomId))
+                .onlineUserIds(new ArrayList<>(presenceService.filterOnline(userChatroomService.getMemberIds(chatRoomId))))
+                .build();
     }
 
     public List<GetChatRoomUsersResponseDto> getChatRoomUsers(Long chatRoomId) {
         return userChatroomService.getChatRoomUsers(chatRoomId);
     }
 
+    /**
+     * 채팅방 메시지 목록을 가져온다.
+     * 안 읽은 인원 수는 저장된 값 대신 조회 시점의 읽음 워터마크로 계산한다.
+     */
     public GetMessageListResponseDto getChatRoomMessages(Long chatRoomId, String cursor, Long limit) {
-        String cursorDate;
-        Long cursorMessageId = null;
-
-        if (cursor == null) {
-            cursorDate = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        } else {
-            cursorDate = cursor.substring(0, 8);
-            cursorMessageId = Long.parseLong(cursor.substring(8)) != 0 ? Long.parseLong(cursor.substring(8)) : null;
-        }
+        GetMessageListResponseDto result = chatHistoryReader.read(chatRoomId, cursor, limit);
+        chatReadWatermarkService.applyUnreadCounts(chatRoomId, result.getMessages());
 
-        LocalDate currentDate = LocalDate.now();
-        LocalDate requestDate = LocalDate.parse(cursorDate,
-                DateTimeFormatter.ofPattern("yyyyMMdd"));
-
-        long daysDifference = ChronoUnit.DAYS.between(requestDate, currentDate);
-
-        if (daysDifference <= 7) {
-            GetMessageListResponseDto redisMessages =
-                    redisMessageService.getMessageFromMemory(chatRoomId, cursorDate, cursorMessageId, limit);
+        return result;
+    }
 
-            if (redisMessages != null) {
-                return redisMessages;
-            }
+    /**
+     * 채팅방 메시지를 검색한다. 최신 메시지부터 limit개씩 반환한다.
+     * @param user 유저
+     * @param chatRoomId 채팅방 Id
+     * @param query 검색어
+     * @param cursor 이전 페이지의 cursor (첫 페이지는 null)
+     * @param limit 페이지 크기
+     * @throws ChatException 채팅방 멤버가 아닐 경우
+     * @throws ChatException 검색어가 너무 짧을 경우
+     */
+    public SearchMessageListResponseDto searchMessages(User user, Long chatRoomId, String query, String cursor, int limit) {
+        if (!chatRoomCache.getMemberIds(chatRoomId).contains(user.getUserId())) {
+            throw new ChatException(ChatErrorCode.NOT_CHAT_MEMBER);
         }
 
-        return chatRoomRepository.findChatRoomMessages(chatRoomId, cursorDate, cursorMessageId, limit);
+        return chatMessageSearchService.search(chatRoomId, query, cursor, limit);
     }
 
     public void checkCursorId(Long chatRoomId, Long userId) {
         Long cursor = messageRepository.findCursorId(chatRoomId, userId);
 
-        if (cursor != null) {
-            simpMessagingTemplate.convertAndSend(CHAT_ROOM_PREFIX + chatRoomId, CursorResponse.of(cursor));
-            userChatroomService.updateLastMessageToUser(userId, chatRoomId);
-            redisMessageService.decreaseUnreadCountWithCursor(chatRoomId, cursor);
-        } else {
-            simpMessagingTemplate.convertAndSend(CHAT_ROOM_PREFIX + chatRoomId, CursorResponse.of(0L));
-            userChatroomService.updateLastMessageToUser(userId, chatRoomId);
-        }
+        chatBroadcaster.broadcast(chatRoomId, CursorResponse.of(cursor != null ? cursor : 0L));
+        userChatroomService.updateLastMessageToUser(userId, chatRoomId);
     }
 
-    private void updateLastMessageToAllSubscribers(String chatRoomId, Long messageId) {
-        List<Long> userIds = new ArrayList<>();
-
-        for (SimpUser user : simpUserRegistry.getUsers()) {
-            for (SimpSession session : user.getSessions()) {
-                for (SimpSubscription subscription : session.getSubscriptions()) {
-                    if (subscription.getDestination().equals(CHAT_ROOM_PREFIX + chatRoomId)) {
-                        userIds.add(Long.parseLong(user.getName()));
-                    }
-                }
-            }
+    private void updateLastMessageToAllSubscribers(Long chatRoomId, List<Long> userIds, Long messageId) {
+        if (userIds.isEmpty()) {
+            return;
         }
 
-        userChatroomService.updateLastMessageToAllSubscribers(userIds, Long.parseLong(chatRoomId), messageId);
+        userChatroomService.updateLastMessageToAllSubscribers(userIds, chatRoomId, messageId);
     }
 }
@@ -0,0 +1,40 @@
+package dutchiepay.backend.domain.chat.service;
+
+import dutchiepay.backend.domain.chat.repository.ChatRoomRepository;
+import dutchiepay.backend.domain.chat.repository.UserChatroomRepository;
+import dutchiepay.backend.entity.Message;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 채팅방 목록 조회용 요약(마지막 메시지, 멤버별 안 읽은 메시지 수)을 갱신한다.
+ * 채팅방 목록은 이 요약만 조회하므로 메시지를 저장하는 모든 경로에서 호출해야 한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatRoomSummaryService {
+    private final ChatRoomRepository chatRoomRepository;
+    private final UserChatroomRepository userChatroomRepository;
+
+    /**
+     * 메시지 저장 후 채팅방의 마지막 메시지를 갱신하고, 메시지를 읽지 않은 멤버의 안 읽은 메시지 수를 1 증가시킨다.
+     * @param message 저장된 메시지
+     * @param readerIds 메시지를 바로 확인한 유저 Id 목록 (채팅방 구독자)
+     */
+    @Transactional
+    public void messageSaved(Message message, List<Long> readerIds) {
+        Long chatRoomId = message.getChatroom().getChatroomId();
+
+        chatRoomRepository.updateLastMessage(chatRoomId, message.getMessageId(), message.getType(),
+                message.getContent(), message.getDate(), message.getTime());
+
+        if (readerIds.isEmpty()) {
+            userChatroomRepository.increaseUnreadCount(chatRoomId);
+        } else {
+            userChatroomRepository.increaseUnreadCountExcept(chatRoomId, readerIds);
+        }
+    }
+}
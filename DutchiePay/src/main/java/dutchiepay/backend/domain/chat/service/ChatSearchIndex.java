@@ -0,0 +1,533 @@
+package dutchiepay.backend.domain.chat.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 채팅방별 메시지 검색 역색인 (bigram -> messageId 오름차순 posting list)
+ * 메시지 전송 시 증분으로 추가하고, 검색 전에 DB에서 색인되지 않은 메시지를 따라잡는다. (ChatMessageSearchService)
+ *
+ * - 색인은 {base-dir}/{chatRoomId}/{순번}.idx 세그먼트 파일에 저장한다.
+ *   flush마다 그 사이에 추가된 posting만 새 세그먼트로 쓰고, 세그먼트가 MAX_SEGMENTS개를 넘으면 하나로 합친다.
+ * - 세그먼트 형식: [DB 색인 위치(8B)][term 수(4B)] + term마다 [term(UTF)][posting 수(varint)][이전 Id와의 차이(varint)...]
+ *   Snowflake Id는 시간순이라 차이 값이 작아 varint로 대부분 1~3B에 저장된다.
+ * - 메모리에는 최근 사용한 max-rooms개 채팅방만 올리고, 내릴 때 아직 쓰지 않은 posting을 저장한다.
+ *   파일 읽기/쓰기는 전체 목록(rooms) 잠금 밖에서 채팅방 잠금만 잡고 하므로, 한 채팅방의 I/O가 다른 채팅방을 막지 않는다.
+ *   내린 채팅방을 다시 올릴 때는 이전 인스턴스의 저장이 끝난 뒤에 읽는다.
+ *
+ * 파일은 노드마다 따로 두며 원본은 DB에 있으므로, 파일이 없거나 손상되어도 DB에서 다시 색인한다.
+ */
+@Slf4j
+@Component
+public class ChatSearchIndex {
+    // 검색 대상이 아닌 메시지 타입 (이미지, 시스템 메시지)
+    public static final Set<String> EXCLUDED_TYPES = Set.of("img", "enter", "out", "ban");
+    private static final int MAX_SEGMENTS = 8;
+    private static final String SEGMENT_SUFFIX = ".idx";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path baseDir;
+    private final int maxRooms;
+
+    // 접근 순서로 정렬해 가장 오래 사용하지 않은 채팅방부터 내린다.
+    private final LinkedHashMap<Long, RoomIndex> rooms;
+    // 목록에서 내렸지만 아직 저장(close)이 끝나지 않은 채팅방 (rooms 잠금으로 보호)
+    private final Map<Long, RoomIndex> closing = new HashMap<>();
+
+    public ChatSearchIndex(@Value("${chat.search.base-dir:./chat-search}") String baseDir,
+                           @Value("${chat.search.max-rooms:200}") int maxRooms) {
+        this.baseDir = Paths.get(baseDir);
+        this.maxRooms = maxRooms;
+        this.rooms = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RoomIndex> eldest) {
+                if (size() > ChatSearchIndex.this.maxRooms) {
+                    // 저장은 open()에서 rooms 잠금을 놓은 뒤에 한다.
+                    closing.put(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(baseDir);
+        log.info("채팅 검색 색인 경로: {}", baseDir.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<RoomIndex> snapshot;
+        synchronized (rooms) {
+            snapshot = new ArrayList<>(rooms.values());
+            snapshot.addAll(closing.values());
+            rooms.clear();
+            closing.clear();
+        }
+
+        for (RoomIndex room : snapshot) {
+            synchronized (room) {
+                room.close();
+            }
+        }
+    }
+
+    public static boolean isSearchable(String type) {
+        return !EXCLUDED_TYPES.contains(type);
+    }
+
+    /**
+     * 메시지를 색인에 추가한다. 이미 색인된 메시지라면 변화가 없다.
+     */
+    public void add(Long chatRoomId, long messageId, String content) {
+        Set<String> terms = ChatMessageTokenizer.tokenize(content);
+
+        if (terms.isEmpty()) {
+            return;
+        }
+
+        while (true) {
+            RoomIndex room = open(chatRoomId);
+
+            synchronized (room) {
+                if (room.closed) {
+                    continue;
+                }
+                for (String term : terms) {
+                    room.add(term, messageId);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * DB에서 색인을 마친 마지막 messageId
+     */
+    public long getIndexedUpTo(Long chatRoomId) {
+        while (true) {
+            RoomIndex room = open(chatRoomId);
+
+            synchronized (room) {
+                if (!room.closed) {
+                    return room.indexedUpTo;
+                }
+            }
+        }
+    }
+
+    public void markIndexedUpTo(Long chatRoomId, long messageId) {
+        while (true) {
+            RoomIndex room = open(chatRoomId);
+
+            synchronized (room) {
+                if (room.closed) {
+                    continue;
+                }
+                room.indexedUpTo = Math.max(room.indexedUpTo, messageId);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 모든 term을 포함하는 messageId 목록 (오름차순)
+     */
+    public long[] search(Long chatRoomId, Set<String> terms) {
+        while (true) {
+            RoomIndex room = open(chatRoomId);
+
+            synchronized (room) {
+                if (room.closed) {
+                    continue;
+                }
+
+                List<Postings> lists = new ArrayList<>(terms.size());
+                for (String term : terms) {
+                    Postings postings = room.postings.get(term);
+                    if (postings == null) {
+                        return new long[0];
+                    }
+                    lists.add(postings);
+                }
+
+                // 짧은 목록부터 교집합을 구해 비교 횟수를 줄인다.
+                lists.sort(Comparator.comparingInt(p -> p.size));
+
+                long[] result = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+                for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                    result = lists.get(i).retain(result);
+                }
+                return result;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.search.flush-interval-ms:10000}")
+    public void flush() {
+        List<RoomIndex> snapshot;
+        synchronized (rooms) {
+            snapshot = new ArrayList<>(rooms.values());
+        }
+
+        for (RoomIndex room : snapshot) {
+            synchronized (room) {
+                if (!room.closed) {
+                    room.flush();
+                }
+            }
+        }
+    }
+
+    /**
+     * 채팅방 색인을 가져온다. 목록 갱신만 rooms 잠금 안에서 하고, 파일 읽기와 내린 채팅방의 저장은 잠금 밖에서 한다.
+     */
+    private RoomIndex open(Long chatRoomId) {
+        RoomIndex room;
+        List<Map.Entry<Long, RoomIndex>> evicted = List.of();
+
+        synchronized (rooms) {
+            room = rooms.get(chatRoomId);
+
+            if (room == null) {
+                room = new RoomIndex(baseDir.resolve(String.valueOf(chatRoomId)), closing.get(chatRoomId));
+                rooms.put(chatRoomId, room);
+
+                if (!closing.isEmpty()) {
+                    evicted = new ArrayList<>(closing.entrySet());
+                }
+            }
+        }
+
+        for (Map.Entry<Long, RoomIndex> entry : evicted) {
+            RoomIndex previous = entry.getValue();
+            synchronized (previous) {
+                previous.close();
+            }
+
+            synchronized (rooms) {
+                closing.remove(entry.getKey(), previous);
+            }
+        }
+
+        synchronized (room) {
+            room.ensureLoaded();
+        }
+
+        return room;
+    }
+
+    private static class RoomIndex {
+        private final Path dir;
+        private final Map<String, Postings> postings = new HashMap<>();
+        // 마지막 flush 이후 추가되어 아직 세그먼트에 쓰지 않은 posting
+        private final Map<String, Postings> pending = new HashMap<>();
+        private long indexedUpTo;
+        private long persistedUpTo;
+        private long nextSegment;
+        private int segments;
+        private boolean loaded;
+        private boolean closed;
+        // 같은 채팅방의 이전 인스턴스 (내린 뒤 저장이 끝나지 않았을 수 있다.)
+        private RoomIndex previous;
+
+        RoomIndex(Path dir, RoomIndex previous) {
+            this.dir = dir;
+            this.previous = previous;
+        }
+
+        /**
+         * 세그먼트를 읽는다. 이전 인스턴스가 아직 저장 중이라면 저장이 끝난 뒤에 읽는다.
+         */
+        void ensureLoaded() {
+            if (loaded || closed) {
+                return;
+            }
+
+            closePrevious();
+            load();
+            loaded = true;
+        }
+
+        /**
+         * 이전 인스턴스의 저장을 마친다. 읽지 않고 내린 인스턴스도 자신의 이전 인스턴스를 먼저 닫으므로
+         * 같은 채팅방의 세그먼트는 항상 인스턴스 순서대로 쓰인다.
+         */
+        private void closePrevious() {
+            if (previous != null) {
+                synchronized (previous) {
+                    previous.close();
+                }
+                previous = null;
+            }
+        }
+
+        void add(String term, long messageId) {
+            if (postings.computeIfAbsent(term, t -> new Postings()).add(messageId)) {
+                pending.computeIfAbsent(term, t -> new Postings()).add(messageId);
+            }
+        }
+
+        private void load() {
+            if (!Files.isDirectory(dir)) {
+                return;
+            }
+
+            boolean damaged = false;
+
+            for (Path segment : listSegments()) {
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+                    indexedUpTo = Math.max(indexedUpTo, in.readLong());
+                    int termCount = in.readInt();
+
+                    for (int i = 0; i < termCount; i++) {
+                        String term = in.readUTF();
+                        Postings target = postings.computeIfAbsent(term, t -> new Postings());
+                        int count = readVarInt(in);
+                        long id = 0;
+
+                        for (int j = 0; j < count; j++) {
+                            id += readVarLong(in);
+                            target.add(id);
+                        }
+                    }
+
+                    segments++;
+                } catch (IOException e) {
+                    // 손상된 세그먼트는 버리고 DB에서 다시 색인한다.
+                    log.warn("채팅 검색 색인 세그먼트 손상, 삭제합니다. ({}): {}", segment, e.getMessage());
+                    deleteQuietly(segment);
+                    damaged = true;
+                }
+
+                nextSegment = Math.max(nextSegment, segmentNumber(segment) + 1);
+            }
+
+            if (damaged) {
+                // 다른 세그먼트의 색인 위치는 손상된 세그먼트의 posting을 포함하지 않으므로 처음부터 다시 색인한다.
+                // 재시작해도 처음부터 색인하도록 색인 위치 0으로 남은 posting을 다시 쓴다.
+                indexedUpTo = 0;
+                try {
+                    compact();
+                } catch (IOException e) {
+                    log.warn("채팅 검색 색인 재작성 실패, 세그먼트를 모두 삭제합니다. ({}): {}", dir, e.getMessage());
+                    listSegments().forEach(RoomIndex::deleteQuietly);
+                    segments = 0;
+                }
+            }
+
+            persistedUpTo = indexedUpTo;
+        }
+
+        void flush() {
+            if (pending.isEmpty() && indexedUpTo == persistedUpTo) {
+                return;
+            }
+
+            try {
+                Files.createDirectories(dir);
+
+                if (segments + 1 > MAX_SEGMENTS) {
+                    compact();
+                } else {
+                    write(nextSegment, pending);
+                    segments++;
+                }
+
+                pending.clear();
+                persistedUpTo = indexedUpTo;
+            } catch (IOException e) {
+                // 쓰지 못한 posting은 pending에 남겨 다음 flush에서 다시 쓴다.
+                log.warn("채팅 검색 색인 저장 실패 ({}): {}", dir, e.getMessage());
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+
+            closePrevious();
+            flush();
+            postings.clear();
+            pending.clear();
+            closed = true;
+        }
+
+        /**
+         * 전체 색인을 하나의 세그먼트로 쓰고 이전 세그먼트를 지운다.
+         */
+        private void compact() throws IOException {
+            Files.createDirectories(dir);
+
+            long compacted = nextSegment;
+            write(compacted, postings);
+            for (Path segment : listSegments()) {
+                if (segmentNumber(segment) < compacted) {
+                    deleteQuietly(segment);
+                }
+            }
+            segments = 1;
+        }
+
+        private void write(long number, Map<String, Postings> lists) throws IOException {
+            Path temp = dir.resolve(number + TEMP_SUFFIX);
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeLong(indexedUpTo);
+                out.writeInt(lists.size());
+
+                for (Map.Entry<String, Postings> entry : lists.entrySet()) {
+                    Postings list = entry.getValue();
+                    out.writeUTF(entry.getKey());
+                    writeVarLong(out, list.size);
+
+                    long previous = 0;
+                    for (int i = 0; i < list.size; i++) {
+                        writeVarLong(out, list.ids[i] - previous);
+                        previous = list.ids[i];
+                    }
+                }
+            }
+
+            Files.move(temp, dir.resolve(number + SEGMENT_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            nextSegment = number + 1;
+        }
+
+        private List<Path> listSegments() {
+            List<Path> segments = new ArrayList<>();
+
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SEGMENT_SUFFIX)) {
+                stream.forEach(segments::add);
+            } catch (IOException e) {
+                log.warn("채팅 검색 색인 세그먼트 목록 조회 실패 ({}): {}", dir, e.getMessage());
+            }
+
+            segments.sort(Comparator.comparingLong(RoomIndex::segmentNumber));
+            return segments;
+        }
+
+        private static long segmentNumber(Path segment) {
+            String name = segment.getFileName().toString();
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        }
+
+        private static void deleteQuietly(Path path) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("채팅 검색 색인 파일 삭제 실패 ({}): {}", path, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 오름차순 messageId 목록. 대부분 뒤에 추가되며, 순서가 뒤바뀐 Id는 제자리에 삽입한다.
+     */
+    private static class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        boolean add(long id) {
+            if (size == 0 || ids[size - 1] < id) {
+                grow();
+                ids[size++] = id;
+                return true;
+            }
+
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return false;
+            }
+
+            int insertAt = -index - 1;
+            grow();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+            return true;
+        }
+
+        /**
+         * candidates 중 이 목록에도 있는 Id만 남긴다.
+         */
+        long[] retain(long[] candidates) {
+            long[] result = new long[candidates.length];
+            int count = 0;
+            int from = 0;
+
+            for (long candidate : candidates) {
+                int index = Arrays.binarySearch(ids, from, size, candidate);
+                if (index >= 0) {
+                    result[count++] = candidate;
+                    from = index + 1;
+                } else {
+                    from = -index - 1;
+                }
+                if (from >= size) {
+                    break;
+                }
+            }
+
+            return Arrays.copyOf(result, count);
+        }
+
+        private void grow() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new EOFException("잘못된 varint");
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+}
@@ -0,0 +1,33 @@
+package dutchiepay.backend.domain.chat.service;
+
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
+import dutchiepay.backend.domain.chat.repository.ChatRoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * message 테이블을 사용하는 기본 저장소. 모든 메시지를 가지고 있으므로 항상 마지막에 조회한다.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class JdbcChatColdStore implements ChatColdStore {
+    private final ChatRoomRepository chatRoomRepository;
+
+    /**
+     * 메시지는 전송 경로에서 이미 DB에 저장되므로 따로 기록하지 않는다.
+     */
+    @Override
+    public void saveMessages(Map<Long, List<MessageResponse>> messages) {
+    }
+
+    @Override
+    public List<MessageResponse> findBefore(Long chatRoomId, long maxMessageId, int limit) {
+        return chatRoomRepository.findMessagesBefore(chatRoomId, maxMessageId, limit);
+    }
+}
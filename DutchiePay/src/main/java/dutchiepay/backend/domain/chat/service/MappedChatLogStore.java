@@ -0,0 +1,721 @@
+package dutchiepay.backend.domain.chat.service;
+
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
+import dutchiepay.backend.domain.chat.dto.PendingChatMessage;
+import dutchiepay.backend.domain.chat.repository.MessageJdbcRepository;
+import dutchiepay.backend.global.converter.ChatMessageRedisSerializer;
+import dutchiepay.backend.global.id.SnowflakeIdGenerator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅방별 세그먼트 파일에 메시지를 append-only로 기록하는 저장소 (단일 노드 배포용)
+ * {base-dir}/{chatRoomId}/{순번}.log 파일을 FileChannel.map으로 매핑하며,
+ * 레코드는 [길이(4B)][인코딩된 메시지][길이(4B)] 형식이라 뒤에서부터 역방향으로 읽을 수 있다.
+ *
+ * - 세그먼트가 가득 차면 새 세그먼트로 넘어간다. (rolling)
+ * - INDEX_INTERVAL개 레코드마다 (지금까지의 최대 messageId -> 파일 위치)를 희소 인덱스로 기록해 조회 시작 위치를 찾는다.
+ * - 조회는 매핑된 버퍼의 slice를 바로 디코딩하므로 레코드를 힙으로 복사하지 않는다.
+ * - 동시 전송으로 messageId 순서가 약간 뒤바뀌어 기록될 수 있어, 조회 시 REORDER_WINDOW개 레코드를 더 읽어 정렬한다.
+ *   닫힌 세그먼트는 compaction에서 messageId 순으로 정렬, 중복 제거 후 사용한 크기만큼 잘라 다시 쓴다.
+ *
+ * 파일은 OS가 디스크에 반영하며, fsync는 세그먼트를 닫을 때와 checkpoint 때 한다.
+ *
+ * 로그가 빠짐없이 가지고 있는 범위는 [coveredFrom, 마지막 checkpoint]이며 {base-dir}/checkpoint 파일에 기록한다.
+ * - 처음 활성화하면 그 시점의 Id를 coveredFrom으로 기록하고, 그 이전 메시지는 조회하지 않는다. (DB에서 읽는다.)
+ * - 시작 시 checkpoint 이후 DB에 저장된 메시지(비활성화 기간, 비정상 종료로 잃은 꼬리)를 로그에 채운다.
+ * - db-retention-days가 설정되면 로그에 기록된 오래된 메시지를 DB에서 삭제해 전체 기록을 로그로 옮긴다.
+ *   채팅방의 가장 최근 메시지와 coveredFrom 이전 메시지, 로그에 없는 메시지(기록하지 못한 큰 메시지, 유실된 레코드)는 DB에 남긴다.
+ */
+@Slf4j
+@Order(1)
+@Component
+@ConditionalOnProperty(name = "chat.cold-store.mapped-log.enabled", havingValue = "true")
+public class MappedChatLogStore implements ChatColdStore {
+    private static final int INDEX_INTERVAL = 64;
+    private static final int REORDER_WINDOW = 64;
+    private static final int RECORD_OVERHEAD = 8;
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String COMPACTING_SUFFIX = ".compacting";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private final Path baseDir;
+    private final int segmentBytes;
+    private final int maxOpenRooms;
+    private final long checkpointLagMillis;
+    private final int dbRetentionDays;
+    private final String relay;
+    private final MessageJdbcRepository messageJdbcRepository;
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
+
+    // 접근 순서로 정렬해 가장 오래 사용하지 않은 채팅방부터 닫는다.
+    // 닫힌 채팅방의 매핑은 버퍼가 GC될 때 해제된다. (명시적인 unmap은 하지 않는다.)
+    private final LinkedHashMap<Long, RoomLog> rooms;
+
+    private volatile long coveredFrom;
+
+    public MappedChatLogStore(MessageJdbcRepository messageJdbcRepository,
+                              SnowflakeIdGenerator snowflakeIdGenerator,
+                              @Value("${chat.broker.relay:local}") String relay,
+                              @Value("${chat.cold-store.mapped-log.base-dir:./chat-log}") String baseDir,
+                              @Value("${chat.cold-store.mapped-log.segment-bytes:8388608}") int segmentBytes,
+                              @Value("${chat.cold-store.mapped-log.max-open-rooms:200}") int maxOpenRooms,
+                              @Value("${chat.cold-store.mapped-log.checkpoint-lag-ms:60000}") long checkpointLagMillis,
+                              @Value("${chat.cold-store.mapped-log.db-retention-days:0}") int dbRetentionDays) {
+        this.messageJdbcRepository = messageJdbcRepository;
+        this.snowflakeIdGenerator = snowflakeIdGenerator;
+        this.relay = relay;
+        this.baseDir = Paths.get(baseDir);
+        this.segmentBytes = segmentBytes;
+        this.maxOpenRooms = maxOpenRooms;
+        this.checkpointLagMillis = checkpointLagMillis;
+        this.dbRetentionDays = dbRetentionDays;
+        this.rooms = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RoomLog> eldest) {
+                if (size() > MappedChatLogStore.this.maxOpenRooms) {
+                    synchronized (eldest.getValue()) {
+                        eldest.getValue().close();
+                    }
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!"local".equals(relay)) {
+            throw new IllegalStateException("메모리 맵 채팅 로그는 단일 노드 전용입니다. chat.broker.relay가 local이 아니면 사용할 수 없습니다. (현재: " + relay + ")");
+        }
+
+        Files.createDirectories(baseDir);
+        Path checkpointFile = baseDir.resolve(CHECKPOINT_FILE);
+
+        if (Files.exists(checkpointFile)) {
+            String[] values = Files.readString(checkpointFile, StandardCharsets.UTF_8).trim().split(" ");
+            coveredFrom = Long.parseLong(values[0]);
+            backfill(SnowflakeIdGenerator.rewind(Long.parseLong(values[1]), checkpointLagMillis));
+        } else {
+            coveredFrom = snowflakeIdGenerator.nextId();
+            log.info("메모리 맵 채팅 로그 기록 시작 (coveredFrom: {}), 이전 메시지는 DB에서 조회합니다.", coveredFrom);
+        }
+
+        checkpoint();
+        log.info("메모리 맵 채팅 로그 활성화 (경로: {}, 세그먼트 {}B)", baseDir.toAbsolutePath(), segmentBytes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+
+        synchronized (rooms) {
+            for (RoomLog roomLog : rooms.values()) {
+                synchronized (roomLog) {
+                    roomLog.close();
+                }
+            }
+            rooms.clear();
+        }
+    }
+
+    @Override
+    public void saveMessages(Map<Long, List<MessageResponse>> messages) {
+        messages.forEach((chatRoomId, list) -> {
+            List<MessageResponse> sorted = new ArrayList<>(list);
+            sorted.sort(Comparator.comparing(MessageResponse::getMessageId));
+
+            // 잠금을 얻기 전에 매핑이 해제된 로그라면 다시 연다.
+            while (true) {
+                RoomLog roomLog = open(chatRoomId);
+
+                synchronized (roomLog) {
+                    if (roomLog.closed) {
+                        continue;
+                    }
+                    for (MessageResponse message : sorted) {
+                        roomLog.append(ChatMessageRedisSerializer.encode(message));
+                    }
+                    return;
+                }
+            }
+        });
+    }
+
+    @Override
+    public List<MessageResponse> findBefore(Long chatRoomId, long maxMessageId, int limit) {
+        if (maxMessageId < coveredFrom || !Files.isDirectory(roomDir(chatRoomId))) {
+            return new ArrayList<>();
+        }
+
+        while (true) {
+            RoomLog roomLog = open(chatRoomId);
+
+            synchronized (roomLog) {
+                if (!roomLog.closed) {
+                    return roomLog.readBefore(maxMessageId, limit);
+                }
+            }
+        }
+    }
+
+    /**
+     * 열려 있는 로그를 디스크에 반영하고, 지금까지 기록된 범위를 checkpoint 파일에 남긴다.
+     * 반영 전에 Id를 먼저 받아 두므로 checkpoint 이하의 메시지는 (늦게 저장되는 메시지를 제외하면) 모두 디스크에 있다.
+     */
+    @Scheduled(fixedDelayString = "${chat.cold-store.mapped-log.checkpoint-interval-ms:10000}")
+    public void checkpoint() {
+        long checkpoint = snowflakeIdGenerator.nextId();
+
+        List<RoomLog> openRooms;
+        synchronized (rooms) {
+            openRooms = new ArrayList<>(rooms.values());
+        }
+
+        for (RoomLog roomLog : openRooms) {
+            synchronized (roomLog) {
+                if (!roomLog.closed) {
+                    roomLog.force();
+                }
+            }
+        }
+
+        try {
+            Path temp = baseDir.resolve(CHECKPOINT_FILE + ".tmp");
+            Files.writeString(temp, coveredFrom + " " + checkpoint, StandardCharsets.UTF_8);
+            Files.move(temp, baseDir.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("채팅 로그 checkpoint 기록 실패", e);
+        }
+    }
+
+    /**
+     * 로그에 기록된 오래된 메시지를 DB에서 삭제한다. (db-retention-days가 0이면 하지 않는다.)
+     * 채팅방마다 로그를 디스크에 반영한 뒤, 로그의 마지막 메시지 미만이면서 보관 기간이 지난 메시지만 삭제한다.
+     * 배치마다 삭제할 messageId가 로그에 있는지 확인하고, 로그에 없는 메시지는 삭제하지 않는다.
+     */
+    @Scheduled(cron = "${chat.cold-store.mapped-log.db-purge-cron:0 0 5 * * ?}")
+    public void purgeDatabase() {
+        if (dbRetentionDays <= 0) {
+            return;
+        }
+
+        long cutoff = SnowflakeIdGenerator.rewind(snowflakeIdGenerator.nextId(), TimeUnit.DAYS.toMillis(dbRetentionDays));
+        long purged = 0;
+        long kept = 0;
+
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(baseDir, Files::isDirectory)) {
+            for (Path dir : dirs) {
+                Long chatRoomId = Long.valueOf(dir.getFileName().toString());
+                long upper;
+
+                while (true) {
+                    RoomLog roomLog = open(chatRoomId);
+
+                    synchronized (roomLog) {
+                        if (!roomLog.closed) {
+                            roomLog.force();
+                            upper = Math.min(cutoff, roomLog.maxId());
+                            break;
+                        }
+                    }
+                }
+
+                long from = coveredFrom;
+
+                while (from < upper) {
+                    List<Long> messageIds = messageJdbcRepository.findMessageIds(chatRoomId, from, upper, PURGE_BATCH_SIZE);
+                    if (messageIds.isEmpty()) {
+                        break;
+                    }
+
+                    Set<Long> logged = loggedIds(chatRoomId, messageIds.get(0), messageIds.get(messageIds.size() - 1));
+                    List<Long> deletable = messageIds.stream().filter(logged::contains).toList();
+
+                    purged += messageJdbcRepository.deleteMessages(chatRoomId, deletable);
+                    kept += messageIds.size() - deletable.size();
+
+                    if (messageIds.size() < PURGE_BATCH_SIZE) {
+                        break;
+                    }
+                    from = messageIds.get(messageIds.size() - 1) + 1;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.error("로그로 옮긴 채팅 메시지 DB 삭제 실패", e);
+        }
+
+        if (kept > 0) {
+            log.warn("로그에 없는 채팅 메시지 {}건은 DB에서 삭제하지 않았습니다.", kept);
+        }
+        log.info("로그로 옮긴 채팅 메시지 DB 삭제 완료 ({}건, {}일 이전)", purged, dbRetentionDays);
+    }
+
+    /**
+     * 채팅방 로그에 있는 fromMessageId 이상, toMessageId 이하의 messageId를 조회한다.
+     */
+    private Set<Long> loggedIds(Long chatRoomId, long fromMessageId, long toMessageId) {
+        while (true) {
+            RoomLog roomLog = open(chatRoomId);
+
+            synchronized (roomLog) {
+                if (!roomLog.closed) {
+                    return roomLog.idsBetween(fromMessageId, toMessageId);
+                }
+            }
+        }
+    }
+
+    /**
+     * fromMessageId 이후 DB에 저장된 메시지 중 채팅방 로그에 없는 것을 로그에 채운다.
+     * 마지막 메시지보다 오래된 빈자리(비정상 종료로 잃은 순서가 뒤바뀐 레코드 등)도 채우며,
+     * 이렇게 채운 레코드는 세그먼트가 compaction되어 정렬된 뒤부터 조회된다.
+     */
+    private void backfill(long fromMessageId) {
+        long after = fromMessageId;
+        long filled = 0;
+
+        while (true) {
+            List<PendingChatMessage> rows = messageJdbcRepository.findMessagesAfter(after, BACKFILL_BATCH_SIZE);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            Map<Long, List<MessageResponse>> messagesByRoom = new LinkedHashMap<>();
+            for (PendingChatMessage row : rows) {
+                messagesByRoom.computeIfAbsent(row.getChatRoomId(), k -> new ArrayList<>()).add(row.getMessage());
+            }
+
+            for (Map.Entry<Long, List<MessageResponse>> entry : messagesByRoom.entrySet()) {
+                List<MessageResponse> messages = entry.getValue();
+
+                while (true) {
+                    RoomLog roomLog = open(entry.getKey());
+
+                    synchronized (roomLog) {
+                        if (roomLog.closed) {
+                            continue;
+                        }
+                        Set<Long> logged = roomLog.idsBetween(messages.get(0).getMessageId(), messages.get(messages.size() - 1).getMessageId());
+                        for (MessageResponse message : messages) {
+                            if (!logged.contains(message.getMessageId()) && roomLog.append(ChatMessageRedisSerializer.encode(message))) {
+                                filled++;
+                            }
+                        }
+                        break;
+                    }
+                }
+            }
+
+            after = rows.get(rows.size() - 1).getMessage().getMessageId();
+            if (rows.size() < BACKFILL_BATCH_SIZE) {
+                break;
+            }
+        }
+
+        if (filled > 0) {
+            log.warn("채팅 로그에 없던 메시지 {}건을 DB에서 채움 (from: {})", filled, fromMessageId);
+        }
+    }
+
+    /**
+     * 닫힌 세그먼트를 messageId 순으로 정렬하고 중복을 제거한 뒤 사용한 크기만큼만 남긴다.
+     */
+    @Scheduled(cron = "${chat.cold-store.mapped-log.compaction-cron:0 30 4 * * ?}")
+    public void compact() {
+        int compacted = 0;
+
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(baseDir, Files::isDirectory)) {
+            for (Path dir : dirs) {
+                Long chatRoomId = Long.valueOf(dir.getFileName().toString());
+
+                while (true) {
+                    RoomLog roomLog = open(chatRoomId);
+
+                    synchronized (roomLog) {
+                        if (!roomLog.closed) {
+                            compacted += roomLog.compactSealed();
+                            break;
+                        }
+                    }
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.error("채팅 로그 compaction 실패", e);
+        }
+
+        log.info("채팅 로그 compaction 완료 (세그먼트: {})", compacted);
+    }
+
+    private RoomLog open(Long chatRoomId) {
+        synchronized (rooms) {
+            RoomLog roomLog = rooms.get(chatRoomId);
+
+            if (roomLog == null) {
+                roomLog = new RoomLog(roomDir(chatRoomId));
+                rooms.put(chatRoomId, roomLog);
+            }
+
+            return roomLog;
+        }
+    }
+
+    private Path roomDir(Long chatRoomId) {
+        return baseDir.resolve(String.valueOf(chatRoomId));
+    }
+
+    /**
+     * 채팅방 하나의 세그먼트 목록. 모든 접근은 인스턴스 잠금 안에서 이루어진다.
+     */
+    private final class RoomLog {
+        private final Path dir;
+        private final TreeMap<Long, Segment> segments = new TreeMap<>();
+        private boolean closed;
+
+        private RoomLog(Path dir) {
+            this.dir = dir;
+
+            try {
+                Files.createDirectories(dir);
+
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SEGMENT_SUFFIX)) {
+                    for (Path file : files) {
+                        String name = file.getFileName().toString();
+                        long sequence = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                        segments.put(sequence, null);
+                    }
+                }
+
+                // 마지막 세그먼트만 쓰기용으로, 나머지는 읽기 전용으로 연다.
+                for (Long sequence : new ArrayList<>(segments.keySet())) {
+                    segments.put(sequence, new Segment(segmentPath(sequence), sequence.equals(segments.lastKey())));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * @return 기록했다면 true, 세그먼트보다 커서 기록하지 않았다면 false
+         */
+        private boolean append(byte[] encoded) {
+            int size = encoded.length + RECORD_OVERHEAD;
+
+            if (size > segmentBytes) {
+                log.warn("세그먼트보다 큰 채팅 메시지는 로그에 기록하지 않습니다. ({}B)", encoded.length);
+                return false;
+            }
+
+            Segment tail = segments.isEmpty() ? null : segments.lastEntry().getValue();
+
+            if (tail == null || !tail.writable || tail.position + size > tail.buffer.capacity()) {
+                tail = roll(tail);
+            }
+
+            tail.write(encoded);
+            return true;
+        }
+
+        private Segment roll(Segment tail) {
+            long sequence = 1;
+
+            if (tail != null) {
+                tail.seal();
+                sequence = segments.lastKey() + 1;
+            }
+
+            try {
+                Segment segment = new Segment(segmentPath(sequence), true);
+                segments.put(sequence, segment);
+                return segment;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * 레코드의 messageId만 읽어 후보를 고른 뒤, 결과에 포함될 레코드만 디코딩한다.
+         */
+        private List<MessageResponse> readBefore(long maxMessageId, int limit) {
+            TreeMap<Long, Candidate> candidates = new TreeMap<>();
+            int extra = 0;
+
+            for (Segment segment : segments.descendingMap().values()) {
+                if (segment.records == 0 || segment.minId > maxMessageId) {
+                    continue;
+                }
+
+                int position = segment.startPositionFor(maxMessageId);
+
+                while (position > 0) {
+                    int length = segment.buffer.getInt(position - 4);
+                    int start = position - RECORD_OVERHEAD - length;
+                    long messageId = ChatMessageRedisSerializer.readMessageId(segment.buffer, start + 4, length);
+
+                    if (messageId <= maxMessageId && messageId >= coveredFrom) {
+                        candidates.putIfAbsent(messageId, new Candidate(segment.buffer, start + 4, length));
+                    }
+
+                    if (candidates.size() >= limit && ++extra >= REORDER_WINDOW) {
+                        break;
+                    }
+
+                    position = start;
+                }
+
+                if (candidates.size() >= limit && extra >= REORDER_WINDOW) {
+                    break;
+                }
+            }
+
+            List<MessageResponse> result = new ArrayList<>(Math.min(limit, candidates.size()));
+            for (Candidate candidate : candidates.descendingMap().values()) {
+                if (result.size() == limit) {
+                    break;
+                }
+                result.add(ChatMessageRedisSerializer.decode(candidate.buffer(), candidate.offset(), candidate.length()));
+            }
+
+            return result;
+        }
+
+        private int compactSealed() {
+            int compacted = 0;
+
+            for (Map.Entry<Long, Segment> entry : segments.entrySet()) {
+                Segment segment = entry.getValue();
+
+                if (segment.writable || segment.compacted) {
+                    continue;
+                }
+
+                try {
+                    entry.setValue(segment.rewriteSorted());
+                    compacted++;
+                } catch (IOException e) {
+                    log.error("채팅 로그 세그먼트 compaction 실패 ({})", segment.path, e);
+                }
+            }
+
+            return compacted;
+        }
+
+        /**
+         * fromMessageId 이상, toMessageId 이하인 레코드의 messageId를 모은다. (범위가 겹치는 세그먼트의 messageId만 읽는다.)
+         */
+        private Set<Long> idsBetween(long fromMessageId, long toMessageId) {
+            Set<Long> ids = new HashSet<>();
+
+            for (Segment segment : segments.values()) {
+                if (segment.records == 0 || segment.maxId < fromMessageId || segment.minId > toMessageId) {
+                    continue;
+                }
+
+                int offset = 0;
+                while (offset < segment.position) {
+                    int length = segment.buffer.getInt(offset);
+                    long messageId = ChatMessageRedisSerializer.readMessageId(segment.buffer, offset + 4, length);
+
+                    if (messageId >= fromMessageId && messageId <= toMessageId) {
+                        ids.add(messageId);
+                    }
+                    offset += RECORD_OVERHEAD + length;
+                }
+            }
+
+            return ids;
+        }
+
+        private long maxId() {
+            long maxId = Long.MIN_VALUE;
+            for (Segment segment : segments.values()) {
+                maxId = Math.max(maxId, segment.maxId);
+            }
+            return maxId;
+        }
+
+        private void force() {
+            for (Segment segment : segments.values()) {
+                if (segment.writable) {
+                    segment.buffer.force();
+                }
+            }
+        }
+
+        /**
+         * 쓰기 중인 세그먼트를 디스크에 반영하고 버퍼 참조를 놓는다.
+         */
+        private void close() {
+            force();
+            segments.clear();
+            closed = true;
+        }
+
+        private Path segmentPath(long sequence) {
+            return dir.resolve(String.format("%020d", sequence) + SEGMENT_SUFFIX);
+        }
+    }
+
+    private record Candidate(ByteBuffer buffer, int offset, int length) {
+    }
+
+    /**
+     * 세그먼트 파일 하나. 열 때 앞에서부터 레코드를 검증하며 희소 인덱스를 만들고,
+     * 길이가 맞지 않는 레코드(기록 중 종료된 경우)부터는 버린다.
+     */
+    private final class Segment {
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        // 지금까지의 최대 messageId -> 해당 레코드 끝 위치
+        private final TreeMap<Long, Integer> index = new TreeMap<>();
+        private boolean writable;
+        private boolean compacted;
+        private int position;
+        private int records;
+        private long minId = Long.MAX_VALUE;
+        private long maxId = Long.MIN_VALUE;
+
+        private Segment(Path path, boolean writable) throws IOException {
+            this.path = path;
+            this.writable = writable;
+
+            try (FileChannel channel = writable
+                    ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                    : FileChannel.open(path, StandardOpenOption.READ)) {
+                this.buffer = writable
+                        ? channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes)
+                        : channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                this.compacted = !writable && channel.size() < segmentBytes;
+            }
+
+            recover();
+        }
+
+        private void recover() {
+            int offset = 0;
+
+            while (offset + RECORD_OVERHEAD <= buffer.capacity()) {
+                int length = buffer.getInt(offset);
+                int end = offset + RECORD_OVERHEAD + length;
+
+                if (length <= 0 || end > buffer.capacity() || buffer.getInt(end - 4) != length) {
+                    break;
+                }
+
+                indexRecord(ChatMessageRedisSerializer.readMessageId(buffer.slice(offset + 4, length)), end);
+                offset = end;
+            }
+
+            position = offset;
+        }
+
+        private void write(byte[] encoded) {
+            int end = position + RECORD_OVERHEAD + encoded.length;
+
+            buffer.putInt(position, encoded.length);
+            buffer.put(position + 4, encoded);
+            buffer.putInt(end - 4, encoded.length);
+
+            indexRecord(ChatMessageRedisSerializer.readMessageId(ByteBuffer.wrap(encoded)), end);
+            position = end;
+        }
+
+        private void indexRecord(Long messageId, int end) {
+            minId = Math.min(minId, messageId);
+            maxId = Math.max(maxId, messageId);
+            records++;
+
+            if (records % INDEX_INTERVAL == 0) {
+                index.put(maxId, end);
+            }
+        }
+
+        /**
+         * maxMessageId 이하의 레코드를 찾기 위해 역방향 조회를 시작할 위치를 반환한다.
+         * 순서가 뒤바뀐 레코드를 놓치지 않도록 인덱스 구간 하나만큼 여유를 둔다.
+         */
+        private int startPositionFor(long maxMessageId) {
+            Map.Entry<Long, Integer> entry = index.higherEntry(maxMessageId);
+
+            if (entry == null) {
+                return position;
+            }
+
+            Map.Entry<Long, Integer> next = index.higherEntry(entry.getKey());
+            return next == null ? position : next.getValue();
+        }
+
+        private void seal() {
+            buffer.force();
+            writable = false;
+        }
+
+        /**
+         * 레코드를 messageId 순으로 정렬하고 중복을 제거해 사용한 크기만큼의 새 파일로 교체한다.
+         */
+        private Segment rewriteSorted() throws IOException {
+            TreeMap<Long, ByteBuffer> sorted = new TreeMap<>();
+            int offset = 0;
+
+            while (offset < position) {
+                int length = buffer.getInt(offset);
+                ByteBuffer record = buffer.slice(offset + 4, length);
+                sorted.putIfAbsent(ChatMessageRedisSerializer.readMessageId(record), record);
+                offset += RECORD_OVERHEAD + length;
+            }
+
+            Path temp = path.resolveSibling(path.getFileName() + COMPACTING_SUFFIX);
+            ByteBuffer out = ByteBuffer.allocate(position);
+
+            for (ByteBuffer record : sorted.values()) {
+                out.putInt(record.remaining());
+                out.put(record.duplicate());
+                out.putInt(record.remaining());
+            }
+            out.flip();
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+                channel.force(true);
+            }
+
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            return new Segment(path, false);
+        }
+    }
+}
@@ -1,75 +1,87 @@
 package dutchiepay.backend.domain.chat.service;
 
+import dutchiepay.backend.domain.chat.dto.MessageBatchResponse;
 import dutchiepay.backend.domain.chat.dto.MessageResponse;
+import dutchiepay.backend.domain.chat.dto.PendingChatMessage;
+import dutchiepay.backend.domain.chat.repository.MessageJdbcRepository;
 import dutchiepay.backend.domain.chat.repository.MessageRepository;
 import dutchiepay.backend.entity.ChatRoom;
 import dutchiepay.backend.entity.Message;
 import dutchiepay.backend.entity.User;
 import dutchiepay.backend.entity.UserChatRoom;
+import dutchiepay.backend.global.websocket.broker.ChatBroadcaster;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MessageService {
-    private static final String CHAT_ROOM_PREFIX = "/sub/chat/";
-    private final SimpMessagingTemplate simpMessagingTemplate;
+    private final ChatBroadcaster chatBroadcaster;
     private final MessageRepository messageRepository;
-    private final RedisMessageService redisMessageService;
+    private final MessageJdbcRepository messageJdbcRepository;
+    private final ChatHotTier chatHotTier;
+    private final ChatRoomSummaryService chatRoomSummaryService;
+    private final SystemMessageFactory systemMessageFactory;
 
-    public void enterChatRoom(User user, ChatRoom chatRoom) {
-        Message enterMessage = Message.builder()
-                .chatroom(chatRoom)
-                .type("enter")
-                .senderId(user.getUserId())
-                .content(user.getNickname() + "님이 입장하셨습니다.")
-                .date(LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")))
-                .time(LocalTime.now().format(DateTimeFormatter.ofPattern("a h:m").withLocale(Locale.KOREA)))
-                .build();
-
-        enterMessage = messageRepository.save(enterMessage);
-        redisMessageService.saveMessage(String.valueOf(chatRoom.getChatroomId()), enterMessage);
-
-        simpMessagingTemplate.convertAndSend(CHAT_ROOM_PREFIX + chatRoom.getChatroomId(), MessageResponse.of(enterMessage));
+    public Message enterChatRoom(User user, ChatRoom chatRoom) {
+        return sendSystemMessage(systemMessageFactory.create(chatRoom, SystemMessageFactory.Type.ENTER, user));
     }
 
     public void leaveChatRoom(UserChatRoom ucr) {
-        Message leaveMessage = Message.builder()
-                .chatroom(ucr.getChatroom())
-                .type("out")
-                .senderId(ucr.getUser().getUserId())
-                .content(ucr.getUser().getNickname() + "님이 퇴장하셨습니다.")
-                .date(LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")))
-                .time(LocalTime.now().format(DateTimeFormatter.ofPattern("a h:m").withLocale(Locale.KOREA)))
-                .build();
+        sendSystemMessage(systemMessageFactory.create(ucr.getChatroom(), SystemMessageFactory.Type.OUT, ucr.getUser()));
+    }
+
+    /**
+     * 여러 유저의 강퇴 메시지를 한 번의 배치로 저장하고 하나의 프레임으로 전파한다.
+     * @param chatRoomId 채팅방 Id
+     * @param users 강퇴된 유저 목록
+     */
+    public void kickedChatRoom(Long chatRoomId, List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
 
-        leaveMessage = messageRepository.save(leaveMessage);
-        redisMessageService.saveMessage(String.valueOf(ucr.getChatroom().getChatroomId()), leaveMessage);
+        List<MessageResponse> messages = systemMessageFactory.createAll(SystemMessageFactory.Type.BAN, users);
 
-        simpMessagingTemplate.convertAndSend(CHAT_ROOM_PREFIX + ucr.getChatroom().getChatroomId(), MessageResponse.of(leaveMessage));
+        List<PendingChatMessage> pendingMessages = new ArrayList<>(messages.size());
+        for (MessageResponse message : messages) {
+            pendingMessages.add(PendingChatMessage.builder()
+                    .chatRoomId(chatRoomId)
+                    .message(message)
+                    .subscriberIds(Collections.emptyList())
+                    .build());
+        }
+
+        Map<Long, List<MessageResponse>> messagesByRoom = Map.of(chatRoomId, messages);
+
+        messageJdbcRepository.insertMessages(pendingMessages);
+        messageJdbcRepository.updateChatRoomSummaries(messagesByRoom, Set.of());
+        chatHotTier.saveMessages(messagesByRoom);
+
+        if (messages.size() == 1) {
+            chatBroadcaster.broadcast(chatRoomId, messages.get(0));
+        } else {
+            chatBroadcaster.broadcast(chatRoomId, MessageBatchResponse.of(messages));
+        }
     }
 
-    public void kickedChatRoom(UserChatRoom target) {
-        Message kickedMessage = Message.builder()
-                .chatroom(target.getChatroom())
-                .type("ban")
-                .senderId(target.getUser().getUserId())
-                .content(target.getUser().getNickname() + "님이 강퇴당하셨습니다.")
-                .date(LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")))
-                .time(LocalTime.now().format(DateTimeFormatter.ofPattern("a h:m").withLocale(Locale.KOREA)))
-                .build();
+    private Message sendSystemMessage(Message message) {
+        Long chatRoomId = message.getChatroom().getChatroomId();
+
+        message = messageRepository.save(message);
+        chatRoomSummaryService.messageSaved(message, Collections.emptyList());
+        chatHotTier.saveMessage(String.valueOf(chatRoomId), message);
 
-        kickedMessage = messageRepository.save(kickedMessage);
-        redisMessageService.saveMessage(String.valueOf(target.getChatroom().getChatroomId()), kickedMessage);
+        chatBroadcaster.broadcast(chatRoomId, MessageResponse.of(message));
 
-        simpMessagingTemplate.convertAndSend(CHAT_ROOM_PREFIX + target.getChatroom().getChatroomId(), MessageResponse.of(kickedMessage));
+        return message;
     }
 }
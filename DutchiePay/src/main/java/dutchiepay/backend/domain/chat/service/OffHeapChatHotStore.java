@@ -0,0 +1,246 @@
+package dutchiepay.backend.domain.chat.service;
+
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
+import dutchiepay.backend.global.converter.ChatMessageRedisSerializer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅방별 최근 메시지를 프로세스 내 off-heap 링 버퍼에 보관하는 저장소 (단일 노드 배포용)
+ * 채팅방마다 direct ByteBuffer를 고정 크기 슬롯으로 나누어 최근 messages-per-room개의 인코딩된 메시지를 보관하고,
+ * 채팅방 수가 max-rooms를 넘으면 가장 오래 사용하지 않은 채팅방의 버퍼를 회수해 재사용한다.
+ *
+ * 링 버퍼는 가장 오래된 메시지 이후의 메시지를 빠짐없이 가지고 있어야 하므로
+ * 늦게 도착한 메시지는 Id 순서에 맞는 위치에 끼워 넣고, 슬롯보다 큰 메시지나 가장 오래된 메시지보다 이전 메시지가 들어오면
+ * 버퍼를 비우고 다음 저장소(Redis)에 맡긴다.
+ * 다른 노드에서 저장된 메시지는 알 수 없으므로 다중 노드 배포(chat.broker.relay가 local이 아닌 경우)에서는 기동하지 않는다.
+ */
+@Slf4j
+@Order(1)
+@Component
+@ConditionalOnProperty(name = "chat.hot-store.off-heap.enabled", havingValue = "true")
+public class OffHeapChatHotStore implements ChatHotStore {
+    private final int messagesPerRoom;
+    private final int slotBytes;
+    private final int maxRooms;
+
+    // 접근 순서로 정렬해 가장 오래 사용하지 않은 채팅방부터 회수한다.
+    private final LinkedHashMap<Long, RoomRing> rings;
+    private final Deque<ByteBuffer> freeBuffers = new ArrayDeque<>();
+
+    @Value("${chat.broker.relay:local}")
+    private String relay;
+
+    public OffHeapChatHotStore(@Value("${chat.hot-store.off-heap.messages-per-room:100}") int messagesPerRoom,
+                               @Value("${chat.hot-store.off-heap.slot-bytes:1024}") int slotBytes,
+                               @Value("${chat.hot-store.off-heap.max-rooms:500}") int maxRooms) {
+        this.messagesPerRoom = messagesPerRoom;
+        this.slotBytes = slotBytes;
+        this.maxRooms = maxRooms;
+        this.rings = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RoomRing> eldest) {
+                if (size() > OffHeapChatHotStore.this.maxRooms) {
+                    release(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!"local".equals(relay)) {
+            throw new IllegalStateException("off-heap 채팅 저장소는 단일 노드 전용입니다. chat.broker.relay가 local이 아니면 사용할 수 없습니다. (현재: " + relay + ")");
+        }
+        log.info("off-heap 채팅 저장소 활성화 (채팅방당 {}개, 슬롯 {}B, 최대 {}개 채팅방, 최대 {}MB)",
+                messagesPerRoom, slotBytes, maxRooms, (long) messagesPerRoom * slotBytes * maxRooms / (1024 * 1024));
+    }
+
+    @Override
+    public void saveMessages(Map<Long, List<MessageResponse>> messages) {
+        messages.forEach((chatRoomId, list) -> {
+            // 잠금을 얻기 전에 회수된 링이라면 새 링을 받아 다시 시도한다.
+            while (true) {
+                RoomRing ring = getOrCreate(chatRoomId);
+
+                synchronized (ring) {
+                    if (ring.closed) {
+                        continue;
+                    }
+                    for (MessageResponse message : list) {
+                        ring.append(message);
+                    }
+                    return;
+                }
+            }
+        });
+    }
+
+    @Override
+    public List<MessageResponse> findBefore(Long chatRoomId, long maxMessageId, int limit) {
+        RoomRing ring;
+
+        synchronized (rings) {
+            ring = rings.get(chatRoomId);
+        }
+
+        if (ring == null) {
+            return new ArrayList<>();
+        }
+
+        synchronized (ring) {
+            return ring.readBefore(maxMessageId, limit);
+        }
+    }
+
+    private RoomRing getOrCreate(Long chatRoomId) {
+        synchronized (rings) {
+            RoomRing ring = rings.get(chatRoomId);
+
+            if (ring == null) {
+                ByteBuffer buffer = freeBuffers.poll();
+                if (buffer == null) {
+                    buffer = ByteBuffer.allocateDirect(messagesPerRoom * slotBytes);
+                }
+                ring = new RoomRing(buffer);
+                rings.put(chatRoomId, ring);
+            }
+
+            return ring;
+        }
+    }
+
+    /**
+     * 회수된 채팅방의 버퍼를 재사용 목록에 돌려놓는다. rings 잠금 안에서 호출된다.
+     */
+    private void release(RoomRing ring) {
+        synchronized (ring) {
+            ring.closed = true;
+            freeBuffers.push(ring.buffer);
+        }
+    }
+
+    /**
+     * 채팅방 하나의 링 버퍼. 슬롯 i는 buffer[i * slotBytes, (i + 1) * slotBytes) 영역을 사용한다.
+     * 메시지는 Id 순서로 정렬되며, k번째로 오래된 메시지는 슬롯 order[(start + k) % messagesPerRoom]에 있다.
+     * 늦게 도착한 메시지를 끼워 넣을 때 슬롯 내용은 옮기지 않고 order만 옮긴다.
+     * 모든 접근은 인스턴스 잠금 안에서 이루어진다.
+     */
+    private final class RoomRing {
+        private final ByteBuffer buffer;
+        private final long[] messageIds = new long[messagesPerRoom];
+        private final int[] lengths = new int[messagesPerRoom];
+        private final int[] order = new int[messagesPerRoom];
+        private int start; // 가장 오래된 메시지의 order 위치
+        private int size;
+        // 버퍼를 비울 때 버린 가장 큰 Id. 이 Id 이하의 메시지는 빠진 메시지가 있을 수 있어 받지 않는다.
+        private long clearedUpTo = Long.MIN_VALUE;
+        private boolean closed;
+
+        private RoomRing(ByteBuffer buffer) {
+            this.buffer = buffer;
+            for (int i = 0; i < messagesPerRoom; i++) {
+                order[i] = i;
+            }
+        }
+
+        private void append(MessageResponse message) {
+            long messageId = message.getMessageId();
+            int position = size;
+
+            if (size > 0 && messageId <= idAt(size - 1)) {
+                if (messageId < idAt(0)) {
+                    // 가장 오래된 메시지보다 이전 메시지는 위치를 정할 수 없으므로 버퍼를 비운다.
+                    clear(messageId);
+                    return;
+                }
+
+                // 늦게 도착한 메시지는 대부분 최신 메시지 근처에 들어가므로 뒤에서부터 찾는다.
+                while (idAt(position - 1) > messageId) {
+                    position--;
+                }
+                if (idAt(position - 1) == messageId) {
+                    return;
+                }
+            } else if (messageId <= clearedUpTo) {
+                return;
+            }
+
+            byte[] encoded = ChatMessageRedisSerializer.encode(message);
+
+            if (encoded.length > slotBytes) {
+                // 빠뜨린 메시지가 생기지 않도록 버퍼를 비운다. 이후 조회는 다음 저장소로 넘어간다.
+                clear(messageId);
+                return;
+            }
+
+            if (size == messagesPerRoom) {
+                // 가장 오래된 메시지의 슬롯을 재사용한다.
+                start = (start + 1) % messagesPerRoom;
+                size--;
+                position--;
+            }
+
+            // order[start + size]는 비어 있는 슬롯이다. 그 앞의 위치를 한 칸씩 밀고 빈 슬롯을 position에 놓는다.
+            int slot = order[index(size)];
+            for (int k = size; k > position; k--) {
+                order[index(k)] = order[index(k - 1)];
+            }
+            order[index(position)] = slot;
+            size++;
+
+            buffer.put(slot * slotBytes, encoded);
+            messageIds[slot] = messageId;
+            lengths[slot] = encoded.length;
+        }
+
+        private List<MessageResponse> readBefore(long maxMessageId, int limit) {
+            List<MessageResponse> result = new ArrayList<>(Math.min(limit, size));
+
+            if (closed) {
+                return result;
+            }
+
+            for (int k = size - 1; k >= 0 && result.size() < limit; k--) {
+                int slot = order[index(k)];
+
+                if (messageIds[slot] > maxMessageId) {
+                    continue;
+                }
+
+                // 슬롯을 힙 배열로 복사하지 않고 off-heap 버퍼에서 바로 읽는다.
+                result.add(ChatMessageRedisSerializer.decode(buffer, slot * slotBytes, lengths[slot]));
+            }
+
+            return result;
+        }
+
+        private long idAt(int position) {
+            return messageIds[order[index(position)]];
+        }
+
+        private int index(int position) {
+            return (start + position) % messagesPerRoom;
+        }
+
+        private void clear(long messageId) {
+            clearedUpTo = Math.max(clearedUpTo, size > 0 ? Math.max(idAt(size - 1), messageId) : messageId);
+            start = 0;
+            size = 0;
+        }
+    }
+}
@@ -1,146 +1,123 @@
 package dutchiepay.backend.domain.chat.service;
 
-import dutchiepay.backend.domain.chat.dto.GetMessageListResponseDto;
 import dutchiepay.backend.domain.chat.dto.MessageResponse;
-import dutchiepay.backend.entity.Message;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.core.annotation.Order;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Service
+@Order(2)
 @RequiredArgsConstructor
 @Slf4j
-public class RedisMessageService {
+public class RedisMessageService implements ChatHotStore {
     private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
 
     // Redis key 형식: chat:{chatRoomId}:messages:yyyyMMdd
     private static final String CHAT_KEY_PREFIX = "chat:";
     private static final String MESSAGES_SUFFIX = ":messages:";
+    private static final String DAYS_SUFFIX = ":days";
+    // 메시지가 캐시된 채팅방 목록
+    public static final String ROOMS_KEY = "chat:rooms";
+    // DB 동기화가 필요한 채팅방 목록
+    public static final String SYNC_PENDING_KEY = "chat:sync:pending";
+    private static final String UNSYNCED_SUFFIX = ":unsynced";
+
+    /**
+     * 여러 메시지를 파이프라인으로 한 번에 저장한다.
+     * 메시지와 함께 채팅방별 날짜 색인(chat:{chatRoomId}:days)과 채팅방 목록(chat:rooms)을 갱신해 KEYS 없이 키를 찾을 수 있도록 한다.
+     * 모든 저장 경로가 DB에 먼저 저장하므로 동기화 대기 목록은 갱신하지 않는다. (DB 저장이 실패한 경우는 ChatHotTier에서 등록한다.)
+     * @param messages chatRoomId -> 메시지 목록
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void saveMessages(Map<Long, List<MessageResponse>> messages) {
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            messages.forEach((chatRoomId, list) -> {
+                byte[] roomId = toBytes(String.valueOf(chatRoomId));
+
+                for (MessageResponse mr : list) {
+                    String date = mr.getDate().replaceAll("[^0-9]", "");
+                    connection.zSetCommands().zAdd(toBytes(messagesKey(chatRoomId, date)),
+                            mr.getMessageId(), valueSerializer.serialize(mr));
+                    connection.zSetCommands().zAdd(toBytes(daysKey(chatRoomId)), Long.parseLong(date), toBytes(date));
+                }
 
-    public void saveMessage(String chatRoomId, Message message) {
-        String redisKey = CHAT_KEY_PREFIX + chatRoomId + MESSAGES_SUFFIX + message.getDate().replaceAll("[^0-9]", "");
-        redisTemplate.opsForZSet().add(redisKey, MessageResponse.of(message), message.getMessageId());
-    }
-
-    public GetMessageListResponseDto getMessageFromMemory(Long chatRoomId, String cursorDate, Long cursorMessageId, Long limit) {
-        List<MessageResponse> totalDataList = new ArrayList<>();
-        String nextCursor;
-        Long remainingLimit = limit;
-        String currentDate = cursorDate;
+                connection.setCommands().sAdd(toBytes(ROOMS_KEY), roomId);
+            });
 
-        LocalDate currentLocalDate = LocalDate.now();
-        LocalDate sevenDaysAgo = currentLocalDate.minusDays(7);
+            return null;
+        });
+    }
 
-        while (remainingLimit > 0) {
-            LocalDate targetDate = LocalDate.parse(currentDate, DateTimeFormatter.ofPattern("yyyyMMdd"));
-            if (targetDate.isBefore(sevenDaysAgo)) {
-                break;
-            }
+    /**
+     * 날짜 색인으로 메시지가 있는 날짜 키만 골라 한 번의 파이프라인으로 조회하고 Id 내림차순으로 합친다.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<MessageResponse> findBefore(Long chatRoomId, long maxMessageId, int limit) {
+        Set<String> days = stringRedisTemplate.opsForZSet().reverseRange(daysKey(chatRoomId), 0, -1);
 
-            String redisKey = CHAT_KEY_PREFIX + chatRoomId + MESSAGES_SUFFIX + currentDate;
-
-            Set<Object> messages;
-            if (cursorMessageId == null) {
-                messages = redisTemplate.opsForZSet()
-                        .reverseRange(redisKey, 0, remainingLimit);
-            } else {
-                messages = redisTemplate.opsForZSet()
-                        .reverseRangeByScore(redisKey,
-                                0,
-                                cursorMessageId,
-                                0,
-                                remainingLimit + 1L);
-            }
+        if (days == null || days.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-            if (messages == null || messages.isEmpty()) {
-                LocalDate date = LocalDate.parse(currentDate, DateTimeFormatter.ofPattern("yyyyMMdd"));
-                LocalDate previousDate = date.minusDays(1);
-                currentDate = previousDate.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-                cursorMessageId = null;
-                continue;
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String day : days) {
+                connection.zSetCommands().zRevRangeByScore(toBytes(messagesKey(chatRoomId, day)),
+                        Double.NEGATIVE_INFINITY, maxMessageId, 0, limit);
             }
-
-            int count = 0;
-            for (Object obj : messages) {
-                if (count < remainingLimit) {
-                    MessageResponse mr = (MessageResponse) obj;
-                    MessageResponse mr2 = MessageResponse.builder()
-                            .messageId(mr.getMessageId())
-                            .content(mr.getContent())
-                            .date(LocalDate.parse(mr.getDate(), DateTimeFormatter.ofPattern("yyyyMMdd"))
-                                    .format(DateTimeFormatter.ofPattern("yyyy-MM-dd")))
-                            .time(mr.getTime())
-                            .senderId(mr.getSenderId())
-                            .type(mr.getType())
-                            .unreadCount(mr.getUnreadCount())
-                            .build();
-
-                    totalDataList.add(mr2);
-                } else {
-                    MessageResponse lastMessage = (MessageResponse) obj;
-                    nextCursor = currentDate + lastMessage.getMessageId();
-
-                    Collections.reverse(totalDataList);
-
-                    return GetMessageListResponseDto.builder()
-                            .messages(totalDataList)
-                            .cursor(nextCursor)
-                            .build();
+            return null;
+        });
+
+        List<MessageResponse> messages = new ArrayList<>();
+        for (Object result : results) {
+            if (result instanceof Set<?> set) {
+                for (Object obj : set) {
+                    messages.add((MessageResponse) obj);
                 }
-                count++;
             }
-
-            remainingLimit -= messages.size();
-            if (remainingLimit > 0) {
-                LocalDate date = LocalDate.parse(currentDate, DateTimeFormatter.ofPattern("yyyyMMdd"));
-                LocalDate previousDate = date.minusDays(1);
-                currentDate = previousDate.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-                cursorMessageId = null;
+            // 날짜 키는 최신순으로 조회하므로 앞쪽 날짜에서 충분히 모였다면 나머지는 볼 필요가 없다.
+            if (messages.size() >= limit) {
+                break;
             }
         }
 
-        LocalDate date = LocalDate.parse(currentDate, DateTimeFormatter.ofPattern("yyyyMMdd"));
-        LocalDate previousDate = date.minusDays(1);
+        messages.sort(Comparator.comparing(MessageResponse::getMessageId).reversed());
 
-        Collections.reverse(totalDataList);
+        return messages.size() > limit ? new ArrayList<>(messages.subList(0, limit)) : messages;
+    }
 
-        return GetMessageListResponseDto.builder()
-                .messages(totalDataList)
-                .cursor(previousDate.format(DateTimeFormatter.ofPattern("yyyyMMdd")) + "00")
-                .build();
+    public static String messagesKey(Long chatRoomId, String date) {
+        return CHAT_KEY_PREFIX + chatRoomId + MESSAGES_SUFFIX + date;
     }
 
-    public void decreaseUnreadCountWithCursor(Long chatRoomId, Long cursorId) {
-        String pattern = "chat:" + chatRoomId + ":messages:*";
-        Set<String> keys = redisTemplate.keys(pattern);
+    public static String daysKey(Long chatRoomId) {
+        return CHAT_KEY_PREFIX + chatRoomId + DAYS_SUFFIX;
+    }
 
-        if (keys == null || keys.isEmpty()) {
-            return;
-        }
+    /**
+     * DB에 저장되지 않은 메시지 목록 (원소: yyyyMMdd:messageId)
+     */
+    public static String unsyncedKey(Long chatRoomId) {
+        return CHAT_KEY_PREFIX + chatRoomId + UNSYNCED_SUFFIX;
+    }
 
-        for (String key : keys) {
-            Set<Object> messages = redisTemplate.opsForZSet().rangeByScore(key, cursorId, Double.MAX_VALUE);
-
-            if (messages != null) {
-                for (Object obj : messages) {
-                    MessageResponse mr = (MessageResponse) obj;
-                    if (mr.getMessageId() > cursorId && mr.getUnreadCount() > 0) {
-                        redisTemplate.opsForZSet().remove(key, mr);
-                        mr.setUnreadCount(mr.getUnreadCount() - 1);
-                        redisTemplate.opsForZSet().add(key, mr, mr.getMessageId());
-                    }
-                }
-            } else {
-                break;
-            }
-        }
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
     }
 }
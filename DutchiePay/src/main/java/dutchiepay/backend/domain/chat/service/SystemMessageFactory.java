@@ -0,0 +1,80 @@
+package dutchiepay.backend.domain.chat.service;
+
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
+import dutchiepay.backend.entity.ChatRoom;
+import dutchiepay.backend.entity.Message;
+import dutchiepay.backend.entity.User;
+import dutchiepay.backend.global.id.SnowflakeIdGenerator;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 입장/퇴장/강퇴 시스템 메시지를 만든다.
+ * 포맷터는 한 번만 만들고, 여러 명을 한 번에 처리할 때는 날짜와 시간을 한 번만 계산한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SystemMessageFactory {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("a h:m").withLocale(Locale.KOREA);
+
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Type {
+        ENTER("enter", "님이 입장하셨습니다."),
+        OUT("out", "님이 퇴장하셨습니다."),
+        BAN("ban", "님이 강퇴당하셨습니다.");
+
+        private final String value;
+        private final String suffix;
+    }
+
+    /**
+     * JPA로 저장할 시스템 메시지 엔티티를 만든다. Id는 저장 시 발급된다.
+     */
+    public Message create(ChatRoom chatRoom, Type type, User user) {
+        LocalDateTime now = LocalDateTime.now();
+
+        return Message.builder()
+                .chatroom(chatRoom)
+                .type(type.getValue())
+                .senderId(user.getUserId())
+                .content(user.getNickname() + type.getSuffix())
+                .date(now.format(DATE_FORMATTER))
+                .time(now.format(TIME_FORMATTER))
+                .build();
+    }
+
+    /**
+     * 여러 유저의 시스템 메시지를 Id를 발급해 한 번에 만든다. (JDBC 배치 저장용)
+     */
+    public List<MessageResponse> createAll(Type type, List<User> users) {
+        LocalDateTime now = LocalDateTime.now();
+        String date = now.format(DATE_FORMATTER);
+        String time = now.format(TIME_FORMATTER);
+
+        List<MessageResponse> messages = new ArrayList<>(users.size());
+        for (User user : users) {
+            messages.add(MessageResponse.builder()
+                    .messageId(snowflakeIdGenerator.nextId())
+                    .senderId(user.getUserId())
+                    .type(type.getValue())
+                    .content(user.getNickname() + type.getSuffix())
+                    .unreadCount(0)
+                    .date(date)
+                    .time(time)
+                    .build());
+        }
+
+        return messages;
+    }
+}
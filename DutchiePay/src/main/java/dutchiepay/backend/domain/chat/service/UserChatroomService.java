@@ -6,39 +6,54 @@ import dutchiepay.backend.domain.chat.exception.ChatErrorCode;
 import dutchiepay.backend.domain.chat.exception.ChatException;
 import dutchiepay.backend.domain.chat.repository.UserChatroomRepository;
 import dutchiepay.backend.entity.ChatRoom;
+import dutchiepay.backend.entity.Message;
 import dutchiepay.backend.entity.User;
 import dutchiepay.backend.entity.UserChatRoom;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class UserChatroomService {
     private final UserChatroomRepository userChatroomRepository;
     private final MessageService messageService;
+    private final ChatReadWatermarkService chatReadWatermarkService;
+    private final ChatRoomCache chatRoomCache;
+    private final ChatRoomCapacityService chatRoomCapacityService;
 
     @Transactional
     public ChatRoom joinChatRoom(User user, ChatRoom chatRoom, String role) {
+        chatRoomCapacityService.reserve(chatRoom);
+
+        // 입장 메시지까지 읽은 것으로 처리해 입장 이전 메시지의 안 읽은 인원에 포함되지 않도록 한다.
+        Message enterMessage = messageService.enterChatRoom(user, chatRoom);
+
         UserChatRoom userChatRoom = UserChatRoom.builder()
                 .user(user)
                 .chatroom(chatRoom)
                 .role(role)
                 .banned(false)
+                .lastMessageId(enterMessage.getMessageId())
                 .build();
 
         userChatroomRepository.save(userChatRoom);
-        messageService.enterChatRoom(user, chatRoom);
+        chatReadWatermarkService.markRead(chatRoom.getChatroomId(), user.getUserId(), enterMessage.getMessageId());
 
         chatRoom.joinUser();
+        chatRoomCache.invalidate(chatRoom.getChatroomId());
 
         return chatRoom;
     }
 
-    public Boolean isBanned(Long userId, Long chatRoomId) {
-        return userChatroomRepository.findByUserBanned(userId, chatRoomId);
+    public boolean isBanned(Long userId, Long chatRoomId) {
+        return chatRoomCache.isBanned(chatRoomId, userId);
     }
 
     public UserChatRoom findByUserAndChatRoomId(User user, Long chatRoomId) {
@@ -48,13 +63,43 @@ public class UserChatroomService {
 
     public void leaveChatRoom(UserChatRoom ucr) {
         userChatroomRepository.delete(ucr);
+        chatRoomCapacityService.release(ucr.getChatroom().getChatroomId());
+        chatReadWatermarkService.remove(ucr.getChatroom().getChatroomId(), ucr.getUser().getUserId());
         messageService.leaveChatRoom(ucr);
+        chatRoomCache.invalidate(ucr.getChatroom().getChatroomId());
     }
 
-    public void kickedChatRoom(UserChatRoom target) {
-        target.kick();
-        userChatroomRepository.save(target);
-        messageService.kickedChatRoom(target);
+    /**
+     * 여러 유저를 한 번에 강퇴한다. 이미 강퇴된 유저는 제외한다.
+     * @param chatRoomId 채팅방 Id
+     * @param userIds 강퇴할 유저 Id 목록
+     * @throws ChatException 채팅방에 속하지 않은 유저가 포함된 경우
+     */
+    public void kickedChatRoom(Long chatRoomId, Collection<Long> userIds) {
+        Set<Long> distinctUserIds = new HashSet<>(userIds);
+        List<UserChatRoom> targets = userChatroomRepository.findAllByChatRoomIdAndUserIds(chatRoomId, distinctUserIds);
+
+        if (targets.size() != distinctUserIds.size()) {
+            throw new ChatException(ChatErrorCode.INVALID_CHAT);
+        }
+
+        List<Long> kickedUserIds = new ArrayList<>(targets.size());
+        List<User> kickedUsers = new ArrayList<>(targets.size());
+        for (UserChatRoom target : targets) {
+            if (!target.getBanned()) {
+                kickedUserIds.add(target.getUser().getUserId());
+                kickedUsers.add(target.getUser());
+            }
+        }
+
+        if (kickedUserIds.isEmpty()) {
+            return;
+        }
+
+        userChatroomRepository.banUsers(chatRoomId, kickedUserIds);
+        chatReadWatermarkService.remove(chatRoomId, kickedUserIds);
+        messageService.kickedChatRoom(chatRoomId, kickedUsers);
+        chatRoomCache.invalidate(chatRoomId);
     }
 
     public List<UserChatRoom> findAllByUser(User user) {
@@ -69,9 +114,8 @@ public class UserChatroomService {
         return userChatroomRepository.findByUserAndChatroom(user, chatRoom) != null;
     }
 
-    public UserChatRoom findByUserUserIdAndChatRoomId(Long userId, Long chatRoomId) {
-        return userChatroomRepository.findByUserUserIdAndChatroomChatroomId(userId, chatRoomId)
-                .orElseThrow(() -> new ChatException(ChatErrorCode.INVALID_CHAT));
+    public List<Long> getMemberIds(Long chatRoomId) {
+        return userChatroomRepository.findMemberIds(chatRoomId);
     }
 
     public List<GetChatRoomUsersResponseDto> getChatRoomUsers(Long chatRoomId) {
@@ -83,6 +127,7 @@ public class UserChatroomService {
     }
 
     public void updateLastMessageToUser(Long userId, Long chatRoomId) {
-        userChatroomRepository.updateLastMessageToUser(userId, chatRoomId);
+        Long latestMessageId = userChatroomRepository.updateLastMessageToUser(userId, chatRoomId);
+        chatReadWatermarkService.markRead(chatRoomId, userId, latestMessageId);
     }
 }
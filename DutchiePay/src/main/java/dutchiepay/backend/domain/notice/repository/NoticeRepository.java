@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NoticeRepository extends JpaRepository<Notice, Long>, QNoticeRepository {
@@ -16,6 +17,10 @@ public interface NoticeRepository extends JpaRepository<Notice, Long>, QNoticeRe
     @Query("SELECT CASE WHEN COUNT(n) > 0 THEN true ELSE false END FROM Notice n WHERE n.user = :user AND n.isRead = false AND n.createdAt >= :time AND n.deletedAt IS NULL")
     boolean existUnreadNotification(User user, LocalDateTime time);
 
+    @Query("SELECT n FROM Notice n WHERE n.type = :type AND n.isRead = false AND n.deletedAt IS NULL AND n.createdAt >= :time " +
+            "AND n.user.userId IN :userIds AND n.originId IN :originIds")
+    List<Notice> findUnreadNotices(String type, Collection<Long> userIds, Collection<Long> originIds, LocalDateTime time);
+
     @Transactional
     @Modifying
     @Query("UPDATE Notice n SET n.isRead = true, n.deletedAt = CURRENT_TIMESTAMP WHERE n.user = :user AND n.isRead = false")
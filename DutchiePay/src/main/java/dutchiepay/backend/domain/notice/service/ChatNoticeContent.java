@@ -0,0 +1,33 @@
+package dutchiepay.backend.domain.notice.service;
+
+import dutchiepay.backend.entity.Notice;
+
+import java.util.Objects;
+
+/**
+ * 채팅 알림 내용 ("새 메시지 N개: 마지막 메시지")
+ * 건수는 Notice.messageCount에 따로 저장하고, 내용은 건수와 마지막 메시지로 표시용으로만 만든다.
+ */
+final class ChatNoticeContent {
+    // Notice.content 컬럼 길이
+    private static final int MAX_CONTENT_LENGTH = 255;
+
+    private ChatNoticeContent() {
+    }
+
+    static String lastMessageOf(String type, String content) {
+        return "img".equals(type) ? "이미지를 전송했습니다." : Objects.toString(content, "");
+    }
+
+    static String format(int count, String lastMessage) {
+        String content = count == 1 ? lastMessage : "새 메시지 " + count + "개: " + lastMessage;
+        return content.length() > MAX_CONTENT_LENGTH ? content.substring(0, MAX_CONTENT_LENGTH) : content;
+    }
+
+    /**
+     * 저장된 채팅 알림의 건수. 건수 컬럼이 생기기 전에 저장된 알림은 1건으로 본다.
+     */
+    static int countOf(Notice notice) {
+        return notice.getMessageCount() == null ? 1 : notice.getMessageCount();
+    }
+}
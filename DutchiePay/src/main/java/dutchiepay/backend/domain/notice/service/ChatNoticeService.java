@@ -0,0 +1,212 @@
+package dutchiepay.backend.domain.notice.service;
+
+import dutchiepay.backend.domain.user.repository.UserRepository;
+import dutchiepay.backend.entity.Notice;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방을 보고 있지 않은 멤버에게 보낼 채팅 알림을 모아 처리한다.
+ * 메시지마다 알림을 만들지 않고 (유저, 채팅방) 단위로 window 동안 합친 뒤,
+ * 채팅방마다 읽지 않은 "chat" 타입 알림 한 건을 갱신하거나 새로 저장한다.
+ * SSE는 읽지 않은 알림이 새로 생긴 유저에게만 전송한다.
+ * 한 번에 저장하지 못하면 알림마다 따로 저장하고, 그래도 실패한 알림은 다음 window에 MAX_ATTEMPTS번까지 다시 시도한다.
+ * 대기 중인 알림은 현재 노드의 메모리에만 있으므로 비정상 종료 시 마지막 window의 알림은 유실된다.
+ */
+@Slf4j
+@Service
+public class ChatNoticeService {
+    private static final String CHAT_NOTICE_TYPE = "chat";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final NoticeService noticeService;
+    private final NoticeUtilService noticeUtilService;
+    private final UserRepository userRepository;
+    private final int maxPending;
+    private final Map<PendingKey, PendingChatNotice> pending = new ConcurrentHashMap<>();
+
+    public ChatNoticeService(NoticeService noticeService,
+                             NoticeUtilService noticeUtilService,
+                             UserRepository userRepository,
+                             @Value("${chat.notice.max-pending:100000}") int maxPending) {
+        this.noticeService = noticeService;
+        this.noticeUtilService = noticeUtilService;
+        this.userRepository = userRepository;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * 메시지를 받을 오프라인 멤버들의 대기 알림에 추가한다.
+     * 같은 채팅방의 대기 알림이 이미 있으면 건수와 마지막 메시지만 갱신한다.
+     * @param chatRoomId 채팅방 Id
+     * @param chatRoomName 채팅방 이름
+     * @param senderId 보낸 유저 Id (알림 대상에서 제외)
+     * @param type 메시지 타입
+     * @param content 메시지 내용
+     * @param userIds 알림 대상 유저 Id 목록
+     */
+    public void enqueue(Long chatRoomId, String chatRoomName, Long senderId, String type, String content, Collection<Long> userIds) {
+        for (Long userId : userIds) {
+            if (userId.equals(senderId)) {
+                continue;
+            }
+
+            PendingKey key = new PendingKey(userId, chatRoomId);
+            if (pending.size() >= maxPending && !pending.containsKey(key)) {
+                log.warn("대기 중인 채팅 알림이 가득 차 알림을 건너뜁니다. (userId: {}, chatRoomId: {})", userId, chatRoomId);
+                continue;
+            }
+
+            pending.compute(key, (k, notice) -> notice == null
+                    ? new PendingChatNotice(chatRoomName, type, content)
+                    : notice.append(chatRoomName, type, content));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.notice.window-ms:3000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<PendingKey, PendingChatNotice> drained = new LinkedHashMap<>();
+
+        // 키 단위로 제거하므로, 제거 이후에 들어온 메시지는 다음 window의 새 알림이 된다.
+        for (PendingKey key : pending.keySet()) {
+            PendingChatNotice notice = pending.remove(key);
+
+            if (notice != null) {
+                drained.put(key, notice);
+            }
+        }
+
+        Set<Long> userIds = new LinkedHashSet<>();
+
+        try {
+            save(drained.entrySet(), userIds);
+        } catch (RuntimeException e) {
+            log.warn("채팅 알림 일괄 저장 실패, 알림마다 다시 저장합니다. ({}건): {}", drained.size(), e.getMessage());
+
+            for (Map.Entry<PendingKey, PendingChatNotice> entry : drained.entrySet()) {
+                try {
+                    save(List.of(entry), userIds);
+                } catch (RuntimeException ex) {
+                    retryLater(entry.getKey(), entry.getValue(), ex);
+                }
+            }
+        }
+
+        userIds.forEach(noticeService::sendNotice);
+    }
+
+    /**
+     * 알림을 한 트랜잭션으로 저장하고, 새로 저장한 알림의 유저를 userIds에 추가한다.
+     * 실패한 트랜잭션의 엔티티를 다시 쓰지 않도록 시도할 때마다 새로 만든다.
+     */
+    private void save(Collection<Map.Entry<PendingKey, PendingChatNotice>> entries, Set<Long> userIds) {
+        List<Notice> notices = new ArrayList<>(entries.size());
+
+        for (Map.Entry<PendingKey, PendingChatNotice> entry : entries) {
+            PendingKey key = entry.getKey();
+            PendingChatNotice notice = entry.getValue();
+
+            notices.add(Notice.builder()
+                    .user(userRepository.getReferenceById(key.userId()))
+                    .type(CHAT_NOTICE_TYPE)
+                    .origin(notice.getChatRoomName())
+                    .content(notice.getLastMessage())
+                    .originId(key.chatRoomId())
+                    .commentId(null)
+                    .writer(null)
+                    .isRead(false)
+                    .messageCount(notice.getCount())
+                    .build());
+        }
+
+        for (Notice created : noticeUtilService.upsertChatNotices(notices)) {
+            userIds.add(created.getUser().getUserId());
+        }
+    }
+
+    /**
+     * 저장하지 못한 알림을 대기 알림에 되돌린다. 그 사이 같은 채팅방의 알림이 쌓였다면 건수를 합친다.
+     */
+    private void retryLater(PendingKey key, PendingChatNotice notice, RuntimeException e) {
+        if (notice.fail() >= MAX_ATTEMPTS) {
+            log.warn("채팅 알림 저장 실패, 알림을 버립니다. (userId: {}, chatRoomId: {}): {}",
+                    key.userId(), key.chatRoomId(), e.getMessage());
+            return;
+        }
+
+        pending.merge(key, notice, (newer, failed) -> newer.absorb(failed));
+    }
+
+    private record PendingKey(Long userId, Long chatRoomId) {
+    }
+
+    /**
+     * 한 유저의 한 채팅방에 대해 window 동안 쌓인 메시지 요약
+     * ConcurrentHashMap.compute/merge 안에서, 또는 대기 알림에서 꺼낸 뒤 flush 스레드에서만 변경된다.
+     */
+    private static class PendingChatNotice {
+        private String chatRoomName;
+        private String lastType;
+        private String lastContent;
+        private int count;
+        private int failures;
+
+        PendingChatNotice(String chatRoomName, String type, String content) {
+            this.chatRoomName = chatRoomName;
+            this.lastType = type;
+            this.lastContent = content;
+            this.count = 1;
+        }
+
+        PendingChatNotice append(String chatRoomName, String type, String content) {
+            this.chatRoomName = chatRoomName;
+            this.lastType = type;
+            this.lastContent = content;
+            this.count++;
+            return this;
+        }
+
+        /**
+         * 저장에 실패한 이전 알림의 건수와 실패 횟수를 이어받는다. 마지막 메시지는 현재 값을 유지한다.
+         */
+        PendingChatNotice absorb(PendingChatNotice failed) {
+            this.count += failed.count;
+            this.failures = failed.failures;
+            return this;
+        }
+
+        /**
+         * @return 누적 실패 횟수
+         */
+        int fail() {
+            return ++failures;
+        }
+
+        String getChatRoomName() {
+            return chatRoomName;
+        }
+
+        String getLastMessage() {
+            return ChatNoticeContent.lastMessageOf(lastType, lastContent);
+        }
+
+        int getCount() {
+            return count;
+        }
+    }
+}
@@ -59,7 +59,11 @@ public class NoticeService {
     }
 
     public void sendNotice(User user, Notice notice) {
-        SseEmitter sseEmitter = emitters.get(user.getUserId());
+        sendNotice(user.getUserId());
+    }
+
+    public void sendNotice(Long userId) {
+        SseEmitter sseEmitter = emitters.get(userId);
 
         if (sseEmitter != null) {
             try {
@@ -69,7 +73,7 @@ public class NoticeService {
                                 .build()));
             } catch (Exception e) {
                 e.printStackTrace();
-                emitters.remove(user.getUserId());
+                emitters.remove(userId);
                 sseEmitter.completeWithError(e);
             }
         }
@@ -14,7 +14,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -97,6 +102,46 @@ public class NoticeUtilService {
                 .build());
     }
 
+    /**
+     * 채팅 알림을 (유저, 채팅방)마다 읽지 않은 알림 한 건으로 유지한다.
+     * 최근 7일 안에 만든 읽지 않은 알림이 있으면 건수와 마지막 메시지만 갱신하고, 없으면 새로 저장한다.
+     * 표시할 내용("새 메시지 N개: 마지막 메시지")은 합친 건수로 여기서 만든다.
+     * @param notices 저장할 "chat" 타입 알림 (유저, 채팅방마다 한 건, messageCount는 건수, content는 마지막 메시지)
+     * @return 새로 저장한 알림 (갱신한 알림은 이미 읽지 않은 상태로 알려져 있다.)
+     */
+    @Transactional
+    public List<Notice> upsertChatNotices(List<Notice> notices) {
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> chatRoomIds = new HashSet<>();
+        for (Notice notice : notices) {
+            userIds.add(notice.getUser().getUserId());
+            chatRoomIds.add(notice.getOriginId());
+        }
+
+        // 이전 버전에서 여러 건이 쌓였다면 가장 최근 알림을 갱신한다.
+        Map<ChatNoticeKey, Notice> unread = new HashMap<>();
+        for (Notice notice : noticeRepository.findUnreadNotices("chat", userIds, chatRoomIds, LocalDateTime.now().minusDays(7))) {
+            unread.merge(new ChatNoticeKey(notice.getUser().getUserId(), notice.getOriginId()), notice,
+                    (a, b) -> a.getNoticeId() > b.getNoticeId() ? a : b);
+        }
+
+        List<Notice> created = new ArrayList<>();
+        for (Notice notice : notices) {
+            Notice existing = unread.get(new ChatNoticeKey(notice.getUser().getUserId(), notice.getOriginId()));
+
+            if (existing == null) {
+                notice.updateChatContent(notice.getOrigin(), notice.getMessageCount(),
+                        ChatNoticeContent.format(notice.getMessageCount(), notice.getContent()));
+                created.add(notice);
+            } else {
+                int count = ChatNoticeContent.countOf(existing) + notice.getMessageCount();
+                existing.updateChatContent(notice.getOrigin(), count, ChatNoticeContent.format(count, notice.getContent()));
+            }
+        }
+
+        return noticeRepository.saveAll(created);
+    }
+
     @Transactional
     public void readNotice(Notice notice) {
         notice.read();
@@ -115,4 +160,7 @@ public class NoticeUtilService {
         return noticeRepository.findById(noticeId)
                 .orElseThrow(() -> new NoticeException(NoticeErrorCode.INVALID_NOTICE));
     }
+
+    private record ChatNoticeKey(Long userId, Long chatRoomId) {
+    }
 }
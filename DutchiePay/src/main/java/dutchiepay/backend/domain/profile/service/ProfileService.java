@@ -11,6 +11,7 @@ import dutchiepay.backend.domain.user.exception.UserErrorCode;
 import dutchiepay.backend.domain.user.exception.UserErrorException;
 import dutchiepay.backend.domain.user.repository.UserRepository;
 import dutchiepay.backend.entity.*;
+import dutchiepay.backend.global.security.PrincipalCache;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -25,6 +26,7 @@ public class ProfileService {
     private final ProfileRepository profileRepository;
     private final UserRepository userRepository;
     private final BuyRepository buyRepository;
+    private final PrincipalCache principalCache;
 
     public MyPageResponseDto myPage(User user) {
         return MyPageResponseDto.from(user);
@@ -82,30 +84,38 @@ public class ProfileService {
         if (userRepository.existsByNickname(nickname)) {
             throw new UserErrorException(UserErrorCode.USER_NICKNAME_ALREADY_EXISTS);
         }
-        user.changeNickname(nickname);
+        User target = findUser(user.getUserId());
+        target.changeNickname(nickname);
 
-        userRepository.save(user);
+        userRepository.save(target);
+        principalCache.invalidate(target.getUserId());
     }
 
     @Transactional
     public void changeProfileImage(User user, String profileImg) {
-        user.changeProfileImg(profileImg);
+        User target = findUser(user.getUserId());
+        target.changeProfileImg(profileImg);
 
-        userRepository.save(user);
+        userRepository.save(target);
+        principalCache.invalidate(target.getUserId());
     }
 
     @Transactional
     public void changeLocation(User user, String location) {
-        user.changeLocation(location);
+        User target = findUser(user.getUserId());
+        target.changeLocation(location);
 
-        userRepository.save(user);
+        userRepository.save(target);
+        principalCache.invalidate(target.getUserId());
     }
 
     @Transactional
     public void changePhone(User user, String phone) {
-        user.changePhone(phone);
+        User target = findUser(user.getUserId());
+        target.changePhone(phone);
 
-        userRepository.save(user);
+        userRepository.save(target);
+        principalCache.invalidate(target.getUserId());
     }
 
     @Transactional
@@ -118,4 +128,11 @@ public class ProfileService {
 
         askRepository.softDelete(ask);
     }
+
+    /**
+     * 인증 정보의 User는 캐시에서 만든 분리된 객체이므로, 변경할 때는 DB에서 다시 조회한다.
+     */
+    private User findUser(Long userId) {
+        return userRepository.findById(userId).orElseThrow(() -> new UserErrorException(UserErrorCode.USER_NOT_FOUND));
+    }
 }
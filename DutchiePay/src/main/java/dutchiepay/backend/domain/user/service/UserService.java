@@ -16,6 +16,7 @@ import dutchiepay.backend.domain.user.repository.UserRepository;
 import dutchiepay.backend.entity.User;
 import dutchiepay.backend.global.jwt.redis.RedisService;
 import dutchiepay.backend.global.jwt.JwtUtil;
+import dutchiepay.backend.global.security.PrincipalCache;
 import dutchiepay.backend.global.security.UserDetailsImpl;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.Cookie;
@@ -48,6 +49,7 @@ public class UserService {
     private final JwtUtil jwtUtil;
     private final RedisService redisService;
     private final NoticeUtilService noticeUtilService;
+    private final PrincipalCache principalCache;
 
     @Value("${spring.security.oauth2.client.registration.naver.client-id}")
     private String naverClientId;
@@ -74,8 +76,8 @@ public class UserService {
 
     @Transactional
     public void logout(Long userId, HttpServletRequest request) {
-        redisService.addBlackList(userId, jwtUtil.getJwtFromHeader(request));
-        redisService.deleteRefreshToken(redisService.getRefreshToken(userId));
+        redisService.addBlackList(jwtUtil.getJwtFromHeader(request));
+        redisService.deleteRefreshToken(userId);
     }
 
     public void existsNickname(String nickname) {
@@ -131,14 +133,18 @@ public class UserService {
 
         user.changePassword(passwordEncoder.encode(req.getPassword()));
         userRepository.save(user);
+        principalCache.invalidate(user.getUserId());
     }
 
     @Transactional
-    public void changeUserPassword(User user, UserChangePasswordRequestDto req) {
+    public void changeUserPassword(User principal, UserChangePasswordRequestDto req) {
         if (req.getPassword().equals(req.getNewPassword())) {
             throw new UserErrorException(UserErrorCode.SAME_PASSWORD);
         }
 
+        // 인증 정보의 User는 캐시에서 만든 분리된 객체이므로 DB에서 다시 조회해 변경한다.
+        User user = userUtilService.findById(principal.getUserId());
+
         if (passwordEncoder.matches(req.getPassword(), user.getPassword())) {
             user.changePassword(passwordEncoder.encode(req.getNewPassword()));
             userRepository.save(user);
@@ -147,6 +153,7 @@ public class UserService {
         }
 
         userRepository.save(user);
+        principalCache.invalidate(user.getUserId());
     }
 
     /**
@@ -157,10 +164,11 @@ public class UserService {
      */
     @Transactional
     public void deleteUser(UserDetailsImpl userDetails, HttpServletRequest request) {
-        redisService.addBlackList(userDetails.getUserId(), jwtUtil.getJwtFromHeader(request));
-        redisService.deleteRefreshToken(redisService.getRefreshToken(userDetails.getUserId()));
+        redisService.addBlackList(jwtUtil.getJwtFromHeader(request));
+        redisService.deleteRefreshToken(userDetails.getUserId());
         userRepository.findByEmailAndOauthProviderIsNull(userDetails.getEmail())
             .orElseThrow(() -> new UserErrorException(UserErrorCode.USER_NOT_FOUND)).delete();
+        principalCache.invalidate(userDetails.getUserId());
     }
 
     public UserReLoginResponseDto reLogin(HttpServletRequest request) {
@@ -187,7 +195,7 @@ public class UserService {
 
         String accessToken = requestDto.getAccess();
         if (!redisService.isTokenBlackListed(accessToken)) {
-            redisService.addBlackList(userId, accessToken);
+            redisService.addBlackList(accessToken);
         }
 
         return UserReissueResponseDto.toDto(reissueAccessToken(userId));
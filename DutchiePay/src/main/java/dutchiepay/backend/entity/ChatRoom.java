@@ -30,13 +30,30 @@ public class ChatRoom extends Auditing {
     @Column(nullable = false)
     private Integer maxPartInc;
 
+    // 동시 참여 시 덮어쓰지 않도록 ChatRoomCapacityService의 조건부 UPDATE로만 갱신한다.
+    @Column(updatable = false)
     private Integer nowPartInc;
 
+    // 채팅방 목록 조회용 마지막 메시지 요약 (ChatRoomRepository.updateLastMessage로만 갱신한다.)
+    @Column(insertable = false, updatable = false)
+    private Long lastMessageId;
+
+    @Column(insertable = false, updatable = false)
+    private String lastMessageType;
+
+    @Column(insertable = false, updatable = false)
+    private String lastMessageContent;
+
+    @Column(insertable = false, updatable = false)
+    private String lastMessageDate;
+
+    @Column(insertable = false, updatable = false)
+    private String lastMessageTime;
+
+    /**
+     * 응답에 사용하는 영속성 컨텍스트의 값만 갱신한다. DB 반영은 ChatRoomCapacityService에서 한다.
+     */
     public void joinUser() {
         this.nowPartInc++;
     }
-
-    public void leave() {
-        this.nowPartInc--;
-    }
 }
@@ -1,6 +1,7 @@
 package dutchiepay.backend.entity;
 
 import dutchiepay.backend.global.config.Auditing;
+import dutchiepay.backend.global.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -13,7 +14,7 @@ import lombok.*;
 public class Message extends Auditing {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long messageId;
 
     @ManyToOne
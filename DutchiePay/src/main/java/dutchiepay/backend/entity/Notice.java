@@ -1,6 +1,7 @@
 package dutchiepay.backend.entity;
 
 import dutchiepay.backend.global.config.Auditing;
+import dutchiepay.backend.global.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -12,7 +13,7 @@ import lombok.*;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Notice extends Auditing {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long noticeId;
 
     @ManyToOne
@@ -34,7 +35,16 @@ public class Notice extends Auditing {
 
     private Boolean isRead;
 
+    // 채팅 알림으로 묶인 메시지 수 (채팅 알림이 아니면 null)
+    private Integer messageCount;
+
     public void read() {
         this.isRead = true;
     }
+
+    public void updateChatContent(String origin, int messageCount, String content) {
+        this.origin = origin;
+        this.messageCount = messageCount;
+        this.content = content;
+    }
 }
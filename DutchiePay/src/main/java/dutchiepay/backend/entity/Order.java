@@ -1,6 +1,7 @@
 package dutchiepay.backend.entity;
 
 import dutchiepay.backend.global.config.Auditing;
+import dutchiepay.backend.global.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -16,7 +17,7 @@ import java.time.LocalDateTime;
 public class Order extends Auditing {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long orderId;
 
     @ManyToOne
@@ -31,7 +31,7 @@ public class UserChatRoom extends Auditing {
 
     private Long lastMessageId;
 
-    public void kick() {
-        this.banned = true;
-    }
+    // 안 읽은 메시지 수 (벌크 쿼리로만 갱신하며 기본값은 0)
+    @Column(insertable = false, updatable = false)
+    private Integer unreadCount;
 }
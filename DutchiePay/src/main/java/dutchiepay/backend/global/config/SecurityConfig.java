@@ -9,6 +9,7 @@ import dutchiepay.backend.global.oauth.handler.CustomOAuth2SuccessHandler;
 import dutchiepay.backend.global.security.JwtAuthenticationEntryPoint;
 import dutchiepay.backend.global.security.JwtAuthenticationFilter;
 import dutchiepay.backend.global.security.JwtVerificationFilter;
+import dutchiepay.backend.global.security.PrincipalCache;
 import dutchiepay.backend.global.security.UserDetailsServiceImpl;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -41,11 +42,11 @@ public class SecurityConfig {
 
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
-    private final UserDetailsServiceImpl userDetailsService;
     private final CustomOAuth2SuccessHandler customOAuth2SuccessHandler;
     private final CustomOAuth2FailureHandler customOAuth2FailureHandler;
     private final RedisService redisService;
     private final NoticeUtilService noticeUtilService;
+    private final PrincipalCache principalCache;
 
     @Value("${spring.cors.allowed-origins}")
     private List<String> corsOrigins;
@@ -76,7 +77,7 @@ public class SecurityConfig {
     //jwt 검증
     @Bean
     public JwtVerificationFilter jwtVerificationFilter() {
-        return new JwtVerificationFilter(jwtUtil, userDetailsService, redisService);
+        return new JwtVerificationFilter(jwtUtil, principalCache, redisService);
     }
 
     @Bean
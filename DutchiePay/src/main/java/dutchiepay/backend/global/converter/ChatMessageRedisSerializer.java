@@ -0,0 +1,347 @@
+package dutchiepay.backend.global.converter;
+
+import dutchiepay.backend.domain.chat.dto.MessageResponse;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 채팅 메시지(MessageResponse)를 압축된 바이너리 형식으로 저장하는 Redis 직렬화기
+ * 그 외 값은 기존과 동일하게 JSON으로 직렬화한다.
+ *
+ * 바이너리 형식(v1):
+ * [0xC1][버전][messageId][senderId][type][unreadCount][date][time][content]
+ * - 숫자는 varint(null은 0, 값은 +1)로 저장한다.
+ * - type은 자주 쓰는 값을 사전 인덱스 1바이트로 저장하고, 그 외 값은 문자열로 저장한다.
+ * - date는 yyyyMMdd 형식이면 정수로, 아니라면 문자열로 저장한다.
+ * - 문자열은 varint 길이(null은 0, 길이는 +1) + UTF-8 바이트로 저장한다.
+ *
+ * 첫 바이트로 형식을 구분하므로 기존에 JSON으로 저장된 메시지도 그대로 읽을 수 있다.
+ */
+public class ChatMessageRedisSerializer implements RedisSerializer<Object> {
+    private static final byte MAGIC = (byte) 0xC1;
+    private static final byte VERSION = 1;
+
+    private static final List<String> TYPES = List.of("text", "img", "enter", "out", "ban");
+    private static final int TYPE_STRING = 0xFF;
+    private static final int DATE_STRING = 0;
+    private static final int DATE_PACKED = 1;
+
+    private final GenericJackson2JsonRedisSerializer jsonSerializer;
+    private final boolean writeBinary;
+
+    /**
+     * @param jsonSerializer 채팅 메시지가 아닌 값과 JSON 형식 메시지를 처리할 직렬화기
+     * @param writeBinary 채팅 메시지를 바이너리로 저장할지 여부 (false라면 읽기만 지원한다.)
+     */
+    public ChatMessageRedisSerializer(GenericJackson2JsonRedisSerializer jsonSerializer, boolean writeBinary) {
+        this.jsonSerializer = jsonSerializer;
+        this.writeBinary = writeBinary;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (writeBinary && value instanceof MessageResponse message) {
+            return encode(message);
+        }
+
+        return jsonSerializer.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes != null && bytes.length > 1 && bytes[0] == MAGIC) {
+            return decode(bytes);
+        }
+
+        return jsonSerializer.deserialize(bytes);
+    }
+
+    public static byte[] encode(MessageResponse message) {
+        // 크기를 먼저 계산해 정확한 크기의 배열에 한 번만 쓴다. (중간 버퍼와 복사 없음)
+        Writer sizer = new Writer(null);
+        write(sizer, message);
+
+        Writer out = new Writer(new byte[sizer.position]);
+        write(out, message);
+
+        return out.bytes;
+    }
+
+    private static void write(Writer out, MessageResponse message) {
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+
+        out.writeNullableVarLong(message.getMessageId());
+        out.writeNullableVarLong(message.getSenderId());
+
+        int typeIndex = TYPES.indexOf(message.getType());
+        if (typeIndex >= 0) {
+            out.writeByte(typeIndex);
+        } else {
+            out.writeByte(TYPE_STRING);
+            out.writeString(message.getType());
+        }
+
+        out.writeNullableVarLong(message.getUnreadCount() == null ? null : message.getUnreadCount().longValue());
+
+        String date = message.getDate();
+        if (isPackedDate(date)) {
+            out.writeByte(DATE_PACKED);
+            out.writeVarLong(Long.parseLong(date));
+        } else {
+            out.writeByte(DATE_STRING);
+            out.writeString(date);
+        }
+
+        out.writeString(message.getTime());
+        out.writeString(message.getContent());
+    }
+
+    private static boolean isPackedDate(String date) {
+        if (date == null || date.length() != 8) {
+            return false;
+        }
+
+        for (int i = 0; i < date.length(); i++) {
+            if (!Character.isDigit(date.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static MessageResponse decode(byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * 버퍼의 position부터 limit까지를 메시지로 읽는다. 메모리 맵 파일의 slice를 복사 없이 읽을 때 사용한다.
+     */
+    public static MessageResponse decode(ByteBuffer buffer) {
+        return decode(buffer, buffer.position(), buffer.remaining());
+    }
+
+    /**
+     * 버퍼의 offset부터 length바이트를 메시지로 읽는다. (slice를 만들지 않는다.)
+     */
+    public static MessageResponse decode(ByteBuffer buffer, int offset, int length) {
+        Reader in = readHeader(new Reader(buffer, offset, offset + length));
+
+        Long messageId = in.readNullableVarLong();
+        Long senderId = in.readNullableVarLong();
+
+        int typeIndex = in.readByte();
+        if (typeIndex != TYPE_STRING && typeIndex >= TYPES.size()) {
+            throw new SerializationException("채팅 메시지 데이터가 손상되었습니다.");
+        }
+        String type = typeIndex == TYPE_STRING ? in.readString() : TYPES.get(typeIndex);
+
+        Long unreadCount = in.readNullableVarLong();
+
+        String date;
+        if (in.readByte() == DATE_PACKED) {
+            date = String.valueOf(in.readVarLong());
+        } else {
+            date = in.readString();
+        }
+
+        String time = in.readString();
+        String content = in.readString();
+
+        return MessageResponse.builder()
+                .messageId(messageId)
+                .senderId(senderId)
+                .type(type)
+                .unreadCount(unreadCount == null ? null : unreadCount.intValue())
+                .date(date)
+                .time(time)
+                .content(content)
+                .build();
+    }
+
+    /**
+     * 메시지 전체를 읽지 않고 messageId만 읽는다.
+     */
+    public static Long readMessageId(ByteBuffer buffer) {
+        return readMessageId(buffer, buffer.position(), buffer.remaining());
+    }
+
+    public static Long readMessageId(ByteBuffer buffer, int offset, int length) {
+        return readHeader(new Reader(buffer, offset, offset + length)).readNullableVarLong();
+    }
+
+    private static Reader readHeader(Reader in) {
+
+        if (in.readByte() != (MAGIC & 0xFF)) {
+            throw new SerializationException("채팅 메시지 데이터가 손상되었습니다.");
+        }
+
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new SerializationException("지원하지 않는 채팅 메시지 형식입니다. (version: " + version + ")");
+        }
+
+        return in;
+    }
+
+    /**
+     * bytes가 null이면 쓰지 않고 크기만 센다.
+     */
+    private static final class Writer {
+        private final byte[] bytes;
+        private int position;
+
+        private Writer(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private void writeByte(int b) {
+            if (bytes != null) {
+                bytes[position] = (byte) b;
+            }
+            position++;
+        }
+
+        private void writeNullableVarLong(Long value) {
+            writeVarLong(value == null ? 0 : value + 1);
+        }
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        /**
+         * String.getBytes(UTF_8)와 같은 바이트를 중간 배열 없이 쓴다. (짝이 없는 surrogate는 '?')
+         */
+        private void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+
+            int length = utf8Length(value);
+            writeVarLong(length + 1L);
+
+            if (bytes == null) {
+                position += length;
+                return;
+            }
+
+            int p = position;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+
+                if (c < 0x80) {
+                    bytes[p++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[p++] = (byte) (0xC0 | (c >> 6));
+                    bytes[p++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    bytes[p++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[p++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[p++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[p++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    bytes[p++] = '?';
+                } else {
+                    bytes[p++] = (byte) (0xE0 | (c >> 12));
+                    bytes[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[p++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            position = p;
+        }
+
+        private static int utf8Length(String value) {
+            int length = 0;
+
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+
+                if (c < 0x80) {
+                    length += 1;
+                } else if (c < 0x800) {
+                    length += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    length += 4;
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    length += 1;
+                } else {
+                    length += 3;
+                }
+            }
+            return length;
+        }
+    }
+
+    private static final class Reader {
+        private final ByteBuffer buffer;
+        private final int limit;
+        private int position;
+
+        private Reader(ByteBuffer buffer, int position, int limit) {
+            this.buffer = buffer;
+            this.position = position;
+            this.limit = limit;
+        }
+
+        private int readByte() {
+            if (position >= limit) {
+                throw new SerializationException("채팅 메시지 데이터가 손상되었습니다.");
+            }
+            return buffer.get(position++) & 0xFF;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            int b;
+
+            do {
+                if (shift > 63) {
+                    throw new SerializationException("채팅 메시지 데이터가 손상되었습니다.");
+                }
+                b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+
+            return value;
+        }
+
+        private Long readNullableVarLong() {
+            long value = readVarLong();
+            return value == 0 ? null : value - 1;
+        }
+
+        private String readString() {
+            long length = readVarLong();
+
+            if (length == 0) {
+                return null;
+            }
+
+            int size = (int) (length - 1);
+            if (size < 0 || position + size > limit) {
+                throw new SerializationException("채팅 메시지 데이터가 손상되었습니다.");
+            }
+
+            byte[] bytes = new byte[size];
+            buffer.get(position, bytes);
+            position += size;
+
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
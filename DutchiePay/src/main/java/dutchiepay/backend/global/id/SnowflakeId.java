@@ -0,0 +1,20 @@
+package dutchiepay.backend.global.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * 엔티티 식별자를 SnowflakeIdGenerator로 발급한다.
+ * IDENTITY 전략과 달리 INSERT 전에 Id가 정해지므로 Hibernate JDBC 배치가 동작한다.
+ */
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface SnowflakeId {
+}
@@ -0,0 +1,93 @@
+package dutchiepay.backend.global.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * DB 왕복 없이 발급하는 시간순 Id 생성기 (Snowflake 방식)
+ * [41bit 타임스탬프(ms, 2024-09-01 기준)][5bit 워커 Id][7bit 시퀀스]
+ * Redis ZSET score(double)와 JS Number에서 값이 손실되지 않도록 53bit 안에서 발급한다.
+ * 같은 노드에서 발급된 Id는 항상 단조 증가한다.
+ *
+ * 워커 Id가 겹치면 다른 노드와 같은 Id를 발급하므로 다중 노드 배포(chat.broker.relay가 local이 아닌 경우)에서는
+ * id.worker-id(0~31)를 노드마다 직접 지정해야 하며, 없으면 기동하지 않는다.
+ * 단일 노드(local)에서는 지정하지 않으면 0을 사용한다. 범위를 벗어난 값은 어느 경우든 기동하지 않는다.
+ */
+@Slf4j
+@Component
+public class SnowflakeIdGenerator {
+    private static final long EPOCH = 1725116400000L; // 2024-09-01 00:00:00 KST
+    private static final int WORKER_ID_BITS = 5;
+    private static final int SEQUENCE_BITS = 7;
+    private static final long MAX_WORKER_ID = (1L << WORKER_ID_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static volatile SnowflakeIdGenerator instance;
+
+    private final long workerId;
+    private long lastTimestamp = -1L;
+    private long sequence = 0L;
+
+    public SnowflakeIdGenerator(@Value("${id.worker-id:#{null}}") Long workerId,
+                                @Value("${chat.broker.relay:local}") String relay) {
+        if (workerId == null) {
+            if (!"local".equals(relay)) {
+                throw new IllegalStateException("id.worker-id가 설정되지 않았습니다. 다중 노드 배포(chat.broker.relay: " + relay
+                        + ")에서는 노드마다 0~" + MAX_WORKER_ID + " 사이의 고유 값을 지정해야 합니다.");
+            }
+            workerId = 0L;
+        }
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalStateException("id.worker-id는 0~" + MAX_WORKER_ID + " 사이여야 합니다. (현재: " + workerId + ")");
+        }
+
+        this.workerId = workerId;
+        log.info("Snowflake Id 생성기 초기화 (workerId: {})", this.workerId);
+        instance = this;
+    }
+
+    /**
+     * Hibernate 식별자 생성기처럼 스프링 밖에서 생성되는 객체가 사용할 인스턴스를 반환한다.
+     */
+    public static SnowflakeIdGenerator getInstance() {
+        SnowflakeIdGenerator generator = instance;
+
+        if (generator == null) {
+            throw new IllegalStateException("SnowflakeIdGenerator가 초기화되지 않았습니다.");
+        }
+
+        return generator;
+    }
+
+    public synchronized long nextId() {
+        long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // 같은 ms 안에서 시퀀스를 모두 소진하면 다음 ms를 빌려 쓴다.
+                timestamp = lastTimestamp + 1;
+            }
+        } else {
+            sequence = 0L;
+        }
+
+        lastTimestamp = timestamp;
+
+        return ((timestamp - EPOCH) << (WORKER_ID_BITS + SEQUENCE_BITS))
+                | (workerId << SEQUENCE_BITS)
+                | sequence;
+    }
+
+    /**
+     * id보다 millis만큼 이전 시각에 발급된 Id의 하한을 반환한다.
+     */
+    public static long rewind(long id, long millis) {
+        return Math.max(0L, id - (millis << (WORKER_ID_BITS + SEQUENCE_BITS)));
+    }
+
+    public long getWorkerId() {
+        return workerId;
+    }
+}
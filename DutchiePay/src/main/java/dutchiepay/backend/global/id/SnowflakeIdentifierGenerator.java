@@ -0,0 +1,17 @@
+package dutchiepay.backend.global.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * @SnowflakeId 필드에 Id를 채우는 Hibernate 식별자 생성기
+ * Hibernate가 직접 생성하는 객체이므로 스프링 빈인 SnowflakeIdGenerator를 정적 참조로 사용한다.
+ * 채팅 write-behind 등 애플리케이션에서 직접 발급하는 Id와 같은 시퀀스를 공유해야 중복이 생기지 않는다.
+ */
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return SnowflakeIdGenerator.getInstance().nextId();
+    }
+}
@@ -1,14 +1,22 @@
 package dutchiepay.backend.global.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -30,8 +38,18 @@ public class JwtUtil {
     @Value("${jwt.refresh.token.expiration}")
     private long refreshTokenExpiration;
 
+    // 검증된 액세스 토큰 claims 캐시 크기, 0이면 캐시하지 않는다.
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+
     private Key accessKey;
     private Key refreshKey;
+    // parserBuilder().build()는 호출마다 역직렬화기를 ServiceLoader로 찾으므로 한 번만 만든다. (JwtParser는 thread-safe)
+    private JwtParser accessParser;
+    private JwtParser refreshParser;
+
+    // 토큰 SHA-256 digest -> 검증된 claims, 토큰의 만료 시각에 함께 만료된다.
+    private Cache<String, Claims> accessClaimsCache;
 
     public static final String AUTHORIZATION_HEADER = "Authorization";
 
@@ -48,6 +66,16 @@ public class JwtUtil {
 
         byte[] refreshKeyBytes = Base64.getDecoder().decode(refreshSecretKey);
         refreshKey = Keys.hmacShaKeyFor(refreshKeyBytes);
+
+        accessParser = Jwts.parserBuilder().setSigningKey(accessKey).build();
+        refreshParser = Jwts.parserBuilder().setSigningKey(refreshKey).build();
+
+        if (claimsCacheMaxSize > 0) {
+            accessClaimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new ExpireAtTokenExpiration())
+                .build();
+        }
     }
 
     //액세스 토큰 생성
@@ -86,37 +114,69 @@ public class JwtUtil {
     }
 
     // 토큰에서 사용자 정보 가져오기
+    // 같은 토큰은 만료 전까지 캐시된 claims를 반환하므로 서명을 다시 검증하지 않는다. (반환된 claims는 수정하지 않는다.)
     public Claims getUserInfoFromAccessToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(getKeyFromAccessToken(token)).build()
-            .parseClaimsJws(token)
-            .getBody();
+        if (accessClaimsCache == null) {
+            return parseClaims(token, accessParser, "access");
+        }
+
+        String digest = digest(token);
+        Claims claims = accessClaimsCache.getIfPresent(digest);
+
+        if (claims == null) {
+            claims = parseClaims(token, accessParser, "access");
+            accessClaimsCache.put(digest, claims);
+        }
+
+        return claims;
     }
 
     public Claims getUserInfoFromRefreshToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(getKeyFromRefreshToken(token)).build()
-            .parseClaimsJws(token)
-            .getBody();
+        return parseClaims(token, refreshParser, "refresh");
     }
 
-    private Key getKeyFromAccessToken(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(accessKey).build().parseClaimsJws(token)
+    // 서명 검증과 파싱을 한 번에 하고 토큰 타입을 확인한다.
+    private Claims parseClaims(String token, JwtParser parser, String expectedTokenType) {
+        Claims claims = parser
+            .parseClaimsJws(token)
             .getBody();
-        String tokenType = claims.get("tokenType", String.class);
 
-        if ("access".equals(tokenType)) {
-            return accessKey;
+        if (expectedTokenType.equals(claims.get("tokenType", String.class))) {
+            return claims;
         }
         throw new IllegalArgumentException("토큰 타입이 유효하지 않습니다.");
     }
 
-    private Key getKeyFromRefreshToken(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(refreshKey).build().parseClaimsJws(token)
-            .getBody();
-        String tokenType = claims.get("tokenType", String.class);
+    // 캐시 키로 토큰 원문 대신 digest를 사용해 메모리에 토큰을 남기지 않는다.
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class ExpireAtTokenExpiration implements Expiry<String, Claims> {
 
-        if ("refresh".equals(tokenType)) {
-            return refreshKey;
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+
+            if (expiration == null) {
+                return 0L;
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, expiration.getTime() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
-        throw new IllegalArgumentException("토큰 타입이 유효하지 않습니다.");
     }
 }
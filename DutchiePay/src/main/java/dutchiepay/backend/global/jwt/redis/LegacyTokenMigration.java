@@ -0,0 +1,110 @@
+package dutchiepay.backend.global.jwt.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이전 @RedisHash(refresh, blackList) 엔티티로 저장된 토큰을 RedisTokenStore로 옮긴다.
+ * 남은 TTL을 유지하되 설정된 만료 시간을 넘지 않게 하고 (이전 엔티티는 ms 값을 초 단위 TTL로 저장했다),
+ * 옮긴 뒤에는 해시, 보조 인덱스(만료 후 남은 것 포함)와 id 집합을 삭제한다.
+ * id 집합은 마지막에 삭제하므로, 집합이 없으면 이미 끝난 것으로 보고 전체 키 SCAN을 하지 않는다.
+ * 여러 노드가 동시에 실행해도 결과는 같다.
+ */
+@Slf4j
+@Component
+public class LegacyTokenMigration {
+    private static final String REFRESH_KEYSPACE = "refresh";
+    private static final String BLACKLIST_KEYSPACE = "blackList";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisTokenStore redisTokenStore;
+    private final TokenBlacklistFilter tokenBlacklistFilter;
+    private final boolean enabled;
+    private final long refreshTokenExpiration;
+    private final long accessTokenExpiration;
+
+    public LegacyTokenMigration(StringRedisTemplate stringRedisTemplate,
+                                RedisTokenStore redisTokenStore,
+                                TokenBlacklistFilter tokenBlacklistFilter,
+                                @Value("${jwt.token-store.migrate-legacy:true}") boolean enabled,
+                                @Value("${jwt.refresh.token.expiration}") long refreshTokenExpiration,
+                                @Value("${jwt.access.token.expiration}") long accessTokenExpiration) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisTokenStore = redisTokenStore;
+        this.tokenBlacklistFilter = tokenBlacklistFilter;
+        this.enabled = enabled;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+        this.accessTokenExpiration = accessTokenExpiration;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            int refresh = migrate(REFRESH_KEYSPACE, "refresh", refreshTokenExpiration, (userId, token, ttl) ->
+                    redisTokenStore.saveRefreshToken(userId, token, ttl));
+            int blackList = migrate(BLACKLIST_KEYSPACE, "access", accessTokenExpiration, (userId, token, ttl) ->
+                    redisTokenStore.addToBlacklist(token, ttl));
+
+            if (blackList > 0) {
+                tokenBlacklistFilter.rebuild();
+            }
+            if (refresh > 0 || blackList > 0) {
+                log.info("이전 형식의 토큰 이전 완료 (리프레시: {}, 블랙리스트: {})", refresh, blackList);
+            }
+        } catch (RuntimeException e) {
+            log.warn("이전 형식의 토큰 이전 실패", e);
+        }
+    }
+
+    private int migrate(String keyspace, String field, long maxTtlMillis, LegacyTokenHandler handler) {
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(keyspace))) {
+            return 0;
+        }
+
+        List<String> ids = new ArrayList<>();
+        try (Cursor<String> cursor = stringRedisTemplate.opsForSet().scan(keyspace, ScanOptions.scanOptions().count(1000).build())) {
+            cursor.forEachRemaining(ids::add);
+        }
+
+        int migrated = 0;
+        for (String id : ids) {
+            String hashKey = keyspace + ":" + id;
+            Object token = stringRedisTemplate.opsForHash().get(hashKey, field);
+            Long ttl = stringRedisTemplate.getExpire(hashKey, TimeUnit.MILLISECONDS);
+
+            if (token != null && ttl != null && ttl > 0) {
+                handler.handle(Long.valueOf(id), (String) token, Duration.ofMillis(Math.min(ttl, maxTtlMillis)));
+                migrated++;
+            }
+        }
+
+        List<String> legacyKeys = new ArrayList<>();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(ScanOptions.scanOptions().match(keyspace + ":*").count(1000).build())) {
+            cursor.forEachRemaining(legacyKeys::add);
+        }
+        legacyKeys.add(keyspace);
+        stringRedisTemplate.delete(legacyKeys);
+
+        return migrated;
+    }
+
+    @FunctionalInterface
+    private interface LegacyTokenHandler {
+        void handle(Long userId, String token, Duration ttl);
+    }
+}
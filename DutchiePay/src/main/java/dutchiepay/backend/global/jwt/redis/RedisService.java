@@ -5,10 +5,10 @@ import dutchiepay.backend.domain.user.exception.UserErrorException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
 
 @Service
-@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class RedisService {
 
@@ -16,47 +16,55 @@ public class RedisService {
     private long refreshTokenExpiration;
     @Value("${jwt.access.token.expiration}")
     private long accessTokenExpiration;
-    private final RefreshRepository refreshRepository;
-    private final AccessRepository accessRepository;
+    private final RedisTokenStore redisTokenStore;
+    private final TokenBlacklistFilter tokenBlacklistFilter;
 
-    @Transactional
     public void saveToken(Long userId, String refreshToken) {
-        refreshRepository.save(RefreshToken.builder()
-                .userId(userId)
-                .refresh(refreshToken)
-                .expiration(refreshTokenExpiration)
-                .build());
+        redisTokenStore.saveRefreshToken(userId, refreshToken, Duration.ofMillis(refreshTokenExpiration));
     }
 
-    @Transactional
-    public void addBlackList(Long userId, String accessToken) {
-        accessRepository.save(ATBlackList.builder()
-                .userId(userId)
-                .access(accessToken)
-                .expiration(accessTokenExpiration)
-                .build());
+    public void addBlackList(String accessToken) {
+        redisTokenStore.addToBlacklist(accessToken, Duration.ofMillis(accessTokenExpiration));
+        tokenBlacklistFilter.add(accessToken);
     }
 
+    /**
+     * Bloom filter에서 블랙리스트에 없는 것이 확실한 토큰은 Redis를 조회하지 않는다.
+     */
     public boolean isTokenBlackListed(String accessToken) {
-        return accessRepository.findByAccess(accessToken) != null;
-    }
+        if (!tokenBlacklistFilter.mightContain(accessToken)) {
+            return false;
+        }
 
-    public String getRefreshToken(Long userId) {
+        boolean blackListed = redisTokenStore.isBlacklisted(accessToken);
+        if (!blackListed) {
+            tokenBlacklistFilter.recordFalsePositive();
+        }
+        return blackListed;
+    }
 
-        return refreshRepository.findById(userId)
-                .orElseThrow(() -> new UserErrorException(UserErrorCode.USER_NOT_FOUND))
-                .getRefresh();
+    /**
+     * 유저에게 마지막으로 발급된(폐기되지 않은) 리프레시 토큰인지 확인한다.
+     */
+    public boolean isCurrentRefreshToken(Long userId, String refreshToken) {
+        return userId.equals(redisTokenStore.findUserIdByRefreshToken(refreshToken));
     }
 
     public Long findUserIdFromRefreshToken(String refresh) {
-        RefreshToken refreshToken = refreshRepository.findByRefresh(refresh)
-                .orElseThrow(() -> new UserErrorException(UserErrorCode.INVALID_REFRESH_TOKEN));
-        return refreshToken.getUserId();
+        Long userId = redisTokenStore.findUserIdByRefreshToken(refresh);
+        if (userId == null) {
+            throw new UserErrorException(UserErrorCode.INVALID_REFRESH_TOKEN);
+        }
+        return userId;
     }
 
-    @Transactional
-    public void deleteRefreshToken(String refresh) {
-        refreshRepository.delete(refreshRepository.findByRefresh(refresh)
-                .orElseThrow(() -> new UserErrorException(UserErrorCode.INVALID_REFRESH_TOKEN)));
+    /**
+     * 유저의 리프레시 토큰을 폐기한다.
+     * @throws UserErrorException 저장된 리프레시 토큰이 없을 경우
+     */
+    public void deleteRefreshToken(Long userId) {
+        if (!redisTokenStore.revokeRefreshToken(userId)) {
+            throw new UserErrorException(UserErrorCode.USER_NOT_FOUND);
+        }
     }
 }
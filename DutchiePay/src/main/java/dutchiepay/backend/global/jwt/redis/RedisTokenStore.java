@@ -0,0 +1,153 @@
+package dutchiepay.backend.global.jwt.redis;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 리프레시 토큰과 액세스 토큰 블랙리스트 저장소
+ * 토큰 원문 대신 SHA-256 digest(hex)를 키로 사용하고 Redis TTL(PX)로 만료시킨다.
+ *
+ * - token:refresh:{digest} -> userId (TTL: 리프레시 토큰 만료)
+ * - token:refresh-users (Hash) userId -> {digest}:{만료 시각(ms)}, 유저당 리프레시 토큰은 하나
+ * - token:blacklist:{digest} -> 1 (TTL: 액세스 토큰 만료)
+ *
+ * 발급(교체)과 폐기는 Lua 스크립트 한 번으로 처리해 이전 토큰 삭제와 새 토큰 저장 사이에 다른 요청이 끼어들지 않는다.
+ * 스크립트가 Hash에서 읽은 digest로 키를 만들므로 Redis Cluster에서는 사용할 수 없다. (현재 단일 노드 구성)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisTokenStore {
+    private static final String REFRESH_PREFIX = "token:refresh:";
+    private static final String REFRESH_USERS_KEY = "token:refresh-users";
+    private static final String BLACKLIST_PREFIX = "token:blacklist:";
+
+    // 이전 리프레시 토큰을 지우고 새 토큰을 저장한다.
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>(
+            "local old = redis.call('HGET', KEYS[1], ARGV[1]) " +
+            "if old then redis.call('DEL', ARGV[5] .. string.match(old, '^[^:]+')) end " +
+            "redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[3]) " +
+            "redis.call('HSET', KEYS[1], ARGV[1], ARGV[2] .. ':' .. ARGV[4]) " +
+            "return 1", Long.class);
+
+    // 1: 폐기, 0: 저장된 토큰 없음
+    private static final RedisScript<Long> REVOKE_SCRIPT = new DefaultRedisScript<>(
+            "local old = redis.call('HGET', KEYS[1], ARGV[1]) " +
+            "if not old then return 0 end " +
+            "redis.call('HDEL', KEYS[1], ARGV[1]) " +
+            "return redis.call('DEL', ARGV[2] .. string.match(old, '^[^:]+'))", Long.class);
+
+    // 정리 대상을 고른 뒤 다시 발급된 경우에는 지우지 않는다.
+    private static final RedisScript<Long> PRUNE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HGET', KEYS[1], ARGV[1]) ~= ARGV[2] then return 0 end " +
+            "return redis.call('HDEL', KEYS[1], ARGV[1])", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 유저의 리프레시 토큰을 저장한다. 이전에 발급된 토큰은 함께 폐기된다.
+     */
+    public void saveRefreshToken(Long userId, String refreshToken, Duration ttl) {
+        String digest = TokenDigests.toHex(TokenDigests.sha256(refreshToken));
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+
+        stringRedisTemplate.execute(ROTATE_SCRIPT, List.of(REFRESH_USERS_KEY, REFRESH_PREFIX + digest),
+                String.valueOf(userId), digest, String.valueOf(ttl.toMillis()), String.valueOf(expiresAt), REFRESH_PREFIX);
+    }
+
+    /**
+     * 리프레시 토큰의 유저 Id, 폐기되었거나 만료되었으면 null
+     */
+    public Long findUserIdByRefreshToken(String refreshToken) {
+        String userId = stringRedisTemplate.opsForValue().get(refreshKey(refreshToken));
+
+        return userId == null ? null : Long.valueOf(userId);
+    }
+
+    /**
+     * 유저의 리프레시 토큰을 폐기한다.
+     * @return 폐기한 토큰이 있으면 true
+     */
+    public boolean revokeRefreshToken(Long userId) {
+        Long revoked = stringRedisTemplate.execute(REVOKE_SCRIPT, Collections.singletonList(REFRESH_USERS_KEY),
+                String.valueOf(userId), REFRESH_PREFIX);
+
+        return revoked != null && revoked > 0;
+    }
+
+    public void addToBlacklist(String accessToken, Duration ttl) {
+        stringRedisTemplate.opsForValue().set(blacklistKey(accessToken), "1", ttl);
+    }
+
+    public boolean isBlacklisted(String accessToken) {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(blacklistKey(accessToken)));
+    }
+
+    /**
+     * 블랙리스트에 있는 모든 토큰의 digest를 전달한다. (KEYS 대신 SCAN 사용)
+     */
+    public void forEachBlacklistedDigest(Consumer<byte[]> consumer) {
+        ScanOptions options = ScanOptions.scanOptions().match(BLACKLIST_PREFIX + "*").count(1000).build();
+
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                consumer.accept(TokenDigests.fromHex(cursor.next().substring(BLACKLIST_PREFIX.length())));
+            }
+        }
+    }
+
+    /**
+     * 토큰 키는 TTL로 만료되지만 token:refresh-users의 필드는 남으므로, 만료 시각이 지난 필드를 주기적으로 지운다.
+     */
+    @Scheduled(fixedDelayString = "${jwt.token-store.prune-interval-ms:3600000}")
+    public void pruneExpiredRefreshUsers() {
+        ScanOptions options = ScanOptions.scanOptions().count(1000).build();
+        long now = System.currentTimeMillis();
+        int pruned = 0;
+
+        try (Cursor<Map.Entry<Object, Object>> cursor = stringRedisTemplate.opsForHash().scan(REFRESH_USERS_KEY, options)) {
+            while (cursor.hasNext()) {
+                Map.Entry<Object, Object> entry = cursor.next();
+                String value = (String) entry.getValue();
+
+                if (Long.parseLong(value.substring(value.indexOf(':') + 1)) > now) {
+                    continue;
+                }
+
+                Long deleted = stringRedisTemplate.execute(PRUNE_SCRIPT, Collections.singletonList(REFRESH_USERS_KEY),
+                        (String) entry.getKey(), value);
+                if (deleted != null && deleted > 0) {
+                    pruned++;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("만료된 리프레시 토큰 정리 실패: {}", e.getMessage());
+            return;
+        }
+
+        if (pruned > 0) {
+            log.info("만료된 리프레시 토큰 정리 완료 (삭제: {})", pruned);
+        }
+    }
+
+    private static String refreshKey(String refreshToken) {
+        return REFRESH_PREFIX + TokenDigests.toHex(TokenDigests.sha256(refreshToken));
+    }
+
+    private static String blacklistKey(String accessToken) {
+        return BLACKLIST_PREFIX + TokenDigests.toHex(TokenDigests.sha256(accessToken));
+    }
+}
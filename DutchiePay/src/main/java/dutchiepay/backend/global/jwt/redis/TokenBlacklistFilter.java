@@ -0,0 +1,252 @@
+package dutchiepay.backend.global.jwt.redis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 액세스 토큰 블랙리스트 앞단의 노드별 Bloom filter
+ * 블랙리스트에 없는 토큰은 Redis 조회 없이 통과시키고, 있을 수도 있는 토큰만 Redis에서 확인한다.
+ *
+ * - 시작 시와 rebuild-interval마다 Redis의 블랙리스트로 다시 만든다. (만료된 항목도 이때 빠진다.)
+ * - 다른 노드에서 추가된 항목은 Redis pub/sub 채널로 전달받는다.
+ *   메시지가 유실되면 다음 재구성 전까지 해당 노드에서 그 토큰이 통과될 수 있다.
+ * - 아직 만들어지지 않았거나(Redis 장애 등) 비활성화된 경우에는 모든 토큰을 Redis에서 확인한다.
+ */
+@Slf4j
+@Component
+public class TokenBlacklistFilter implements MessageListener {
+    public static final String SYNC_CHANNEL = "jwt:blacklist";
+
+    private final RedisTokenStore redisTokenStore;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final boolean enabled;
+    private final long bitSize;
+    private final int hashCount;
+
+    private final Counter negativeCounter;
+    private final Counter positiveCounter;
+    private final Counter falsePositiveCounter;
+    private final Timer syncLagTimer;
+
+    private final Object lock = new Object();
+    private volatile BloomFilter filter;
+    private BloomFilter rebuilding;
+
+    public TokenBlacklistFilter(RedisTokenStore redisTokenStore,
+                                StringRedisTemplate stringRedisTemplate,
+                                RedisMessageListenerContainer redisMessageListenerContainer,
+                                MeterRegistry meterRegistry,
+                                @Value("${jwt.blacklist.bloom.enabled:true}") boolean enabled,
+                                @Value("${jwt.blacklist.bloom.expected-insertions:100000}") long expectedInsertions,
+                                @Value("${jwt.blacklist.bloom.fpp:0.01}") double fpp) {
+        this.redisTokenStore = redisTokenStore;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.enabled = enabled;
+
+        // m = -n * ln(p) / (ln 2)^2, k = m / n * ln 2
+        this.bitSize = Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+
+        this.negativeCounter = Counter.builder("jwt.blacklist.bloom.checks")
+                .tag("result", "negative")
+                .description("Bloom filter에서 걸러져 Redis를 조회하지 않은 토큰 수")
+                .register(meterRegistry);
+        this.positiveCounter = Counter.builder("jwt.blacklist.bloom.checks")
+                .tag("result", "positive")
+                .description("Bloom filter를 통과해 Redis를 조회한 토큰 수")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("jwt.blacklist.bloom.false.positive")
+                .description("Redis 조회 결과 블랙리스트에 없던 토큰 수 (만료되었지만 아직 재구성되지 않은 항목 포함)")
+                .register(meterRegistry);
+        this.syncLagTimer = Timer.builder("jwt.blacklist.sync.lag")
+                .description("블랙리스트 추가 발행부터 수신까지의 지연")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("jwt.blacklist.bloom.entries", this, TokenBlacklistFilter::getEntryCount)
+                .description("Bloom filter에 추가된 항목 수 (재구성 시 초기화)")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        // 재구성 중에 추가된 항목을 놓치지 않도록 구독을 먼저 시작한다.
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(SYNC_CHANNEL));
+        rebuild();
+        log.info("액세스 토큰 블랙리스트 Bloom filter 활성화 (bits: {}, hashes: {})", bitSize, hashCount);
+    }
+
+    /**
+     * Redis의 블랙리스트로 Bloom filter를 다시 만든다.
+     * 재구성 중에 추가되는 항목은 기존 필터와 새 필터에 함께 넣는다.
+     */
+    @Scheduled(fixedDelayString = "${jwt.blacklist.bloom.rebuild-interval-ms:600000}",
+            initialDelayString = "${jwt.blacklist.bloom.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        BloomFilter next = new BloomFilter(bitSize, hashCount);
+        synchronized (lock) {
+            rebuilding = next;
+        }
+
+        try {
+            redisTokenStore.forEachBlacklistedDigest(next::put);
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                rebuilding = null;
+            }
+            log.warn("액세스 토큰 블랙리스트 Bloom filter 재구성 실패: {}", e.getMessage());
+            return;
+        }
+
+        synchronized (lock) {
+            filter = next;
+            rebuilding = null;
+        }
+    }
+
+    /**
+     * 블랙리스트에 추가된 토큰을 현재 노드에 반영하고 다른 노드에 알린다.
+     */
+    public void add(String accessToken) {
+        if (!enabled) {
+            return;
+        }
+
+        byte[] digest = TokenDigests.sha256(accessToken);
+        put(digest);
+
+        try {
+            stringRedisTemplate.convertAndSend(SYNC_CHANNEL,
+                    Base64.getEncoder().encodeToString(digest) + ":" + System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.error("액세스 토큰 블랙리스트 동기화 메시지 발행 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 블랙리스트에 있을 수도 있으면 true, 확실히 없으면 false
+     */
+    public boolean mightContain(String accessToken) {
+        BloomFilter current = filter;
+
+        if (current == null || current.mightContain(TokenDigests.sha256(accessToken))) {
+            positiveCounter.increment();
+            return true;
+        }
+
+        negativeCounter.increment();
+        return false;
+    }
+
+    /**
+     * Bloom filter를 통과했지만 Redis에 없던 경우를 기록한다.
+     */
+    public void recordFalsePositive() {
+        falsePositiveCounter.increment();
+    }
+
+    /**
+     * 다른 노드(또는 현재 노드)에서 발행한 블랙리스트 추가를 반영한다.
+     * 메시지 형식: {Base64 digest}:{발행 시각(ms)}
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+
+        try {
+            put(Base64.getDecoder().decode(body.substring(0, separator)));
+
+            long lag = System.currentTimeMillis() - Long.parseLong(body.substring(separator + 1));
+            syncLagTimer.record(Duration.ofMillis(Math.max(0, lag)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            log.error("액세스 토큰 블랙리스트 동기화 메시지 형식 오류: {}", e.getMessage());
+        }
+    }
+
+    private void put(byte[] digest) {
+        synchronized (lock) {
+            if (filter != null) {
+                filter.put(digest);
+            }
+            if (rebuilding != null) {
+                rebuilding.put(digest);
+            }
+        }
+    }
+
+    private double getEntryCount() {
+        BloomFilter current = filter;
+        return current == null ? 0 : current.entries.get();
+    }
+
+    /**
+     * SHA-256 digest의 앞 16바이트를 두 해시 값으로 나눠 k개의 비트 위치를 만든다. (double hashing)
+     */
+    private static final class BloomFilter {
+        private final AtomicLongArray bits;
+        private final long bitSize;
+        private final int hashCount;
+        private final AtomicLong entries = new AtomicLong();
+
+        private BloomFilter(long bitSize, int hashCount) {
+            this.bits = new AtomicLongArray((int) ((bitSize + 63) >>> 6));
+            this.bitSize = bitSize;
+            this.hashCount = hashCount;
+        }
+
+        private void put(byte[] digest) {
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            long h1 = buffer.getLong();
+            long h2 = buffer.getLong();
+
+            for (int i = 0; i < hashCount; i++) {
+                long index = Math.floorMod(h1 + i * h2, bitSize);
+                bits.getAndAccumulate((int) (index >>> 6), 1L << index, (a, b) -> a | b);
+            }
+            entries.incrementAndGet();
+        }
+
+        private boolean mightContain(byte[] digest) {
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            long h1 = buffer.getLong();
+            long h2 = buffer.getLong();
+
+            for (int i = 0; i < hashCount; i++) {
+                long index = Math.floorMod(h1 + i * h2, bitSize);
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,103 +1,105 @@
 package dutchiepay.backend.global.logging;
 
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.extern.slf4j.Slf4j;
-import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.springframework.http.HttpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.lang.reflect.Method;
 import java.util.Map;
-
-@Slf4j
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 컨트롤러 요청/응답 로그
+ * 호출마다 RequestLogEvent 하나를 만들어 RequestLogWriter 큐에 넣고, 렌더링과 출력은 writer 스레드에서 한다.
+ * 정상 응답은 엔드포인트별 비율(request-log.sample-rates, 없으면 request-log.sample-rate)로 샘플링하고,
+ * 예외와 4xx/5xx 응답은 항상 남긴다.
+ */
 @Component
 @Aspect
 public class LoggingAspect {
+    private final RequestLogWriter requestLogWriter;
+    private final double defaultSampleRate;
+    // "컨트롤러 클래스 이름.메서드 이름" -> 샘플링 비율 (0~1)
+    private final Map<String, Double> sampleRates;
+    private final Map<Method, Double> resolvedSampleRates = new ConcurrentHashMap<>();
+
+    public LoggingAspect(RequestLogWriter requestLogWriter,
+                         Environment environment,
+                         @Value("${request-log.sample-rate:1.0}") double defaultSampleRate) {
+        this.requestLogWriter = requestLogWriter;
+        this.defaultSampleRate = defaultSampleRate;
+        this.sampleRates = Binder.get(environment)
+                .bind("request-log.sample-rates", Bindable.mapOf(String.class, Double.class))
+                .orElse(Map.of());
+    }
+
     @Pointcut("execution(* dutchiepay.backend.domain.*.controller.*Controller.*(..)) && !execution(* dutchiepay.backend.domain.chat.controller.*Controller.*(..))")
     private void logCut() {
     }
 
-    @Before("logCut()")
-    public void beforeLogging(JoinPoint joinPoint) {
-        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        Method method = methodSignature.getMethod();
-
-        log.info("================================= Request ==================================");
-        log.info("요청 메서드 이름 : {}", method.getName());
-        log.debug("요청 메서드 경로 : {}", method.getDeclaringClass() + "." + method.getName());
+    @Around("logCut()")
+    public Object logRequest(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Object result;
 
-        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
-        Cookie[] cookies = request.getCookies();
-
-        if (cookies != null) {
-            for (Cookie cookie : cookies) {
-                if (cookie.getName().equals("refresh")) { // 프론트에서 어떻게 보내줄지 모르니 나중에 수정
-                    log.debug("요청 쿠키 값 : {}", cookie.getName() + " = " + cookie.getValue());
-                }
-            }
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            requestLogWriter.enqueue(toEvent(joinPoint, null, e, start));
+            throw e;
         }
 
-        Object[] args = joinPoint.getArgs();
-
-        if (args.length == 0) {
-            log.info("인자가 없는 요청");
+        if (isErrorResponse(result) || sampled(((MethodSignature) joinPoint.getSignature()).getMethod())) {
+            requestLogWriter.enqueue(toEvent(joinPoint, result, null, start));
         }
 
-        for (Object arg : args) {
-            if (arg == null) continue;
-
-            log.info("요청 파라미터 타입 : {} ⇾ 값 : {}", arg.getClass().getSimpleName(), arg);
-        }
+        return result;
     }
 
-    @AfterReturning(pointcut = "logCut()", returning = "result")
-    public void afterLogging(JoinPoint joinPoint, Object result) {
-
-        log.info("================================= Response =================================");
-
-        if (result instanceof ResponseEntity<?>) {
-            ResponseEntity<?> response = (ResponseEntity<?>) result;
-            logResponseEntity(response);
-        } else if (result instanceof String) {
-            logStringResponse((String) result);
-        } else {
-            log.info("응답 내용 : {}", result);
+    private RequestLogEvent toEvent(ProceedingJoinPoint joinPoint, Object result, Throwable exception, long start) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Method method = signature.getMethod();
+        RequestLogEvent.RequestLogEventBuilder builder = RequestLogEvent.builder()
+                .endpoint(endpoint(method))
+                .args(joinPoint.getArgs())
+                .parameterNames(signature.getParameterNames())
+                .result(result)
+                .exception(exception)
+                .elapsedMicros((System.nanoTime() - start) / 1000);
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            builder.httpMethod(request.getMethod())
+                    .uri(request.getRequestURI());
         }
 
-        log.info("============================================================================");
-    }
-
-    @AfterThrowing(pointcut = "logCut()", throwing = "exception")
-    public void afterThrowingLogging(JoinPoint joinPoint, Exception exception) {
-        log.error("================================= Exception =================================");
-        log.error("예외 종류 : {} ⇾ 메시지 : {}", exception.getClass().getSimpleName(), exception.getMessage());
-        log.error("=============================================================================");
+        return builder.build();
     }
 
-    private void logResponseEntity(ResponseEntity<?> response) {
-        HttpHeaders headers = response.getHeaders();
+    private boolean sampled(Method method) {
+        double rate = resolvedSampleRates.computeIfAbsent(method,
+                m -> sampleRates.getOrDefault(endpoint(m), defaultSampleRate));
 
-        log.info("응답 코드 : {}", response.getStatusCode());
-        log.info("응답 헤더 : {}", headers);
-
-        for (Map.Entry<String, String> entry : headers.toSingleValueMap().entrySet()) {
-            if (entry.getKey().equals(HttpHeaders.SET_COOKIE) || entry.getKey().equals(HttpHeaders.AUTHORIZATION)) {
-                log.debug("응답 헤더 : {} ⇾ 값 : {}", entry.getKey(), entry.getValue());
-            } else {
-                log.info("응답 헤더 : {} ⇾ 값 : {}", entry.getKey(), entry.getValue());
-            }
-        }
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
 
-        log.info("응답 내용 : {}", response.getBody());
+    private static boolean isErrorResponse(Object result) {
+        return result instanceof ResponseEntity<?> response && response.getStatusCode().isError();
     }
 
-    private void logStringResponse(String response) {
-        log.info("응답 내용 : {}", response);
+    private static String endpoint(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
     }
 }
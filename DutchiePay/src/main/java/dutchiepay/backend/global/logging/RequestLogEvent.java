@@ -0,0 +1,27 @@
+package dutchiepay.backend.global.logging;
+
+import lombok.*;
+
+/**
+ * 컨트롤러 호출 한 번의 로그 이벤트
+ * 인자와 응답은 참조만 담고, 문자열로 바꾸는 것은 RequestLogWriter 스레드에서 한다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RequestLogEvent {
+    private String endpoint;
+    private String httpMethod;
+    private String uri;
+    private Object[] args;
+    // args와 같은 순서의 파라미터 이름 (이름으로 값을 가릴 때 쓴다, 알 수 없으면 null)
+    private String[] parameterNames;
+    private Object result;
+    private Throwable exception;
+    private long elapsedMicros;
+
+    public boolean isError() {
+        return exception != null;
+    }
+}
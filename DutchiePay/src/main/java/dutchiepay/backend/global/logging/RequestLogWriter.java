@@ -0,0 +1,472 @@
+package dutchiepay.backend.global.logging;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dutchiepay.backend.global.security.UserDetailsImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청/응답 로그를 별도 스레드에서 쓴다.
+ * 요청 스레드는 RequestLogEvent를 bounded 큐에 넣기만 하고, 인자/응답 본문을 문자열로 바꾸는 작업은 이 스레드에서 한다.
+ * (logback AsyncAppender는 메시지 포맷팅을 호출 스레드에서 하므로 본문 렌더링 비용을 옮기지 못한다.)
+ *
+ * - 본문은 JSON으로 max-body-length까지만 렌더링하고, 그 이후는 직렬화 자체를 중단한다.
+ * - redacted-fields에 해당하는 문자열 필드(토큰, 비밀번호, 연락처 등)는 값을 가린다.
+ *   DTO가 아닌 문자열/숫자 인자(@RequestParam, @PathVariable 등)는 파라미터 이름으로 판단한다.
+ * - 큐가 가득 차면 로그를 버리고, 예외 로그만 본문 없이 요청 스레드에서 바로 남긴다.
+ */
+@Slf4j
+@Component
+public class RequestLogWriter {
+    private static final String APP_PACKAGE = "dutchiepay.backend.";
+    private static final String TRUNCATED = "...(truncated)";
+    private static final String REDACTED = "***";
+
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<RequestLogEvent> queue;
+    private final int maxBodyLength;
+    private final Set<String> redactedFields;
+    private final Counter droppedCounter;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public RequestLogWriter(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${request-log.queue-capacity:10000}") int capacity,
+                            @Value("${request-log.max-body-length:1000}") int maxBodyLength,
+                            @Value("${request-log.redacted-fields:access,refresh,password,newPassword,code,email,phone}") Set<String> redactedFields) {
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBodyLength = maxBodyLength;
+        this.redactedFields = redactedFields;
+
+        Gauge.builder("request.log.queue.depth", queue, BlockingQueue::size)
+                .description("쓰기를 기다리는 요청 로그 수")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("request.log.dropped")
+                .description("큐가 가득 차 버린 요청 로그 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "request-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 종료 시 큐에 남은 로그를 모두 쓴다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+
+        RequestLogEvent event;
+        while ((event = queue.poll()) != null) {
+            write(event);
+        }
+    }
+
+    public void enqueue(RequestLogEvent event) {
+        if (queue.offer(event)) {
+            return;
+        }
+
+        droppedCounter.increment();
+        if (event.isError()) {
+            log.error("[{}] {} {} ({}us) ⇾ 예외 : {} - {}", event.getEndpoint(), event.getHttpMethod(), event.getUri(),
+                    event.getElapsedMicros(), event.getException().getClass().getSimpleName(), event.getException().getMessage());
+        }
+    }
+
+    private void writeLoop() {
+        while (running) {
+            try {
+                RequestLogEvent event = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    write(event);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(RequestLogEvent event) {
+        try {
+            String prefix = String.format("[%s] %s %s (%dus)",
+                    event.getEndpoint(), event.getHttpMethod(), event.getUri(), event.getElapsedMicros());
+            String args = renderArgs(event.getArgs(), event.getParameterNames());
+
+            if (event.isError()) {
+                log.error("{} 요청 : {} ⇾ 예외 : {} - {}", prefix, args,
+                        event.getException().getClass().getSimpleName(), event.getException().getMessage());
+                return;
+            }
+
+            Object result = event.getResult();
+            if (result instanceof ResponseEntity<?> response) {
+                if (response.getStatusCode().isError()) {
+                    log.warn("{} 요청 : {} ⇾ 응답 : {} {}", prefix, args, response.getStatusCode().value(), render(response.getBody()));
+                } else {
+                    log.info("{} 요청 : {} ⇾ 응답 : {} {}", prefix, args, response.getStatusCode().value(), render(response.getBody()));
+                }
+            } else {
+                log.info("{} 요청 : {} ⇾ 응답 : {}", prefix, args, render(result));
+            }
+        } catch (RuntimeException e) {
+            log.warn("요청 로그 작성 실패 ({}): {}", event.getEndpoint(), e.getMessage());
+        }
+    }
+
+    /**
+     * 서블릿 객체는 제외하고, 인증 정보는 유저 Id만, 애플리케이션 DTO는 JSON으로 남긴다.
+     * 단순 값 인자는 "이름=값"으로 남기고, 이름이 redacted-fields에 있으면 값을 가린다.
+     */
+    private String renderArgs(Object[] args, String[] parameterNames) {
+        StringBuilder sb = new StringBuilder("[");
+
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg == null || arg instanceof ServletRequest || arg instanceof ServletResponse) {
+                continue;
+            }
+
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+
+            if (arg instanceof UserDetailsImpl userDetails) {
+                sb.append("userId=").append(userDetails.getUserId());
+            } else if (arg instanceof MultipartFile file) {
+                sb.append("file=").append(file.getOriginalFilename()).append('(').append(file.getSize()).append(')');
+            } else if (arg instanceof CharSequence || arg instanceof Number || arg instanceof Boolean || arg instanceof Enum<?>) {
+                String name = parameterNames != null && i < parameterNames.length ? parameterNames[i] : null;
+                if (name == null) {
+                    sb.append(render(arg));
+                } else {
+                    sb.append(name).append('=').append(redactedFields.contains(name) ? REDACTED : render(arg));
+                }
+            } else if (arg.getClass().getName().startsWith(APP_PACKAGE)) {
+                sb.append(render(arg));
+            } else {
+                sb.append(arg.getClass().getSimpleName());
+            }
+        }
+
+        return sb.append(']').toString();
+    }
+
+    private String render(Object value) {
+        if (value == null) {
+            return "null";
+        }
+
+        if (value instanceof CharSequence text) {
+            return text.length() > maxBodyLength ? text.subSequence(0, maxBodyLength) + TRUNCATED : text.toString();
+        }
+
+        TruncatingWriter out = new TruncatingWriter(maxBodyLength);
+        try (JsonGenerator generator = new RedactingGenerator(objectMapper.getFactory().createGenerator(out), redactedFields)) {
+            objectMapper.writeValue(generator, value);
+        } catch (IOException e) {
+            if (!out.truncated) {
+                return value.getClass().getSimpleName() + "(렌더링 실패: " + e.getMessage() + ")";
+            }
+        }
+
+        return out.truncated ? out.sb + TRUNCATED : out.sb.toString();
+    }
+
+    /**
+     * 최대 길이를 넘으면 예외를 던져 직렬화를 중단한다.
+     */
+    private static class TruncatingWriter extends Writer {
+        private final StringBuilder sb = new StringBuilder();
+        private final int maxLength;
+        private boolean truncated;
+
+        private TruncatingWriter(int maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            int remaining = maxLength - sb.length();
+
+            if (len > remaining) {
+                sb.append(cbuf, off, remaining);
+                truncated = true;
+                throw new IOException("truncated");
+            }
+            sb.append(cbuf, off, len);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * 지정한 이름의 필드에 쓰는 문자열 값을 가린다.
+     */
+    private static class RedactingGenerator extends JsonGeneratorDelegate {
+        private final Set<String> redactedFields;
+        private boolean redactNext;
+
+        private RedactingGenerator(JsonGenerator delegate, Set<String> redactedFields) {
+            super(delegate, false);
+            this.redactedFields = redactedFields;
+        }
+
+        @Override
+        public void writeFieldName(String name) throws IOException {
+            redactNext = redactedFields.contains(name);
+            super.writeFieldName(name);
+        }
+
+        @Override
+        public void writeFieldName(SerializableString name) throws IOException {
+            redactNext = redactedFields.contains(name.getValue());
+            super.writeFieldName(name);
+        }
+
+        /**
+         * 다음 값을 가려야 하는지 반환하고 표시를 지운다.
+         * 가리는 필드의 값이 문자열이 아니어도(숫자, null, 배열/객체 등) 표시가 다음 값으로 넘어가지 않도록 값을 쓰는 모든 메서드에서 호출한다.
+         */
+        private boolean takeRedact() {
+            boolean redact = redactNext;
+            redactNext = false;
+            return redact;
+        }
+
+        @Override
+        public void writeString(String text) throws IOException {
+            super.writeString(takeRedact() && text != null ? REDACTED : text);
+        }
+
+        @Override
+        public void writeString(char[] text, int offset, int len) throws IOException {
+            if (takeRedact()) {
+                super.writeString(REDACTED);
+                return;
+            }
+            super.writeString(text, offset, len);
+        }
+
+        @Override
+        public void writeString(SerializableString text) throws IOException {
+            if (takeRedact()) {
+                super.writeString(REDACTED);
+                return;
+            }
+            super.writeString(text);
+        }
+
+        @Override
+        public void writeString(Reader reader, int len) throws IOException {
+            if (takeRedact()) {
+                super.writeString(REDACTED);
+                return;
+            }
+            super.writeString(reader, len);
+        }
+
+        @Override
+        public void writeRawUTF8String(byte[] text, int offset, int length) throws IOException {
+            if (takeRedact()) {
+                super.writeString(REDACTED);
+                return;
+            }
+            super.writeRawUTF8String(text, offset, length);
+        }
+
+        @Override
+        public void writeUTF8String(byte[] text, int offset, int length) throws IOException {
+            if (takeRedact()) {
+                super.writeString(REDACTED);
+                return;
+            }
+            super.writeUTF8String(text, offset, length);
+        }
+
+        @Override
+        public void writeStartArray() throws IOException {
+            redactNext = false;
+            super.writeStartArray();
+        }
+
+        @Override
+        public void writeStartArray(int size) throws IOException {
+            redactNext = false;
+            super.writeStartArray(size);
+        }
+
+        @Override
+        public void writeStartArray(Object forValue) throws IOException {
+            redactNext = false;
+            super.writeStartArray(forValue);
+        }
+
+        @Override
+        public void writeStartArray(Object forValue, int size) throws IOException {
+            redactNext = false;
+            super.writeStartArray(forValue, size);
+        }
+
+        @Override
+        public void writeStartObject() throws IOException {
+            redactNext = false;
+            super.writeStartObject();
+        }
+
+        @Override
+        public void writeStartObject(Object forValue) throws IOException {
+            redactNext = false;
+            super.writeStartObject(forValue);
+        }
+
+        @Override
+        public void writeStartObject(Object forValue, int size) throws IOException {
+            redactNext = false;
+            super.writeStartObject(forValue, size);
+        }
+
+        @Override
+        public void writeNumber(short v) throws IOException {
+            redactNext = false;
+            super.writeNumber(v);
+        }
+
+        @Override
+        public void writeNumber(int v) throws IOException {
+            redactNext = false;
+            super.writeNumber(v);
+        }
+
+        @Override
+        public void writeNumber(long v) throws IOException {
+            redactNext = false;
+            super.writeNumber(v);
+        }
+
+        @Override
+        public void writeNumber(BigInteger v) throws IOException {
+            redactNext = false;
+            super.writeNumber(v);
+        }
+
+        @Override
+        public void writeNumber(double v) throws IOException {
+            redactNext = false;
+            super.writeNumber(v);
+        }
+
+        @Override
+        public void writeNumber(float v) throws IOException {
+            redactNext = false;
+            super.writeNumber(v);
+        }
+
+        @Override
+        public void writeNumber(BigDecimal v) throws IOException {
+            redactNext = false;
+            super.writeNumber(v);
+        }
+
+        @Override
+        public void writeNumber(String encodedValue) throws IOException {
+            redactNext = false;
+            super.writeNumber(encodedValue);
+        }
+
+        @Override
+        public void writeNumber(char[] encodedValueBuffer, int offset, int length) throws IOException {
+            redactNext = false;
+            super.writeNumber(encodedValueBuffer, offset, length);
+        }
+
+        @Override
+        public void writeBoolean(boolean state) throws IOException {
+            redactNext = false;
+            super.writeBoolean(state);
+        }
+
+        @Override
+        public void writeNull() throws IOException {
+            redactNext = false;
+            super.writeNull();
+        }
+
+        @Override
+        public void writeBinary(Base64Variant b64variant, byte[] data, int offset, int len) throws IOException {
+            redactNext = false;
+            super.writeBinary(b64variant, data, offset, len);
+        }
+
+        @Override
+        public void writeRawValue(String text) throws IOException {
+            redactNext = false;
+            super.writeRawValue(text);
+        }
+
+        @Override
+        public void writeRawValue(String text, int offset, int len) throws IOException {
+            redactNext = false;
+            super.writeRawValue(text, offset, len);
+        }
+
+        @Override
+        public void writeRawValue(char[] text, int offset, int len) throws IOException {
+            redactNext = false;
+            super.writeRawValue(text, offset, len);
+        }
+
+        @Override
+        public void writeEmbeddedObject(Object object) throws IOException {
+            redactNext = false;
+            super.writeEmbeddedObject(object);
+        }
+
+        @Override
+        public int writeBinary(Base64Variant b64variant, InputStream data, int dataLength) throws IOException {
+            redactNext = false;
+            return super.writeBinary(b64variant, data, dataLength);
+        }
+    }
+}
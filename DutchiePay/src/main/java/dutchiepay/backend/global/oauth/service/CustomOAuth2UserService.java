@@ -6,6 +6,7 @@ import dutchiepay.backend.domain.user.repository.UserRepository;
 import dutchiepay.backend.entity.User;
 import dutchiepay.backend.global.jwt.redis.RedisService;
 import dutchiepay.backend.global.oauth.dto.OAuthAttribute;
+import dutchiepay.backend.global.security.PrincipalCache;
 import dutchiepay.backend.global.security.UserDetailsImpl;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +35,7 @@ public class CustomOAuth2UserService implements OAuth2UserService<OAuth2UserRequ
     private final UserRepository userRepository;
     private final OAuth2AuthorizedClientService oauthService;
     private final RedisService redisService;
+    private final PrincipalCache principalCache;
 
     @Value("${spring.security.oauth2.client.registration.naver.client-id}")
     private String naverClientId;
@@ -137,7 +139,8 @@ public class CustomOAuth2UserService implements OAuth2UserService<OAuth2UserRequ
     public void deleteOauthUser(HttpServletRequest request, UserDetailsImpl userDetails) {
         userRepository.findByOauthProviderAndEmail(userDetails.getOAuthProvider(), userDetails.getEmail())
                 .orElseThrow(() -> new UserErrorException(UserErrorCode.USER_NOT_FOUND)).delete();
-        redisService.addBlackList(userDetails.getUserId(), request.getHeader("Authorization"));
+        redisService.addBlackList(request.getHeader("Authorization"));
+        principalCache.invalidate(userDetails.getUserId());
 
     }
 }
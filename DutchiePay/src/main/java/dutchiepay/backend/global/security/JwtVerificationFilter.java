@@ -24,7 +24,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class JwtVerificationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final PrincipalCache principalCache;
     private final RedisService redisService;
 
     @Override
@@ -45,7 +45,7 @@ public class JwtVerificationFilter extends OncePerRequestFilter {
                     if (redisService.isTokenBlackListed(token)) // 블랙리스트 된 토큰이면 ExpiredJwtException 발생
                         throw new ExpiredJwtException(null, claims, null);
 
-                    UserDetailsImpl userDetails = getUserDetails(token);
+                    UserDetailsImpl userDetails = getUserDetails(claims);
                     setAuthenticationUser(userDetails, request);
                     filterChain.doFilter(request, response);
                     return;
@@ -53,7 +53,7 @@ public class JwtVerificationFilter extends OncePerRequestFilter {
                     Long userId = claims.get("userId", Long.class);
 
                     // 저장된 리프레시 토큰과 일치하는지 확인
-                    if (token.equals(redisService.getRefreshToken(userId))) {
+                    if (redisService.isCurrentRefreshToken(userId, token)) {
                         // 새 액세스 토큰 발급
                         String newAccessToken = jwtUtil.createAccessToken(userId);
                         response.addHeader("Authorization", "Bearer " + newAccessToken);
@@ -75,9 +75,9 @@ public class JwtVerificationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private UserDetailsImpl getUserDetails(String accessToken) {
-        Long userId = jwtUtil.getUserInfoFromAccessToken(accessToken).get("userId", Long.class);
-        return (UserDetailsImpl) userDetailsService.loadUserById(userId);
+    private UserDetailsImpl getUserDetails(Claims claims) {
+        Long userId = claims.get("userId", Long.class);
+        return principalCache.get(userId);
     }
 
     private void setAuthenticationUser(UserDetailsImpl userDetails, HttpServletRequest request) {
@@ -0,0 +1,94 @@
+package dutchiepay.backend.global.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dutchiepay.backend.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * 인증된 요청마다 하던 유저 조회를 줄이기 위한 userId -> User 로컬 캐시
+ * 크기와 TTL로 제한하며, 닉네임/프로필 이미지/지역/전화번호/비밀번호 변경과 탈퇴 시 명시적으로 무효화한다.
+ * 캐시에는 변경할 수 없는 스냅샷을 두고 요청마다 새 User를 만들어 주므로, 요청에서 User를 수정해도 캐시와 다른 요청에는 보이지 않는다.
+ * 요청의 User는 생성/수정 시각이 없는 분리된 객체이므로, 유저 정보를 변경할 때는 DB에서 다시 조회한 엔티티를 수정해야 한다.
+ * 다른 노드의 캐시는 무효화되지 않으므로 다중 노드 배포에서는 TTL만큼 이전 값을 볼 수 있다.
+ */
+@Component
+public class PrincipalCache {
+    private final UserDetailsServiceImpl userDetailsService;
+    private final Cache<Long, UserSnapshot> users;
+
+    public PrincipalCache(UserDetailsServiceImpl userDetailsService,
+                          MeterRegistry meterRegistry,
+                          @Value("${security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${security.principal-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.userDetailsService = userDetailsService;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "security.principal");
+    }
+
+    /**
+     * 유저 정보를 조회한다.
+     * @throws org.springframework.security.core.userdetails.UsernameNotFoundException 유저가 존재하지 않을 경우
+     */
+    public UserDetailsImpl get(Long userId) {
+        UserSnapshot snapshot = users.get(userId,
+                id -> UserSnapshot.from(((UserDetailsImpl) userDetailsService.loadUserById(id)).getUser()));
+
+        return new UserDetailsImpl(snapshot.toUser());
+    }
+
+    /**
+     * 유저 캐시를 무효화한다.
+     * 커밋 전에 다른 요청이 이전 값을 다시 캐시할 수 있으므로, 트랜잭션 안이라면 트랜잭션이 끝난 뒤에 한 번 더 무효화한다.
+     */
+    public void invalidate(Long userId) {
+        users.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    users.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private record UserSnapshot(Long userId, String email, String username, String phone, String password,
+                                String nickname, String location, String profileImg, int state,
+                                String oauthId, String oauthProvider) {
+        static UserSnapshot from(User user) {
+            return new UserSnapshot(user.getUserId(), user.getEmail(), user.getUsername(), user.getPhone(),
+                    user.getPassword(), user.getNickname(), user.getLocation(), user.getProfileImg(), user.getState(),
+                    user.getOauthId(), user.getOauthProvider());
+        }
+
+        User toUser() {
+            return User.builder()
+                    .userId(userId)
+                    .email(email)
+                    .username(username)
+                    .phone(phone)
+                    .password(password)
+                    .nickname(nickname)
+                    .location(location)
+                    .profileImg(profileImg)
+                    .state(state)
+                    .oauthId(oauthId)
+                    .oauthProvider(oauthProvider)
+                    .build();
+        }
+    }
+}
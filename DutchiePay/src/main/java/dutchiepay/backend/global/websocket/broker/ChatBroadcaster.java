@@ -0,0 +1,18 @@
+package dutchiepay.backend.global.websocket.broker;
+
+/**
+ * 채팅방 메시지 전파를 담당한다. 구독자 집계는 PresenceService에서 한다.
+ * chat.broker.relay 설정에 따라 단일 노드(local) 또는 Redis pub/sub(redis) 구현이 사용된다.
+ */
+public interface ChatBroadcaster {
+
+    /**
+     * 채팅방을 구독 중인 모든 세션에 payload를 전송한다.
+     */
+    void broadcast(Long chatRoomId, Object payload);
+
+    /**
+     * 다른 노드에 채팅방 캐시 무효화를 요청한다. 현재 노드의 캐시는 호출한 쪽에서 직접 무효화한다.
+     */
+    void publishInvalidation(Long chatRoomId);
+}
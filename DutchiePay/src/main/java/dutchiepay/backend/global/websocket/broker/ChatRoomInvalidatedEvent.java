@@ -0,0 +1,8 @@
+package dutchiepay.backend.global.websocket.broker;
+
+/**
+ * 다른 노드에서 채팅방 정보(멤버, 차단 유저)가 변경되었음을 알린다.
+ * RedisChatBroadcaster가 릴레이 채널로 수신한 무효화 요청을 이 이벤트로 발행한다.
+ */
+public record ChatRoomInvalidatedEvent(Long chatRoomId) {
+}
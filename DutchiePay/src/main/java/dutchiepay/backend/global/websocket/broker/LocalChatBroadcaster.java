@@ -0,0 +1,30 @@
+package dutchiepay.backend.global.websocket.broker;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 단일 노드용 구현. SimpleBroker로 현재 JVM의 세션에만 전송한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.broker.relay", havingValue = "local", matchIfMissing = true)
+public class LocalChatBroadcaster implements ChatBroadcaster {
+    private static final String CHAT_ROOM_PREFIX = "/sub/chat/";
+
+    private final SimpMessagingTemplate simpMessagingTemplate;
+
+    @Override
+    public void broadcast(Long chatRoomId, Object payload) {
+        simpMessagingTemplate.convertAndSend(CHAT_ROOM_PREFIX + chatRoomId, payload);
+    }
+
+    /**
+     * 단일 노드에서는 무효화할 다른 노드의 캐시가 없다.
+     */
+    @Override
+    public void publishInvalidation(Long chatRoomId) {
+    }
+}
@@ -0,0 +1,100 @@
+package dutchiepay.backend.global.websocket.broker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dutchiepay.backend.global.websocket.registry.ChatSubscriptionRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * 다중 노드용 구현. 채팅방 메시지를 Redis pub/sub 채널로 발행하고,
+ * 모든 노드가 채널을 구독해 자신에게 연결된 세션으로 전달한다.
+ * 채팅방 캐시 무효화 요청도 같은 채널로 발행하며, 수신한 노드는 ChatRoomInvalidatedEvent를 발행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.broker.relay", havingValue = "redis")
+public class RedisChatBroadcaster implements ChatBroadcaster, MessageListener {
+    public static final String RELAY_CHANNEL = "chat:relay";
+
+    private static final String CHAT_ROOM_PREFIX = "/sub/chat/";
+    private static final String INVALIDATE_FIELD = "invalidate";
+
+    private final SimpMessagingTemplate simpMessagingTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ChatSubscriptionRegistry chatSubscriptionRegistry;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(RELAY_CHANNEL));
+        log.info("채팅 Redis 릴레이 활성화");
+    }
+
+    @Override
+    public void broadcast(Long chatRoomId, Object payload) {
+        ObjectNode envelope = objectMapper.createObjectNode();
+        envelope.put("chatRoomId", chatRoomId);
+        envelope.set("payload", objectMapper.valueToTree(payload));
+
+        try {
+            stringRedisTemplate.convertAndSend(RELAY_CHANNEL, objectMapper.writeValueAsString(envelope));
+        } catch (IOException e) {
+            log.error("채팅 메시지 발행 실패 (chatRoomId: {}): {}", chatRoomId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void publishInvalidation(Long chatRoomId) {
+        ObjectNode envelope = objectMapper.createObjectNode();
+        envelope.put("chatRoomId", chatRoomId);
+        envelope.put(INVALIDATE_FIELD, true);
+
+        try {
+            stringRedisTemplate.convertAndSend(RELAY_CHANNEL, objectMapper.writeValueAsString(envelope));
+        } catch (RuntimeException | IOException e) {
+            // 발행에 실패해도 다른 노드의 캐시는 TTL이 지나면 다시 적재된다.
+            log.error("채팅방 캐시 무효화 발행 실패 (chatRoomId: {}): {}", chatRoomId, e.getMessage());
+        }
+    }
+
+    /**
+     * Redis 채널로 수신한 메시지를 현재 노드의 구독자에게 전달한다.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            JsonNode envelope = objectMapper.readTree(message.getBody());
+            long chatRoomId = envelope.get("chatRoomId").asLong();
+
+            if (envelope.path(INVALIDATE_FIELD).asBoolean()) {
+                applicationEventPublisher.publishEvent(new ChatRoomInvalidatedEvent(chatRoomId));
+                return;
+            }
+
+            if (chatSubscriptionRegistry.getSubscribedUserCount(chatRoomId) == 0) {
+                return;
+            }
+
+            simpMessagingTemplate.convertAndSend(CHAT_ROOM_PREFIX + chatRoomId, envelope.get("payload"));
+        } catch (IOException e) {
+            log.error("채팅 릴레이 메시지 역직렬화 실패: {}", e.getMessage());
+        }
+    }
+}
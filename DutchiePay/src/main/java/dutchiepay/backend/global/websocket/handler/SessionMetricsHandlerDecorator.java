@@ -0,0 +1,44 @@
+package dutchiepay.backend.global.websocket.handler;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WebSocket 세션 수와, 전송 버퍼/시간 한도를 넘어 끊긴 느린 세션 수를 기록한다.
+ * 한도를 넘은 세션은 SubProtocolWebSocketHandler가 SESSION_NOT_RELIABLE 상태로 종료한다.
+ */
+@Slf4j
+public class SessionMetricsHandlerDecorator extends WebSocketHandlerDecorator {
+    private final AtomicInteger openSessions;
+    private final Counter slowSessions;
+
+    public SessionMetricsHandlerDecorator(WebSocketHandler delegate, AtomicInteger openSessions, Counter slowSessions) {
+        super(delegate);
+        this.openSessions = openSessions;
+        this.slowSessions = slowSessions;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        openSessions.incrementAndGet();
+        super.afterConnectionEstablished(session);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        openSessions.decrementAndGet();
+
+        if (CloseStatus.SESSION_NOT_RELIABLE.equals(closeStatus)) {
+            slowSessions.increment();
+            log.warn("느린 WebSocket 세션 종료 (sessionId: {})", session.getId());
+        }
+
+        super.afterConnectionClosed(session, closeStatus);
+    }
+}
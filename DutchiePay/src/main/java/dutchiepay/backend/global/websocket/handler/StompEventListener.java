@@ -3,6 +3,8 @@ package dutchiepay.backend.global.websocket.handler;
 import dutchiepay.backend.domain.chat.repository.MessageRepository;
 import dutchiepay.backend.domain.chat.repository.UserChatroomRepository;
 import dutchiepay.backend.domain.chat.service.ChatRoomService;
+import dutchiepay.backend.global.websocket.presence.PresenceService;
+import dutchiepay.backend.global.websocket.registry.ChatSubscriptionRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -20,6 +22,8 @@ public class StompEventListener extends DefaultHandshakeHandler {
     private final UserChatroomRepository userChatroomRepository;
     private final MessageRepository messageRepository;
     private final ChatRoomService chatRoomService;
+    private final ChatSubscriptionRegistry chatSubscriptionRegistry;
+    private final PresenceService presenceService;
 
     /**
      * 구독 이벤트 핸들러
@@ -34,15 +38,58 @@ public class StompEventListener extends DefaultHandshakeHandler {
         String userId = accessor.getSessionAttributes().get("userId").toString();
         Long chatRoomId = Long.parseLong(destination.substring(destination.lastIndexOf("/") + 1));
 
+        if (ChatSubscriptionRegistry.parseChatRoomId(destination) != null
+                && chatSubscriptionRegistry.subscribe(accessor.getSessionId(), accessor.getSubscriptionId(),
+                        Long.valueOf(userId), chatRoomId)) {
+            presenceService.userJoined(chatRoomId, Long.valueOf(userId));
+        }
+
         chatRoomService.checkCursorId(chatRoomId, Long.valueOf(userId));
         chatRoomService.sendChatRoomInfo(userId, chatRoomId);
     }
 
+    /**
+     * 구독 취소 이벤트 핸들러
+     * @param event
+     */
+    @EventListener
+    public void handleUnsubscribeEvent(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+
+        Long userId = chatSubscriptionRegistry.getUserId(accessor.getSessionId());
+        Long chatRoomId = chatSubscriptionRegistry.unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+
+        if (chatRoomId != null) {
+            presenceService.userLeft(chatRoomId, userId);
+        }
+    }
+
     @EventListener
     public void sessionConnectEvent(SessionConnectedEvent event) {
+        Principal principal = event.getUser();
+
+        if (principal == null) {
+            return;
+        }
+
+        Long userId = Long.valueOf(principal.getName());
+        String sessionId = StompHeaderAccessor.wrap(event.getMessage()).getSessionId();
+
+        if (chatSubscriptionRegistry.connect(sessionId, userId)) {
+            presenceService.userConnected(userId);
+        }
     }
 
     @EventListener
     public void sessionDisconnectEvent(SessionDisconnectEvent event) {
+        Long userId = chatSubscriptionRegistry.getUserId(event.getSessionId());
+
+        for (Long chatRoomId : chatSubscriptionRegistry.disconnect(event.getSessionId())) {
+            presenceService.userLeft(chatRoomId, userId);
+        }
+
+        if (userId != null && !chatSubscriptionRegistry.isConnected(userId)) {
+            presenceService.userDisconnected(userId);
+        }
     }
 }
@@ -0,0 +1,162 @@
+package dutchiepay.backend.global.websocket.interceptor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dutchiepay.backend.domain.chat.dto.ChatAckResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * /pub/chat/{chatRoomId} 전송을 채팅방별 토큰 버킷으로 제한한다.
+ * 초당 permits-per-second개씩 burst개까지 채워지며, 토큰이 없으면 메시지를 버리고
+ * 보낸 세션에 거부 응답(type "error", reason "RATE_LIMITED")을 /user/sub/ack로 보낸다.
+ * inbound 채널 executor에 넘기기 전에 실행되므로 한 채팅방의 폭주가 다른 채팅방의 처리 스레드를 점유하지 않는다.
+ * 버킷은 노드별로 관리되므로 다중 노드에서는 노드 수만큼 한도가 늘어난다.
+ */
+@Slf4j
+@Component
+public class ChatRateLimitInterceptor implements ChannelInterceptor {
+    private static final String CHAT_DESTINATION_PREFIX = "/pub/chat/";
+    private static final String ACK_DESTINATION = "/sub/ack";
+
+    private final boolean enabled;
+    private final double permitsPerSecond;
+    private final double burst;
+    private final Cache<Long, TokenBucket> buckets;
+    private final Counter throttled;
+    // brokerMessagingTemplate은 이 인터셉터를 등록하는 WebSocketConfig 이후에 만들어지므로 사용할 때 조회한다.
+    private final ObjectProvider<SimpMessagingTemplate> simpMessagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ChatRateLimitInterceptor(MeterRegistry meterRegistry,
+                                    ObjectProvider<SimpMessagingTemplate> simpMessagingTemplate,
+                                    ObjectMapper objectMapper,
+                                    @Value("${chat.rate-limit.room.enabled:true}") boolean enabled,
+                                    @Value("${chat.rate-limit.room.permits-per-second:20}") double permitsPerSecond,
+                                    @Value("${chat.rate-limit.room.burst:40}") double burst) {
+        this.simpMessagingTemplate = simpMessagingTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.throttled = Counter.builder("chat.websocket.messages.throttled")
+                .description("채팅방 전송 한도를 넘어 버려진 메시지 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!enabled) {
+            return message;
+        }
+
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+
+        if (accessor == null || accessor.getCommand() != StompCommand.SEND) {
+            return message;
+        }
+
+        String destination = accessor.getDestination();
+
+        if (destination == null || !destination.startsWith(CHAT_DESTINATION_PREFIX)) {
+            return message;
+        }
+
+        Long chatRoomId;
+        try {
+            chatRoomId = Long.parseLong(destination.substring(CHAT_DESTINATION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return message;
+        }
+
+        if (buckets.get(chatRoomId, id -> new TokenBucket(permitsPerSecond, burst)).tryAcquire()) {
+            return message;
+        }
+
+        throttled.increment();
+        log.debug("채팅방 전송 한도 초과로 메시지를 버립니다. (chatRoomId: {}, sessionId: {})", chatRoomId, accessor.getSessionId());
+        rejectToSender(accessor, message.getPayload());
+        return null;
+    }
+
+    /**
+     * @SendToUser(broadcast = false)와 같이 보낸 세션에만 거부 응답을 보낸다.
+     */
+    private void rejectToSender(StompHeaderAccessor accessor, Object payload) {
+        String sessionId = accessor.getSessionId();
+
+        if (sessionId == null) {
+            return;
+        }
+
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setLeaveMutable(true);
+
+        String user = accessor.getUser() != null ? accessor.getUser().getName() : sessionId;
+        simpMessagingTemplate.getObject().convertAndSendToUser(user, ACK_DESTINATION,
+                ChatAckResponse.rateLimited(clientMessageId(payload)), headers.getMessageHeaders());
+    }
+
+    private String clientMessageId(Object payload) {
+        if (!(payload instanceof byte[] bytes)) {
+            return null;
+        }
+
+        try {
+            JsonNode clientMessageId = objectMapper.readTree(bytes).get("clientMessageId");
+            return clientMessageId == null || clientMessageId.isNull() ? null : clientMessageId.asText();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    static class TokenBucket {
+        private final double permitsPerNano;
+        private final double capacity;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(double permitsPerSecond, double capacity) {
+            this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        synchronized boolean tryAcquire() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+
+            if (tokens < 1) {
+                return false;
+            }
+
+            tokens -= 1;
+            return true;
+        }
+    }
+}
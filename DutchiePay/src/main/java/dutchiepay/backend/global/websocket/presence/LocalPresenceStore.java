@@ -0,0 +1,36 @@
+package dutchiepay.backend.global.websocket.presence;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 단일 노드용 구현. 모든 세션이 현재 노드에 있으므로 공유할 상태가 없다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.broker.relay", havingValue = "local", matchIfMissing = true)
+public class LocalPresenceStore implements PresenceStore {
+
+    @Override
+    public void apply(List<PresenceChange> changes) {
+    }
+
+    @Override
+    public void heartbeat(Map<Long, List<Long>> roomUsers, Collection<Long> userIds) {
+    }
+
+    @Override
+    public List<Long> getOnlineUserIds(Long chatRoomId) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Set<Long> filterOnline(Collection<Long> userIds) {
+        return Collections.emptySet();
+    }
+}
@@ -0,0 +1,25 @@
+package dutchiepay.backend.global.websocket.presence;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 공유 저장소에 일괄 반영할 접속 상태 변경
+ * chatRoomId가 있으면 채팅방 구독 변경, 없으면 유저 접속 변경이다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PresenceChange {
+    private final Long chatRoomId;
+    private final Long userId;
+    private final boolean online;
+
+    public static PresenceChange room(Long chatRoomId, Long userId, boolean online) {
+        return new PresenceChange(chatRoomId, userId, online);
+    }
+
+    public static PresenceChange user(Long userId, boolean online) {
+        return new PresenceChange(null, userId, online);
+    }
+}
@@ -0,0 +1,174 @@
+package dutchiepay.backend.global.websocket.presence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dutchiepay.backend.global.websocket.registry.ChatSubscriptionRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 유저 접속 상태와 채팅방별 구독(온라인) 상태를 제공한다.
+ * 현재 노드의 상태는 ChatSubscriptionRegistry에서 바로 읽고, 다른 노드의 상태는 PresenceStore에서 읽어 짧게 캐시한다.
+ * 상태 변경은 큐에 모아 flush-interval마다 한 번에 반영하고, heartbeat-interval마다 만료 시각을 연장한다.
+ */
+@Slf4j
+@Service
+public class PresenceService {
+    private final ChatSubscriptionRegistry chatSubscriptionRegistry;
+    private final PresenceStore presenceStore;
+    private final ConcurrentLinkedQueue<PresenceChange> pending = new ConcurrentLinkedQueue<>();
+    // 다른 노드의 상태 캐시
+    private final Cache<Long, List<Long>> remoteRoomUsers;
+    private final Cache<Long, Boolean> remoteOnlineUsers;
+
+    public PresenceService(ChatSubscriptionRegistry chatSubscriptionRegistry,
+                           PresenceStore presenceStore,
+                           @Value("${chat.presence.cache-ms:1000}") long cacheMillis) {
+        this.chatSubscriptionRegistry = chatSubscriptionRegistry;
+        this.presenceStore = presenceStore;
+        this.remoteRoomUsers = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(cacheMillis))
+                .build();
+        this.remoteOnlineUsers = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMillis(cacheMillis))
+                .build();
+    }
+
+    /**
+     * 유저가 현재 노드에 처음 연결했을 때 호출된다.
+     */
+    public void userConnected(Long userId) {
+        pending.add(PresenceChange.user(userId, true));
+    }
+
+    /**
+     * 유저가 현재 노드의 마지막 연결을 종료했을 때 호출된다.
+     */
+    public void userDisconnected(Long userId) {
+        pending.add(PresenceChange.user(userId, false));
+    }
+
+    /**
+     * 유저가 현재 노드에서 채팅방을 처음 구독했을 때 호출된다.
+     */
+    public void userJoined(Long chatRoomId, Long userId) {
+        pending.add(PresenceChange.room(chatRoomId, userId, true));
+    }
+
+    /**
+     * 유저가 현재 노드에서 채팅방의 마지막 구독을 해제했을 때 호출된다.
+     */
+    public void userLeft(Long chatRoomId, Long userId) {
+        pending.add(PresenceChange.room(chatRoomId, userId, false));
+    }
+
+    /**
+     * 모든 노드에서 채팅방을 구독 중인 유저 Id 목록
+     */
+    public List<Long> getOnlineUserIds(Long chatRoomId) {
+        Set<Long> userIds = new HashSet<>(chatSubscriptionRegistry.getSubscribedUserIds(chatRoomId));
+        userIds.addAll(remoteRoomUsers.get(chatRoomId, presenceStore::getOnlineUserIds));
+
+        return new ArrayList<>(userIds);
+    }
+
+    /**
+     * userIds 중 어느 노드에든 접속 중인 유저 Id 목록
+     */
+    public Set<Long> filterOnline(Collection<Long> userIds) {
+        Set<Long> online = new HashSet<>();
+        List<Long> remote = new ArrayList<>();
+
+        for (Long userId : userIds) {
+            if (chatSubscriptionRegistry.isConnected(userId)) {
+                online.add(userId);
+            } else {
+                remote.add(userId);
+            }
+        }
+
+        Map<Long, Boolean> remoteOnline = remoteOnlineUsers.getAll(remote, ids -> {
+            Set<Long> found = presenceStore.filterOnline(new ArrayList<>(ids));
+            Map<Long, Boolean> result = new HashMap<>();
+            for (Long userId : ids) {
+                result.put(userId, found.contains(userId));
+            }
+            return result;
+        });
+
+        remoteOnline.forEach((userId, isOnline) -> {
+            if (isOnline) {
+                online.add(userId);
+            }
+        });
+
+        return online;
+    }
+
+    @Scheduled(fixedDelayString = "${chat.presence.flush-interval-ms:200}")
+    public void flush() {
+        List<PresenceChange> changes = new ArrayList<>();
+        PresenceChange change;
+
+        while ((change = pending.poll()) != null) {
+            changes.add(change);
+        }
+
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        try {
+            presenceStore.apply(changes);
+        } catch (RuntimeException e) {
+            // 반영하지 못한 변경은 다음 heartbeat에서 현재 상태로 다시 맞춰진다. (해제는 만료로 정리된다.)
+            log.warn("접속 상태 반영 실패 ({}건): {}", changes.size(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.presence.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        Map<Long, List<Long>> roomUsers = new HashMap<>();
+        for (Long chatRoomId : chatSubscriptionRegistry.getSubscribedRoomIds()) {
+            roomUsers.put(chatRoomId, chatSubscriptionRegistry.getSubscribedUserIds(chatRoomId));
+        }
+
+        try {
+            presenceStore.heartbeat(roomUsers, new ArrayList<>(chatSubscriptionRegistry.getConnectedUserIds()));
+        } catch (RuntimeException e) {
+            log.warn("접속 상태 heartbeat 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 종료 시 현재 노드의 상태를 바로 제거해 다른 노드가 만료까지 기다리지 않도록 한다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (Long chatRoomId : chatSubscriptionRegistry.getSubscribedRoomIds()) {
+            for (Long userId : chatSubscriptionRegistry.getSubscribedUserIds(chatRoomId)) {
+                userLeft(chatRoomId, userId);
+            }
+        }
+        for (Long userId : chatSubscriptionRegistry.getConnectedUserIds()) {
+            userDisconnected(userId);
+        }
+
+        flush();
+    }
+}
@@ -0,0 +1,36 @@
+package dutchiepay.backend.global.websocket.presence;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 다른 노드와 공유하는 접속 상태 저장소
+ * 현재 노드의 상태는 ChatSubscriptionRegistry가 정확히 알고 있으므로, 조회는 다른 노드의 상태만 반환한다.
+ * chat.broker.relay 설정에 따라 단일 노드(local) 또는 Redis(redis) 구현이 사용된다.
+ */
+public interface PresenceStore {
+
+    /**
+     * 모아둔 접속 상태 변경을 한 번에 반영한다.
+     */
+    void apply(List<PresenceChange> changes);
+
+    /**
+     * 현재 노드의 접속 상태 만료 시각을 연장한다.
+     * @param roomUsers chatRoomId -> 구독 중인 유저 Id 목록
+     * @param userIds 접속 중인 유저 Id 목록
+     */
+    void heartbeat(Map<Long, List<Long>> roomUsers, Collection<Long> userIds);
+
+    /**
+     * 다른 노드에서 채팅방을 구독 중인 유저 Id 목록
+     */
+    List<Long> getOnlineUserIds(Long chatRoomId);
+
+    /**
+     * userIds 중 다른 노드에 접속 중인 유저 Id 목록
+     */
+    Set<Long> filterOnline(Collection<Long> userIds);
+}
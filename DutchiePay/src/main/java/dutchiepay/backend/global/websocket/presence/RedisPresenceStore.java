@@ -0,0 +1,178 @@
+package dutchiepay.backend.global.websocket.presence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 다중 노드용 구현
+ * 채팅방 구독은 chat:{chatRoomId}:online, 유저 접속은 presence:user:{userId} ZSET에
+ * member "{userId}:{nodeId}"(유저 접속은 nodeId), score 만료 시각으로 저장한다.
+ * 노드별로 member가 달라 한 노드의 구독 해제가 다른 노드의 상태를 지우지 않으며,
+ * heartbeat가 끊긴 노드의 상태는 만료 시각이 지나면 조회에서 제외되고 정리된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.broker.relay", havingValue = "redis")
+public class RedisPresenceStore implements PresenceStore {
+    private static final String CHAT_KEY_PREFIX = "chat:";
+    private static final String ONLINE_SUFFIX = ":online";
+    private static final String USER_KEY_PREFIX = "presence:user:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String nodeId;
+    private final long ttlMillis;
+
+    public RedisPresenceStore(StringRedisTemplate stringRedisTemplate,
+                              @Value("${chat.node-id:#{T(java.util.UUID).randomUUID().toString()}}") String nodeId,
+                              @Value("${chat.presence.ttl-ms:30000}") long ttlMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.nodeId = nodeId;
+        this.ttlMillis = ttlMillis;
+        log.info("채팅 접속 상태 Redis 공유 활성화 (nodeId: {})", nodeId);
+    }
+
+    @Override
+    public void apply(List<PresenceChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        long expireAt = System.currentTimeMillis() + ttlMillis;
+
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (PresenceChange change : changes) {
+                if (change.getChatRoomId() != null) {
+                    byte[] key = toBytes(onlineKey(change.getChatRoomId()));
+                    byte[] member = toBytes(roomMember(change.getUserId()));
+
+                    if (change.isOnline()) {
+                        add(connection, key, expireAt, member);
+                    } else {
+                        connection.zSetCommands().zRem(key, member);
+                    }
+                } else {
+                    byte[] key = toBytes(userKey(change.getUserId()));
+
+                    if (change.isOnline()) {
+                        add(connection, key, expireAt, toBytes(nodeId));
+                    } else {
+                        connection.zSetCommands().zRem(key, toBytes(nodeId));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void heartbeat(Map<Long, List<Long>> roomUsers, Collection<Long> userIds) {
+        long now = System.currentTimeMillis();
+        long expireAt = now + ttlMillis;
+
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            roomUsers.forEach((chatRoomId, users) -> {
+                byte[] key = toBytes(onlineKey(chatRoomId));
+
+                for (Long userId : users) {
+                    connection.zSetCommands().zAdd(key, expireAt, toBytes(roomMember(userId)));
+                }
+                // 종료된 노드가 남긴 member를 정리한다.
+                connection.zSetCommands().zRemRangeByScore(key, Double.NEGATIVE_INFINITY, now);
+                connection.keyCommands().pExpire(key, ttlMillis * 2);
+            });
+
+            for (Long userId : userIds) {
+                add(connection, toBytes(userKey(userId)), expireAt, toBytes(nodeId));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public List<Long> getOnlineUserIds(Long chatRoomId) {
+        Set<String> members = stringRedisTemplate.opsForZSet()
+                .rangeByScore(onlineKey(chatRoomId), System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+
+        if (members == null || members.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String suffix = ":" + nodeId;
+        Set<Long> userIds = new HashSet<>();
+
+        for (String member : members) {
+            if (!member.endsWith(suffix)) {
+                userIds.add(Long.parseLong(member.substring(0, member.indexOf(':'))));
+            }
+        }
+
+        return new ArrayList<>(userIds);
+    }
+
+    @Override
+    public Set<Long> filterOnline(Collection<Long> userIds) {
+        Set<Long> online = new HashSet<>();
+
+        if (userIds.isEmpty()) {
+            return online;
+        }
+
+        List<Long> ordered = new ArrayList<>(userIds);
+        long now = System.currentTimeMillis();
+
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long userId : ordered) {
+                connection.zSetCommands().zRangeByScore(toBytes(userKey(userId)), now, Double.POSITIVE_INFINITY);
+            }
+            return null;
+        });
+
+        // 현재 노드의 접속은 호출 측에서 이미 확인했으므로, 다른 노드 member가 있는지만 본다.
+        for (int i = 0; i < ordered.size(); i++) {
+            if (results.get(i) instanceof Set<?> nodes) {
+                for (Object node : nodes) {
+                    if (!nodeId.equals(node)) {
+                        online.add(ordered.get(i));
+                        break;
+                    }
+                }
+            }
+        }
+
+        return online;
+    }
+
+    private void add(RedisConnection connection, byte[] key, long expireAt, byte[] member) {
+        connection.zSetCommands().zAdd(key, expireAt, member);
+        connection.keyCommands().pExpire(key, ttlMillis * 2);
+    }
+
+    private String roomMember(Long userId) {
+        return userId + ":" + nodeId;
+    }
+
+    private static String onlineKey(Long chatRoomId) {
+        return CHAT_KEY_PREFIX + chatRoomId + ONLINE_SUFFIX;
+    }
+
+    private static String userKey(Long userId) {
+        return USER_KEY_PREFIX + userId;
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
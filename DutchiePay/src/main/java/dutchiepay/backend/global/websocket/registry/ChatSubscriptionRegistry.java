@@ -0,0 +1,190 @@
+package dutchiepay.backend.global.websocket.registry;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방 구독 정보를 채팅방 단위로 색인하는 레지스트리
+ * SimpUserRegistry 전체를 순회하지 않고 채팅방 인원 수만큼만 조회할 수 있도록
+ * StompEventListener의 연결/구독/구독 취소/연결 종료 이벤트로 갱신한다.
+ */
+@Component
+public class ChatSubscriptionRegistry {
+    private static final String CHAT_ROOM_PREFIX = "/sub/chat/";
+
+    // sessionId -> (subscriptionId -> chatRoomId)
+    private final Map<String, Map<String, Long>> sessionSubscriptions = new ConcurrentHashMap<>();
+    // sessionId -> userId
+    private final Map<String, Long> sessionUsers = new ConcurrentHashMap<>();
+    // chatRoomId -> (userId -> 구독 수), 한 유저가 여러 세션(탭)에서 구독할 수 있으므로 구독 수를 센다.
+    private final Map<Long, Map<Long, Integer>> roomSubscribers = new ConcurrentHashMap<>();
+    // userId -> 연결된 세션 수
+    private final Map<Long, Integer> userSessions = new ConcurrentHashMap<>();
+
+    /**
+     * 세션 연결을 등록한다.
+     * @return 해당 유저가 이 노드에 처음 연결한 경우 true
+     */
+    public boolean connect(String sessionId, Long userId) {
+        if (sessionUsers.putIfAbsent(sessionId, userId) != null) {
+            return false;
+        }
+
+        return userSessions.merge(userId, 1, Integer::sum) == 1;
+    }
+
+    /**
+     * 채팅방 구독을 등록한다.
+     * @param sessionId 세션 Id
+     * @param subscriptionId 구독 Id
+     * @param userId 유저 Id
+     * @param chatRoomId 채팅방 Id
+     * @return 해당 유저가 이 노드에서 채팅방을 처음 구독한 경우 true
+     */
+    public boolean subscribe(String sessionId, String subscriptionId, Long userId, Long chatRoomId) {
+        connect(sessionId, userId);
+        Long previous = sessionSubscriptions
+                .computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>())
+                .put(subscriptionId, chatRoomId);
+
+        if (previous != null) {
+            removeSubscriber(previous, userId);
+        }
+
+        return addSubscriber(chatRoomId, userId);
+    }
+
+    /**
+     * 채팅방 구독을 해제한다.
+     * @return 유저가 채팅방의 마지막 구독을 해제한 경우 해당 채팅방 Id, 아니라면 null
+     */
+    public Long unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, Long> subscriptions = sessionSubscriptions.get(sessionId);
+        Long userId = sessionUsers.get(sessionId);
+
+        if (subscriptions == null || userId == null) {
+            return null;
+        }
+
+        Long chatRoomId = subscriptions.remove(subscriptionId);
+
+        if (chatRoomId == null) {
+            return null;
+        }
+
+        return removeSubscriber(chatRoomId, userId) ? chatRoomId : null;
+    }
+
+    /**
+     * 세션의 모든 구독을 해제한다.
+     * @return 유저가 마지막 구독을 해제한 채팅방 Id 목록
+     */
+    public List<Long> disconnect(String sessionId) {
+        Map<String, Long> subscriptions = sessionSubscriptions.remove(sessionId);
+        Long userId = sessionUsers.remove(sessionId);
+
+        if (userId != null) {
+            userSessions.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+
+        if (subscriptions == null || userId == null) {
+            return Collections.emptyList();
+        }
+
+        List<Long> leftRooms = new ArrayList<>();
+
+        for (Long chatRoomId : subscriptions.values()) {
+            if (removeSubscriber(chatRoomId, userId)) {
+                leftRooms.add(chatRoomId);
+            }
+        }
+
+        return leftRooms;
+    }
+
+    public Long getUserId(String sessionId) {
+        return sessionUsers.get(sessionId);
+    }
+
+    public int getSubscribedUserCount(Long chatRoomId) {
+        Map<Long, Integer> subscribers = roomSubscribers.get(chatRoomId);
+        return subscribers == null ? 0 : subscribers.size();
+    }
+
+    public List<Long> getSubscribedUserIds(Long chatRoomId) {
+        Map<Long, Integer> subscribers = roomSubscribers.get(chatRoomId);
+        return subscribers == null ? Collections.emptyList() : new ArrayList<>(subscribers.keySet());
+    }
+
+    public Set<Long> getSubscribedRoomIds() {
+        return roomSubscribers.keySet();
+    }
+
+    public boolean isConnected(Long userId) {
+        return userSessions.containsKey(userId);
+    }
+
+    public Set<Long> getConnectedUserIds() {
+        return userSessions.keySet();
+    }
+
+    public boolean isSubscribed(Long chatRoomId, Long userId) {
+        Map<Long, Integer> subscribers = roomSubscribers.get(chatRoomId);
+        return subscribers != null && subscribers.containsKey(userId);
+    }
+
+    /**
+     * 구독 destination에서 채팅방 Id를 추출한다.
+     * @return 채팅방 destination이 아니라면 null
+     */
+    public static Long parseChatRoomId(String destination) {
+        if (destination == null || !destination.startsWith(CHAT_ROOM_PREFIX)) {
+            return null;
+        }
+
+        try {
+            return Long.parseLong(destination.substring(CHAT_ROOM_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private boolean addSubscriber(Long chatRoomId, Long userId) {
+        boolean[] first = {false};
+
+        roomSubscribers.compute(chatRoomId, (roomId, subscribers) -> {
+            if (subscribers == null) {
+                subscribers = new ConcurrentHashMap<>();
+            }
+            if (subscribers.merge(userId, 1, Integer::sum) == 1) {
+                first[0] = true;
+            }
+            return subscribers;
+        });
+
+        return first[0];
+    }
+
+    private boolean removeSubscriber(Long chatRoomId, Long userId) {
+        boolean[] last = {false};
+
+        roomSubscribers.computeIfPresent(chatRoomId, (roomId, subscribers) -> {
+            if (!subscribers.containsKey(userId)) {
+                return subscribers;
+            }
+            Integer remain = subscribers.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+            if (remain == null) {
+                last[0] = true;
+            }
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+
+        return last[0];
+    }
+}
@@ -0,0 +1,27 @@
+-- 채팅방 목록 요약 컬럼 (ddl-auto: none 이므로 배포 전에 직접 실행)
+-- Chatroom.lastMessage*, UserChatRoom.unreadCount 는 읽기 전용 매핑이며 벌크 쿼리로만 갱신한다.
+
+ALTER TABLE chatroom
+    ADD COLUMN last_message_id BIGINT NULL,
+    ADD COLUMN last_message_type VARCHAR(255) NULL,
+    ADD COLUMN last_message_content VARCHAR(255) NULL,
+    ADD COLUMN last_message_date VARCHAR(255) NULL,
+    ADD COLUMN last_message_time VARCHAR(255) NULL;
+
+ALTER TABLE user_chatroom
+    ADD COLUMN unread_count INT NOT NULL DEFAULT 0;
+
+-- 기존 데이터 채우기
+UPDATE chatroom c
+    JOIN message m ON m.message_id = (SELECT MAX(message_id) FROM message WHERE chatroom_id = c.chatroom_id)
+SET c.last_message_id      = m.message_id,
+    c.last_message_type    = m.type,
+    c.last_message_content = m.content,
+    c.last_message_date    = m.date,
+    c.last_message_time    = m.time;
+
+UPDATE user_chatroom u
+SET unread_count = (SELECT COUNT(*)
+                    FROM message m
+                    WHERE m.chatroom_id = u.chatroom_id
+                      AND m.message_id > u.last_message_id);
@@ -0,0 +1,10 @@
+-- 채팅 알림 건수 컬럼 (ddl-auto: none 이므로 배포 전에 직접 실행)
+-- 채팅 알림의 건수를 내용("새 메시지 N개: ...")에서 다시 읽지 않도록 따로 저장한다.
+
+ALTER TABLE notice
+    ADD COLUMN message_count INT NULL;
+
+-- 기존 채팅 알림은 내용의 건수로 채운다. (건수 표시가 없으면 1건)
+UPDATE notice
+SET message_count = IF(content REGEXP '^새 메시지 [0-9]+개: ', CAST(REGEXP_SUBSTR(content, '[0-9]+') AS UNSIGNED), 1)
+WHERE type = 'chat';
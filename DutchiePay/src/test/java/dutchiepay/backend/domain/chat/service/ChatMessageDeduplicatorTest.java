@@ -0,0 +1,155 @@
+package dutchiepay.backend.domain.chat.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 Redis를 공유하는 두 노드로 채팅 메시지 중복 전송 판별을 확인한다.
+ */
+class ChatMessageDeduplicatorTest {
+    private static final long WINDOW_SECONDS = 300;
+    private static final long IN_PROGRESS_SECONDS = 1;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+    private ChatMessageDeduplicator nodeA;
+    private ChatMessageDeduplicator nodeB;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+
+        nodeA = new ChatMessageDeduplicator(redisTemplate, new SimpleMeterRegistry(), WINDOW_SECONDS, IN_PROGRESS_SECONDS, 1000);
+        nodeB = new ChatMessageDeduplicator(redisTemplate, new SimpleMeterRegistry(), WINDOW_SECONDS, IN_PROGRESS_SECONDS, 1000);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void duplicateIsAnsweredWithOriginalMessageId() {
+        assertThat(nodeA.claim(7L, "alice", "c-1")).isNull();
+        assertThat(nodeA.claim(7L, "alice", "c-1")).isEqualTo(ChatMessageDeduplicator.IN_PROGRESS);
+
+        nodeA.complete(7L, "alice", "c-1", 42L);
+
+        assertThat(nodeA.claim(7L, "alice", "c-1")).isEqualTo(42L);
+        // 재연결 후 다른 노드로 재전송된 메시지는 Redis로 걸러진다.
+        assertThat(nodeB.claim(7L, "alice", "c-1")).isEqualTo(42L);
+    }
+
+    @Test
+    void keyIncludesRoomAndPrincipal() {
+        assertThat(nodeA.claim(7L, "alice", "c-1")).isNull();
+
+        assertThat(redisTemplate.hasKey("chat:7:dedup:alice:c-1")).isTrue();
+        assertThat(nodeA.claim(7L, "bob", "c-1")).isNull();
+        assertThat(nodeA.claim(8L, "alice", "c-1")).isNull();
+    }
+
+    @Test
+    void inProgressClaimExpiresQuicklyAndCompletedClaimLastsForWindow() throws InterruptedException {
+        nodeA.claim(7L, "alice", "c-1");
+        nodeA.claim(7L, "alice", "c-2");
+
+        assertThat(redisTemplate.getExpire("chat:7:dedup:alice:c-1", TimeUnit.MILLISECONDS))
+                .isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toMillis(IN_PROGRESS_SECONDS));
+
+        nodeA.complete(7L, "alice", "c-2", 42L);
+
+        assertThat(redisTemplate.getExpire("chat:7:dedup:alice:c-2", TimeUnit.SECONDS))
+                .isGreaterThan(WINDOW_SECONDS - 5).isLessThanOrEqualTo(WINDOW_SECONDS);
+
+        // 처리 도중 노드가 종료되어 complete()가 호출되지 않아도 재전송은 잠시 후 다시 처리된다.
+        Thread.sleep(TimeUnit.SECONDS.toMillis(IN_PROGRESS_SECONDS) + 200);
+
+        assertThat(nodeA.claim(7L, "alice", "c-1")).isNull();
+        assertThat(nodeA.claim(7L, "alice", "c-2")).isEqualTo(42L);
+    }
+
+    @Test
+    void releaseAllowsRetry() {
+        nodeA.claim(7L, "alice", "c-1");
+
+        nodeA.release(7L, "alice", "c-1");
+
+        assertThat(redisTemplate.hasKey("chat:7:dedup:alice:c-1")).isFalse();
+        assertThat(nodeB.claim(7L, "alice", "c-1")).isNull();
+    }
+
+    @Test
+    void rollbackReleasesClaim() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(nodeA.claim(7L, "alice", "c-1")).isNull();
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertThat(nodeA.claim(7L, "alice", "c-1")).isNull();
+    }
+
+    @Test
+    void commitKeepsClaim() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        nodeA.claim(7L, "alice", "c-1");
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertThat(nodeB.claim(7L, "alice", "c-1")).isEqualTo(ChatMessageDeduplicator.IN_PROGRESS);
+    }
+
+    @Test
+    void unsupportedMessagesSkipDeduplication() {
+        assertThat(nodeA.supports(null, "c-1")).isFalse();
+        assertThat(nodeA.supports("alice", null)).isFalse();
+        assertThat(nodeA.supports("alice", " ")).isFalse();
+        assertThat(nodeA.supports("alice", "x".repeat(65))).isFalse();
+        assertThat(nodeA.supports("alice", "x".repeat(64))).isTrue();
+    }
+}
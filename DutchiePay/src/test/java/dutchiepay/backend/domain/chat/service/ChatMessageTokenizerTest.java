@@ -0,0 +1,58 @@
+package dutchiepay.backend.domain.chat.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅 검색 토크나이저의 bigram 생성과 정규화를 확인한다.
+ */
+class ChatMessageTokenizerTest {
+
+    @Test
+    void koreanWordsAreSplitIntoSyllableBigrams() {
+        assertThat(ChatMessageTokenizer.tokenize("공동구매 합니다"))
+                .containsExactly("공동", "동구", "구매", "합니", "니다");
+    }
+
+    @Test
+    void punctuationSplitsWordsAndSingleCharacterWordsAreSkipped() {
+        assertThat(ChatMessageTokenizer.tokenize("Hi, 나 OK!! 3개"))
+                .containsExactly("hi", "ok", "3개");
+    }
+
+    @Test
+    void termsAreLowercasedAndDeduplicated() {
+        assertThat(ChatMessageTokenizer.tokenize("ABAB abab")).containsExactly("ab", "ba");
+    }
+
+    @Test
+    void supplementaryCharactersAreKeptWhole() {
+        assertThat(ChatMessageTokenizer.tokenize("𝐀𝐁𝐂")).containsExactly("𝐀𝐁", "𝐁𝐂");
+    }
+
+    @Test
+    void emptyInputHasNoTerms() {
+        assertThat(ChatMessageTokenizer.tokenize(null)).isEmpty();
+        assertThat(ChatMessageTokenizer.tokenize("가 . !")).isEmpty();
+    }
+
+    @Test
+    void normalizeCollapsesWhitespaceAndMapsOffsets() {
+        String text = "Hello \t\n  World";
+        int[] offsets = new int[text.length()];
+
+        String normalized = ChatMessageTokenizer.normalize(text, offsets);
+
+        assertThat(normalized).isEqualTo("hello world");
+        assertThat(offsets[5]).isEqualTo(5);
+        // 합쳐진 공백 뒤의 'w'는 원문의 위치를 가리킨다.
+        assertThat(offsets[6]).isEqualTo(text.indexOf('W'));
+    }
+
+    @Test
+    void queryIsTrimmedAndNormalizedLikeContent() {
+        assertThat(ChatMessageTokenizer.normalizeQuery("  공동   구매 ")).isEqualTo("공동 구매");
+        assertThat(ChatMessageTokenizer.normalize("공동\n구매")).isEqualTo(ChatMessageTokenizer.normalizeQuery("공동 구매"));
+    }
+}
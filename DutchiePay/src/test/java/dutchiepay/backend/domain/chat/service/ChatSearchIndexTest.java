@@ -0,0 +1,109 @@
+package dutchiepay.backend.domain.chat.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅 검색 색인의 검색, 저장, 채팅방 교체, 손상된 세그먼트 복구를 확인한다.
+ */
+class ChatSearchIndexTest {
+    @TempDir
+    Path baseDir;
+
+    @Test
+    void searchReturnsMessagesContainingAllTerms() throws IOException {
+        ChatSearchIndex index = open(10);
+
+        index.add(1L, 30L, "공동구매 마감 임박");
+        index.add(1L, 10L, "공동구매 시작합니다");
+        index.add(1L, 20L, "배송 시작");
+        index.add(1L, 10L, "공동구매 시작합니다");
+
+        assertThat(index.search(1L, ChatMessageTokenizer.tokenize("공동구매"))).containsExactly(10L, 30L);
+        assertThat(index.search(1L, ChatMessageTokenizer.tokenize("시작"))).containsExactly(10L, 20L);
+        assertThat(index.search(1L, ChatMessageTokenizer.tokenize("공동구매 시작"))).containsExactly(10L);
+        assertThat(index.search(1L, ChatMessageTokenizer.tokenize("환불"))).isEmpty();
+        assertThat(index.search(2L, ChatMessageTokenizer.tokenize("공동구매"))).isEmpty();
+    }
+
+    @Test
+    void indexSurvivesRestart() throws IOException {
+        ChatSearchIndex index = open(10);
+        index.add(1L, 10L, "공동구매 시작");
+        index.markIndexedUpTo(1L, 10L);
+        index.flush();
+        index.add(1L, 20L, "공동구매 마감");
+        index.markIndexedUpTo(1L, 20L);
+        index.shutdown();
+
+        ChatSearchIndex reopened = open(10);
+
+        assertThat(reopened.getIndexedUpTo(1L)).isEqualTo(20L);
+        assertThat(reopened.search(1L, ChatMessageTokenizer.tokenize("공동구매"))).containsExactly(10L, 20L);
+    }
+
+    @Test
+    void evictedRoomIsReloadedFromDisk() throws IOException {
+        ChatSearchIndex index = open(1);
+
+        index.add(1L, 10L, "공동구매 시작");
+        index.add(2L, 20L, "배송 시작");
+
+        assertThat(index.search(1L, ChatMessageTokenizer.tokenize("공동구매"))).containsExactly(10L);
+        assertThat(index.search(2L, ChatMessageTokenizer.tokenize("배송"))).containsExactly(20L);
+    }
+
+    @Test
+    void damagedSegmentResetsIndexPositionAndKeepsOtherPostings() throws IOException {
+        ChatSearchIndex index = open(10);
+        index.add(1L, 10L, "공동구매 시작");
+        index.markIndexedUpTo(1L, 10L);
+        index.flush();
+        index.add(1L, 20L, "공동구매 마감");
+        index.markIndexedUpTo(1L, 20L);
+        index.shutdown();
+
+        List<Path> segments = segments(baseDir.resolve("1"));
+        assertThat(segments).hasSize(2);
+        Path last = segments.get(1);
+        Files.write(last, new byte[]{0, 0, 0});
+
+        ChatSearchIndex reopened = open(10);
+
+        // 손상된 세그먼트의 메시지가 빠졌으므로 처음부터 다시 색인해야 한다.
+        assertThat(reopened.getIndexedUpTo(1L)).isZero();
+        assertThat(reopened.search(1L, ChatMessageTokenizer.tokenize("공동구매"))).containsExactly(10L);
+        reopened.shutdown();
+
+        // 다시 시작해도 색인 위치는 0으로 남는다.
+        assertThat(open(10).getIndexedUpTo(1L)).isZero();
+        assertThat(segments(baseDir.resolve("1"))).hasSize(1);
+    }
+
+    @Test
+    void excludedTypesAreNotSearchable() {
+        assertThat(ChatSearchIndex.isSearchable("text")).isTrue();
+        assertThat(ChatSearchIndex.EXCLUDED_TYPES).allMatch(type -> !ChatSearchIndex.isSearchable(type));
+        assertThat(ChatSearchIndex.EXCLUDED_TYPES).containsAll(Set.of("img", "enter", "out", "ban"));
+    }
+
+    private ChatSearchIndex open(int maxRooms) throws IOException {
+        ChatSearchIndex index = new ChatSearchIndex(baseDir.toString(), maxRooms);
+        index.init();
+        return index;
+    }
+
+    private static List<Path> segments(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.filter(path -> path.toString().endsWith(".idx")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package dutchiepay.backend.domain.notice.service;
+
+import dutchiepay.backend.domain.community.service.CommunityUtilService;
+import dutchiepay.backend.domain.notice.repository.NoticeRepository;
+import dutchiepay.backend.entity.Notice;
+import dutchiepay.backend.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅 알림을 (유저, 채팅방)마다 읽지 않은 알림 한 건으로 합치는지 확인한다.
+ */
+class NoticeUtilServiceTest {
+    private static final User USER = User.builder().userId(1L).build();
+
+    private NoticeRepository noticeRepository;
+    private NoticeUtilService noticeUtilService;
+
+    @BeforeEach
+    void setUp() {
+        noticeRepository = mock(NoticeRepository.class);
+        noticeUtilService = new NoticeUtilService(noticeRepository, mock(CommunityUtilService.class));
+        when(noticeRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void newNoticeIsFormattedFromCount() {
+        givenUnread();
+
+        List<Notice> created = noticeUtilService.upsertChatNotices(List.of(draft(10L, 3, "안녕하세요")));
+
+        assertThat(created).hasSize(1);
+        assertThat(created.get(0).getMessageCount()).isEqualTo(3);
+        assertThat(created.get(0).getContent()).isEqualTo("새 메시지 3개: 안녕하세요");
+    }
+
+    @Test
+    void singleMessageHasNoCountPrefix() {
+        givenUnread();
+
+        List<Notice> created = noticeUtilService.upsertChatNotices(List.of(draft(10L, 1, "안녕하세요")));
+
+        assertThat(created.get(0).getContent()).isEqualTo("안녕하세요");
+    }
+
+    @Test
+    void unreadNoticeIsMergedByStoredCount() {
+        // 마지막 메시지가 건수 표시처럼 보여도 내용에서 건수를 읽지 않는다.
+        Notice existing = notice(100L, 10L, 4, "새 메시지 4개: 새 메시지 9개: 따라하기");
+        givenUnread(existing);
+
+        List<Notice> created = noticeUtilService.upsertChatNotices(List.of(draft(10L, 2, "새 메시지 7개: 장난")));
+
+        assertThat(created).isEmpty();
+        assertThat(existing.getMessageCount()).isEqualTo(6);
+        assertThat(existing.getContent()).isEqualTo("새 메시지 6개: 새 메시지 7개: 장난");
+    }
+
+    @Test
+    void legacyNoticeWithoutCountCountsAsOne() {
+        Notice existing = notice(100L, 10L, null, "이전 메시지");
+        givenUnread(existing);
+
+        noticeUtilService.upsertChatNotices(List.of(draft(10L, 1, "다음 메시지")));
+
+        assertThat(existing.getMessageCount()).isEqualTo(2);
+        assertThat(existing.getContent()).isEqualTo("새 메시지 2개: 다음 메시지");
+    }
+
+    @Test
+    void newestUnreadNoticeIsUpdatedAndOtherRoomsAreCreated() {
+        Notice older = notice(100L, 10L, 5, "새 메시지 5개: 오래된 알림");
+        Notice newer = notice(200L, 10L, 1, "최근 알림");
+        givenUnread(older, newer);
+
+        List<Notice> created = noticeUtilService.upsertChatNotices(List.of(draft(10L, 1, "a"), draft(20L, 1, "b")));
+
+        assertThat(newer.getMessageCount()).isEqualTo(2);
+        assertThat(older.getMessageCount()).isEqualTo(5);
+        assertThat(created).extracting(Notice::getOriginId).containsExactly(20L);
+    }
+
+    @Test
+    void contentIsCutToColumnLength() {
+        givenUnread();
+
+        List<Notice> created = noticeUtilService.upsertChatNotices(List.of(draft(10L, 2, "가".repeat(300))));
+
+        assertThat(created.get(0).getContent()).hasSize(255).startsWith("새 메시지 2개: ");
+    }
+
+    private void givenUnread(Notice... notices) {
+        when(noticeRepository.findUnreadNotices(eq("chat"), any(), any(), any())).thenReturn(List.of(notices));
+    }
+
+    private static Notice draft(Long chatRoomId, int count, String lastMessage) {
+        return notice(null, chatRoomId, count, lastMessage);
+    }
+
+    private static Notice notice(Long noticeId, Long chatRoomId, Integer count, String content) {
+        return Notice.builder()
+                .noticeId(noticeId)
+                .user(USER)
+                .type("chat")
+                .origin("채팅방")
+                .content(content)
+                .originId(chatRoomId)
+                .isRead(false)
+                .messageCount(count)
+                .build();
+    }
+}
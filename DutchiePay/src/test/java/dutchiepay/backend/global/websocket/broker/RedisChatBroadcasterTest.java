@@ -0,0 +1,160 @@
+package dutchiepay.backend.global.websocket.broker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dutchiepay.backend.global.websocket.registry.ChatSubscriptionRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 Redis에 두 노드를 연결해 채팅방 메시지 릴레이를 확인한다.
+ */
+class RedisChatBroadcasterTest {
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new Node();
+        nodeB = new Node();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void deliversToSubscribersOnOtherNode() throws Exception {
+        nodeB.registry.subscribe("session-1", "sub-0", 10L, 1L);
+
+        nodeA.broadcaster.broadcast(1L, Map.of("content", "안녕하세요"));
+
+        Message<?> message = nodeB.sent.poll(5, TimeUnit.SECONDS);
+        assertThat(message).isNotNull();
+        assertThat(SimpMessageHeaderAccessor.getDestination(message.getHeaders())).isEqualTo("/sub/chat/1");
+        assertThat(payload(message).get("content").asText()).isEqualTo("안녕하세요");
+    }
+
+    @Test
+    void skipsNodeWithoutSubscribers() throws Exception {
+        nodeB.registry.subscribe("session-1", "sub-0", 10L, 1L);
+
+        nodeA.broadcaster.broadcast(1L, Map.of("content", "hello"));
+
+        assertThat(nodeB.sent.poll(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(nodeA.sent.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void deliversOnlySubscribedRoom() throws Exception {
+        nodeB.registry.subscribe("session-1", "sub-0", 10L, 1L);
+
+        nodeA.broadcaster.broadcast(2L, Map.of("content", "other room"));
+        nodeA.broadcaster.broadcast(1L, Map.of("content", "my room"));
+
+        Message<?> message = nodeB.sent.poll(5, TimeUnit.SECONDS);
+        assertThat(message).isNotNull();
+        assertThat(payload(message).get("content").asText()).isEqualTo("my room");
+        assertThat(nodeB.sent.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void keepsDeliveringAfterMalformedMessage() throws Exception {
+        nodeB.registry.subscribe("session-1", "sub-0", 10L, 1L);
+
+        new StringRedisTemplate(connectionFactory).convertAndSend(RedisChatBroadcaster.RELAY_CHANNEL, "not json");
+        nodeA.broadcaster.broadcast(1L, Map.of("content", "after"));
+
+        Message<?> message = nodeB.sent.poll(5, TimeUnit.SECONDS);
+        assertThat(message).isNotNull();
+        assertThat(payload(message).get("content").asText()).isEqualTo("after");
+    }
+
+    @Test
+    void relaysCacheInvalidationWithoutDelivering() throws Exception {
+        nodeB.registry.subscribe("session-1", "sub-0", 10L, 1L);
+
+        nodeA.broadcaster.publishInvalidation(1L);
+
+        assertThat(nodeB.events.poll(5, TimeUnit.SECONDS)).isEqualTo(new ChatRoomInvalidatedEvent(1L));
+        assertThat(nodeB.sent.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    private JsonNode payload(Message<?> message) {
+        return objectMapper.valueToTree(message.getPayload());
+    }
+
+    /**
+     * 노드 하나에 해당하는 구성 (리스너 컨테이너, 구독 레지스트리, 전송/이벤트 기록)
+     */
+    private class Node implements AutoCloseable {
+        private final BlockingQueue<Message<?>> sent = new LinkedBlockingQueue<>();
+        private final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+        private final ChatSubscriptionRegistry registry = new ChatSubscriptionRegistry();
+        private final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        private final RedisChatBroadcaster broadcaster;
+
+        private Node() {
+            SimpMessagingTemplate simpMessagingTemplate = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+            container.setConnectionFactory(connectionFactory);
+
+            broadcaster = new RedisChatBroadcaster(simpMessagingTemplate, new StringRedisTemplate(connectionFactory),
+                    container, registry, objectMapper, events::add);
+            // 구독이 끝난 뒤에 발행하도록 리스너를 먼저 등록하고 컨테이너를 시작한다.
+            broadcaster.init();
+            container.afterPropertiesSet();
+            container.start();
+        }
+
+        @Override
+        public void close() throws Exception {
+            container.destroy();
+        }
+    }
+}
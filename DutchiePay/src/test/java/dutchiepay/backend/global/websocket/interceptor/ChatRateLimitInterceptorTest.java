@@ -0,0 +1,143 @@
+package dutchiepay.backend.global.websocket.interceptor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dutchiepay.backend.domain.chat.dto.ChatAckResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅방별 전송 한도와 거부 응답을 확인한다.
+ */
+class ChatRateLimitInterceptorTest {
+    private static final double PERMITS_PER_SECOND = 10;
+    private static final double BURST = 2;
+
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private SimpleMeterRegistry meterRegistry;
+    private SimpMessagingTemplate messagingTemplate;
+    private ChatRateLimitInterceptor interceptor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        ObjectProvider<SimpMessagingTemplate> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(messagingTemplate);
+
+        interceptor = new ChatRateLimitInterceptor(meterRegistry, provider, new ObjectMapper(), true, PERMITS_PER_SECOND, BURST);
+    }
+
+    @Test
+    void roomIsThrottledAfterBurst() {
+        assertThat(interceptor.preSend(send("/pub/chat/1", "c0"), channel)).isNotNull();
+        assertThat(interceptor.preSend(send("/pub/chat/1", "c1"), channel)).isNotNull();
+        assertThat(interceptor.preSend(send("/pub/chat/1", "c2"), channel)).isNull();
+
+        assertThat(meterRegistry.counter("chat.websocket.messages.throttled").count()).isEqualTo(1);
+    }
+
+    @Test
+    void roomsHaveSeparateBuckets() {
+        interceptor.preSend(send("/pub/chat/1", "c0"), channel);
+        interceptor.preSend(send("/pub/chat/1", "c1"), channel);
+
+        assertThat(interceptor.preSend(send("/pub/chat/1", "c2"), channel)).isNull();
+        assertThat(interceptor.preSend(send("/pub/chat/2", "c3"), channel)).isNotNull();
+    }
+
+    @Test
+    void bucketRefillsOverTime() throws InterruptedException {
+        interceptor.preSend(send("/pub/chat/1", "c0"), channel);
+        interceptor.preSend(send("/pub/chat/1", "c1"), channel);
+        assertThat(interceptor.preSend(send("/pub/chat/1", "c2"), channel)).isNull();
+
+        // 초당 10개이므로 150ms 뒤에는 한 건을 보낼 수 있다.
+        Thread.sleep(150);
+
+        assertThat(interceptor.preSend(send("/pub/chat/1", "c3"), channel)).isNotNull();
+        assertThat(interceptor.preSend(send("/pub/chat/1", "c4"), channel)).isNull();
+    }
+
+    @Test
+    void throttledSenderGetsRateLimitedAck() {
+        interceptor.preSend(send("/pub/chat/1", "c0"), channel);
+        interceptor.preSend(send("/pub/chat/1", "c1"), channel);
+        interceptor.preSend(send("/pub/chat/1", "c2"), channel);
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        ArgumentCaptor<Map<String, Object>> headers = headersCaptor();
+        verify(messagingTemplate).convertAndSendToUser(eq("session-1"), eq("/sub/ack"), payload.capture(), headers.capture());
+
+        ChatAckResponse ack = (ChatAckResponse) payload.getValue();
+        assertThat(ack.getType()).isEqualTo("error");
+        assertThat(ack.getReason()).isEqualTo("RATE_LIMITED");
+        assertThat(ack.getClientMessageId()).isEqualTo("c2");
+        assertThat(headers.getValue()).containsEntry("simpSessionId", "session-1");
+    }
+
+    @Test
+    void otherFramesAreNotLimited() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(interceptor.preSend(send("/pub/other/1", "c" + i), channel)).isNotNull();
+            assertThat(interceptor.preSend(send("/pub/chat/abc", "c" + i), channel)).isNotNull();
+        }
+
+        StompHeaderAccessor subscribe = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        subscribe.setDestination("/pub/chat/1");
+        for (int i = 0; i < 5; i++) {
+            assertThat(interceptor.preSend(MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders()), channel)).isNotNull();
+        }
+
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any(), anyMap());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void disabledLimiterPassesEverything() {
+        ObjectProvider<SimpMessagingTemplate> provider = mock(ObjectProvider.class);
+        ChatRateLimitInterceptor disabled = new ChatRateLimitInterceptor(meterRegistry, provider, new ObjectMapper(), false, PERMITS_PER_SECOND, BURST);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(disabled.preSend(send("/pub/chat/1", "c" + i), channel)).isNotNull();
+        }
+    }
+
+    private static Message<byte[]> send(String destination, String clientMessageId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setDestination(destination);
+        accessor.setSessionId("session-1");
+        accessor.setLeaveMutable(true);
+
+        byte[] payload = ("{\"type\":\"text\",\"content\":\"hi\",\"clientMessageId\":\"" + clientMessageId + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Map<String, Object>> headersCaptor() {
+        return ArgumentCaptor.forClass(Map.class);
+    }
+}